@@ -3,10 +3,10 @@ package de.fuzzlemann.ucutils;
 import de.fuzzlemann.ucutils.base.command.execution.CommandRegistry;
 import de.fuzzlemann.ucutils.base.data.DataManager;
 import de.fuzzlemann.ucutils.base.initializor.InitializorHandler;
+import de.fuzzlemann.ucutils.base.startup.StartupOrchestrator;
+import de.fuzzlemann.ucutils.base.startup.StartupProfiler;
 import de.fuzzlemann.ucutils.base.udf.UnifiedDataFetcher;
 import de.fuzzlemann.ucutils.commands.UpdateCommand;
-import de.fuzzlemann.ucutils.config.UCUtilsConfig;
-import de.fuzzlemann.ucutils.teamspeak.TSClientQuery;
 import de.fuzzlemann.ucutils.utils.AnalyticsUtil;
 import de.fuzzlemann.ucutils.utils.Logger;
 import de.fuzzlemann.ucutils.utils.chatlog.ChatLogger;
@@ -46,29 +46,46 @@ public class Main {
 
     @Mod.EventHandler
     public void preInit(FMLPreInitializationEvent e) {
-        UpdateCommand.modFile = e.getSourceFile();
-        ConfigManager.sync(MOD_ID, Config.Type.INSTANCE);
+        try (StartupProfiler.Section ignored = StartupProfiler.begin("preInit/config")) {
+            UpdateCommand.modFile = e.getSourceFile();
+            ConfigManager.sync(MOD_ID, Config.Type.INSTANCE);
+        }
 
         ASMDataTable asmDataTable = e.getAsmData();
 
-        DataManager.registerDataLoaders(asmDataTable);
-        InitializorHandler.registerInitializors(asmDataTable);
-        CommandRegistry.registerAllCommands(asmDataTable);
+        try (StartupProfiler.Section ignored = StartupProfiler.begin("preInit/dataModules")) {
+            DataManager.registerDataLoaders(asmDataTable);
+        }
 
-        unifiedDataFetcher = new UnifiedDataFetcher(asmDataTable);
+        try (StartupProfiler.Section ignored = StartupProfiler.begin("preInit/initializors")) {
+            InitializorHandler.registerInitializors(asmDataTable);
+        }
+
+        try (StartupProfiler.Section ignored = StartupProfiler.begin("preInit/commands")) {
+            CommandRegistry.registerAllCommands(asmDataTable);
+        }
+
+        try (StartupProfiler.Section ignored = StartupProfiler.begin("preInit/udfModules")) {
+            unifiedDataFetcher = new UnifiedDataFetcher(asmDataTable);
+        }
     }
 
     @Mod.EventHandler
     public void postInit(FMLPostInitializationEvent e) {
-        new Thread(() -> DataManager.loadData(false)).start();
-        new Thread(AnalyticsUtil::sendStartupAnalytics).start();
-        new Thread(() -> unifiedDataFetcher.load()).start();
+        StartupProfiler.Section section = StartupProfiler.begin("postInit");
+        StartupOrchestrator orchestrator = new StartupOrchestrator();
 
-        if (!UCUtilsConfig.tsAPIKey.isEmpty()) {
-            new Thread(TSClientQuery::getInstance).start();
-        }
+        DataManager.registerStartupTasks(orchestrator);
+        InitializorHandler.registerStartupTasks(orchestrator);
+
+        orchestrator.add("Analytics", false, AnalyticsUtil::sendStartupAnalytics);
+        orchestrator.add("UDF", false, true, unifiedDataFetcher.getDependencies(), () -> {
+            unifiedDataFetcher.load();
+            unifiedDataFetcher.startScheduledRefresh();
+        });
+        orchestrator.add("ChatLog", false, ChatLogger::new);
 
-        InitializorHandler.initAll();
-        new ChatLogger();
+        orchestrator.start();
+        section.close();
     }
 }
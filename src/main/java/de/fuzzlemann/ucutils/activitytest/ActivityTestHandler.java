@@ -7,8 +7,7 @@ import de.fuzzlemann.ucutils.base.text.TextUtils;
 import de.fuzzlemann.ucutils.common.activity.ActivityTestType;
 import de.fuzzlemann.ucutils.utils.ForgeUtils;
 import de.fuzzlemann.ucutils.utils.Logger;
-import de.fuzzlemann.ucutils.utils.api.APIUtils;
-import de.fuzzlemann.ucutils.utils.image.ImageUploader;
+import de.fuzzlemann.ucutils.utils.api.Outbox;
 import de.fuzzlemann.ucutils.utils.io.FileManager;
 import net.minecraft.util.text.ITextComponent;
 import net.minecraft.util.text.TextFormatting;
@@ -33,27 +32,27 @@ public class ActivityTestHandler {
                 ACTIVITY_TEST_FOLDER.mkdir();
 
             File file = new File(ACTIVITY_TEST_FOLDER, testType.getName().toLowerCase() + "_" + System.currentTimeMillis() + ".jpg");
-            ForgeUtils.makeScreenshot(file);
+            ForgeUtils.makeScreenshot(file)
+                    .thenCompose(screenshot -> Outbox.builder("http://tomcat.fuzzlemann.de/factiononline/activityTest/add")
+                            .key("activityTest:" + screenshot.getName())
+                            .description("Die Aktivität")
+                            .authenticated()
+                            .param("typeString", testType.getName())
+                            .upload("link", screenshot)
+                            .submit())
+                    .whenComplete((str, throwable) -> {
+                        if (throwable != null || str == null) {
+                            TextUtils.error("Ein Fehler ist aufgetreten.");
+                            return;
+                        }
 
-            new Thread(() -> {
-                try {
-                    String link = ImageUploader.uploadToLink(file);
+                        if (!str.equals("success")) {
+                            TextUtils.error("Die Aktivität konnte nicht eingetragen werden: " + str);
+                            return;
+                        }
 
-                    String str = APIUtils.postAuthenticated("http://tomcat.fuzzlemann.de/factiononline/activityTest/add",
-                            "typeString", testType.getName(),
-                            "link", link);
-
-                    if (!str.equals("success")) {
-                        TextUtils.error("Die Aktivität konnte nicht eingetragen werden: " + str);
-                        return;
-                    }
-
-                    TextUtils.simpleMessage("Die Aktivität wurde erfolgreich eingetragen.");
-                } catch (Exception e) {
-                    TextUtils.error("Ein Fehler ist aufgetreten.");
-                    Logger.LOGGER.catching(e);
-                }
-            }, "UCUtils-ActivityTest").start();
+                        TextUtils.simpleMessage("Die Aktivität wurde erfolgreich eingetragen.");
+                    });
         } catch (Exception e) {
             TextUtils.error("Ein Fehler ist aufgetreten.");
             Logger.LOGGER.catching(e);
@@ -14,7 +14,7 @@ import java.util.regex.Matcher;
 @Mod.EventBusSubscriber
 public class ActivityTestMessageModifier {
 
-    @SubscribeEvent(priority = EventPriority.LOWEST)
+    @SubscribeEvent(priority = EventPriority.LOW)
     public static void onChatReceived(ClientChatReceivedEvent e) {
         ITextComponent message = e.getMessage();
         String unformattedText = message.getUnformattedText();
@@ -0,0 +1,105 @@
+package de.fuzzlemann.ucutils.base.chat;
+
+import de.fuzzlemann.ucutils.Main;
+import de.fuzzlemann.ucutils.base.text.TextUtils;
+import de.fuzzlemann.ucutils.config.UCUtilsConfig;
+import net.minecraft.client.gui.ChatLine;
+import net.minecraft.client.gui.GuiNewChat;
+import net.minecraft.util.text.ChatType;
+import net.minecraft.util.text.ITextComponent;
+import net.minecraft.util.text.Style;
+import net.minecraft.util.text.TextComponentString;
+import net.minecraft.util.text.TextFormatting;
+import net.minecraftforge.client.event.ClientChatReceivedEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.EventPriority;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.relauncher.ReflectionHelper;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Compacts consecutive repetitions of the same line into one line with a {@code (×N)} counter.
+ * <p>
+ * Lines are left to the vanilla chat unless they repeat the previous line. On the first repetition the previous line
+ * is removed from the chat and printed again with the counter and an id of its own, so further repetitions replace
+ * it in place instead of adding (and wrapping) another copy of it. Only the repetitions are cancelled.
+ *
+ * @author Fuzzlemann
+ */
+@Mod.EventBusSubscriber
+@SideOnly(Side.CLIENT)
+public class ChatCompactor {
+
+    private static final long COMPACTION_WINDOW = TimeUnit.SECONDS.toMillis(30);
+    private static final int FIRST_LINE_ID = 0x55430000;
+    private static final int LINE_ID_COUNT = 1024;
+    private static final Pattern WHITESPACE_PATTERN = Pattern.compile("\\s+");
+
+    private static int lineCounter;
+    private static int lastLineID;
+    private static String lastLine;
+    private static ITextComponent lastMessage;
+    private static long lastTime;
+    private static int repetitions;
+    private static ClientChatReceivedEvent lastCompactedEvent;
+
+    /**
+     * @param e the event of the line
+     * @return if the line was cancelled because it repeats the previous line
+     */
+    public static boolean isCompacted(ClientChatReceivedEvent e) {
+        return e == lastCompactedEvent;
+    }
+
+    @SubscribeEvent(priority = EventPriority.LOWEST)
+    public static void onChatReceived(ClientChatReceivedEvent e) {
+        if (!UCUtilsConfig.compactChat) return;
+        if (e.getType() == ChatType.GAME_INFO) return;
+
+        ITextComponent message = e.getMessage();
+        String line = normalize(message.getUnformattedText());
+
+        long now = System.currentTimeMillis();
+        if (line.isEmpty() || !line.equals(lastLine) || now - lastTime > COMPACTION_WINDOW) {
+            // printed by the vanilla chat
+            lastLine = line.isEmpty() ? null : line;
+            lastMessage = message;
+            lastTime = now;
+            repetitions = 1;
+            return;
+        }
+
+        e.setCanceled(true);
+        lastCompactedEvent = e;
+
+        repetitions++;
+        lastTime = now;
+
+        GuiNewChat chatGUI = Main.MINECRAFT.ingameGUI.getChatGUI();
+        if (repetitions == 2) {
+            removeLine(chatGUI, lastMessage);
+            lastLineID = FIRST_LINE_ID + (lineCounter++ % LINE_ID_COUNT);
+        }
+
+        ITextComponent compacted = lastMessage.createCopy()
+                .appendSibling(new TextComponentString(" (×" + repetitions + ")").setStyle(new Style().setColor(TextFormatting.GRAY)));
+        chatGUI.printChatMessageWithOptionalDeletion(compacted, lastLineID);
+    }
+
+    /**
+     * Removes the line printed by the vanilla chat, which has no id it could be deleted by.
+     */
+    private static void removeLine(GuiNewChat chatGUI, ITextComponent message) {
+        List<ChatLine> chatLines = ReflectionHelper.getPrivateValue(GuiNewChat.class, chatGUI, "chatLines", "field_146252_h");
+        if (chatLines.removeIf(chatLine -> chatLine.getChatComponent() == message)) chatGUI.refreshChat();
+    }
+
+    private static String normalize(String line) {
+        return WHITESPACE_PATTERN.matcher(TextUtils.stripColor(line)).replaceAll(" ").trim();
+    }
+}
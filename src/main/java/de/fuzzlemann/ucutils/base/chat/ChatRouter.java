@@ -0,0 +1,241 @@
+package de.fuzzlemann.ucutils.base.chat;
+
+import com.google.common.annotations.VisibleForTesting;
+import de.fuzzlemann.ucutils.utils.Logger;
+import net.minecraftforge.client.event.ClientChatReceivedEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+import java.util.*;
+import java.util.regex.Matcher;
+
+/**
+ * Dispatches the received chat lines to the registered {@link ChatRule}s.
+ * <p>
+ * The literal prefixes of all rules are compiled into a trie, so for every line only the rules whose prefix the
+ * line starts with (and the rules without a literal prefix) are matched against it, regardless of how many rules
+ * are registered. A rule without a literal prefix is only matched against the lines which contain one of its
+ * required literals (see {@link ChatRule#mayMatch(String)}). Every node of the trie holds its candidates in their
+ * final order, so routing a line doesn't allocate anything. The rules are executed ordered by the names of their sources and then in the order they were
+ * registered in, so the order doesn't depend on when the sources register them; of every group only the first
+ * matching rule is executed. Once a rule cancels the line, no further rules are executed. The names of the rules
+ * executed for the last line are kept for the structured chat log.
+ *
+ * @author Fuzzlemann
+ */
+@Mod.EventBusSubscriber
+@SideOnly(Side.CLIENT)
+public class ChatRouter {
+
+    private static final Map<String, List<ChatRule>> RULES = new TreeMap<>();
+    private static volatile Index index = new Index(Collections.emptyMap());
+    private static ClientChatReceivedEvent lastEvent;
+    private static List<String> lastExecutedRules = Collections.emptyList();
+
+    /**
+     * Adds the rule to the rules of the source.
+     *
+     * @param source the source the rule belongs to, e.g. the handler registering it
+     * @param rule   the rule
+     */
+    public static synchronized void register(String source, ChatRule rule) {
+        RULES.computeIfAbsent(source, key -> new ArrayList<>()).add(rule);
+        index = new Index(RULES);
+    }
+
+    /**
+     * Replaces all rules of the source with the given rules.
+     *
+     * @param source the source the rules belong to
+     * @param rules  the new rules of the source
+     */
+    public static synchronized void replace(String source, Collection<ChatRule> rules) {
+        RULES.put(source, new ArrayList<>(rules));
+        index = new Index(RULES);
+    }
+
+    /**
+     * Returns the names of the rules which were executed for the line. Only the last line is remembered.
+     *
+     * @param e the event of the line
+     * @return the names of the executed rules in the order they were executed in
+     */
+    public static List<String> getExecutedRules(ClientChatReceivedEvent e) {
+        return e == lastEvent ? Collections.unmodifiableList(lastExecutedRules) : Collections.emptyList();
+    }
+
+    /**
+     * Returns the names of the rules which match the line, without executing them. Since no rule is executed, the
+     * rules after one which would cancel the line are contained as well.
+     *
+     * @param unformattedText the unformatted text of the line
+     * @return the names of the matching rules in the order they would be executed in
+     */
+    public static List<String> getMatchingRules(String unformattedText) {
+        List<String> matchingRules = new ArrayList<>();
+
+        Set<String> matchedGroups = new HashSet<>();
+        for (ChatRule rule : index.candidates(unformattedText)) {
+            String group = rule.getGroup();
+            if (group != null && matchedGroups.contains(group)) continue;
+            if (!rule.isEnabled() || !rule.mayMatch(unformattedText)) continue;
+
+            if (!rule.getPattern().matcher(unformattedText).find()) continue;
+
+            if (group != null) matchedGroups.add(group);
+            matchingRules.add(rule.getName());
+        }
+
+        return matchingRules;
+    }
+
+    /**
+     * Returns the names of the rules whose patterns are matched against the line, i.e. the rules which aren't
+     * excluded by their literal prefixes or required literals.
+     *
+     * @param rules           the rules by their sources
+     * @param unformattedText the unformatted text of the line
+     * @return the names of the candidates in the order they would be executed in
+     */
+    @VisibleForTesting
+    static List<String> getCandidates(Map<String, List<ChatRule>> rules, String unformattedText) {
+        List<String> candidates = new ArrayList<>();
+        for (ChatRule rule : new Index(new TreeMap<>(rules)).candidates(unformattedText)) {
+            if (rule.mayMatch(unformattedText)) candidates.add(rule.getName());
+        }
+
+        return candidates;
+    }
+
+    @SubscribeEvent
+    public static void onChatReceived(ClientChatReceivedEvent e) {
+        String unformattedText = e.getMessage().getUnformattedText();
+        lastEvent = e;
+        lastExecutedRules = Collections.emptyList();
+
+        Set<String> matchedGroups = null;
+        for (ChatRule rule : index.candidates(unformattedText)) {
+            String group = rule.getGroup();
+            if (group != null && matchedGroups != null && matchedGroups.contains(group)) continue;
+            if (!rule.isEnabled() || !rule.mayMatch(unformattedText)) continue;
+
+            Matcher matcher = rule.getPattern().matcher(unformattedText);
+            if (!matcher.find()) continue;
+
+            if (group != null) {
+                if (matchedGroups == null) matchedGroups = new HashSet<>();
+                matchedGroups.add(group);
+            }
+
+            if (lastExecutedRules.isEmpty()) lastExecutedRules = new ArrayList<>(2);
+            lastExecutedRules.add(rule.getName());
+
+            try {
+                rule.getAction().execute(e, matcher);
+            } catch (Exception exc) {
+                Logger.LOGGER.error("Chat rule " + rule + " failed", exc);
+            }
+
+            if (e.isCanceled()) return;
+        }
+    }
+
+    /**
+     * An immutable snapshot of the registered rules.
+     */
+    private static class Index {
+        private final Node root = new Node();
+
+        private Index(Map<String, List<ChatRule>> rules) {
+            List<RankedRule> unprefixedRules = new ArrayList<>();
+
+            int rank = 0;
+            for (List<ChatRule> sourceRules : rules.values()) {
+                for (ChatRule rule : sourceRules) {
+                    RankedRule rankedRule = new RankedRule(rank++, rule);
+
+                    List<String> prefixes = rule.getPrefixes();
+                    if (prefixes.isEmpty()) {
+                        unprefixedRules.add(rankedRule);
+                        continue;
+                    }
+
+                    for (String prefix : prefixes) {
+                        root.insert(prefix, rankedRule);
+                    }
+                }
+            }
+
+            root.computeCandidates(unprefixedRules);
+        }
+
+        /**
+         * @return the rules which have to be matched against the text, in the order they're executed in
+         */
+        private List<ChatRule> candidates(String text) {
+            Node node = root;
+            for (int i = 0; i < text.length(); i++) {
+                Node child = node.children.get(text.charAt(i));
+                if (child == null) break;
+
+                node = child;
+            }
+
+            return node.candidates;
+        }
+    }
+
+    private static class Node {
+        private final Map<Character, Node> children = new HashMap<>();
+        private final List<RankedRule> rules = new ArrayList<>();
+        private List<ChatRule> candidates = Collections.emptyList();
+
+        private void insert(String prefix, RankedRule rule) {
+            Node node = this;
+            for (int i = 0; i < prefix.length(); i++) {
+                node = node.children.computeIfAbsent(prefix.charAt(i), key -> new Node());
+            }
+
+            node.rules.add(rule);
+        }
+
+        /**
+         * Computes the candidates of the node and its children: the candidates of the parent and the rules ending at
+         * the node, ordered by their rank. A rule with several matching prefixes is only contained once.
+         */
+        private void computeCandidates(List<RankedRule> parentCandidates) {
+            List<RankedRule> rankedCandidates = parentCandidates;
+            if (!rules.isEmpty()) {
+                rankedCandidates = new ArrayList<>(parentCandidates);
+                for (RankedRule rule : rules) {
+                    if (!rankedCandidates.contains(rule)) rankedCandidates.add(rule);
+                }
+
+                rankedCandidates.sort(Comparator.comparingInt(rule -> rule.rank));
+            }
+
+            List<ChatRule> nodeCandidates = new ArrayList<>(rankedCandidates.size());
+            for (RankedRule candidate : rankedCandidates) {
+                nodeCandidates.add(candidate.rule);
+            }
+
+            candidates = Collections.unmodifiableList(nodeCandidates);
+
+            for (Node child : children.values()) {
+                child.computeCandidates(rankedCandidates);
+            }
+        }
+    }
+
+    private static class RankedRule {
+        private final int rank;
+        private final ChatRule rule;
+
+        private RankedRule(int rank, ChatRule rule) {
+            this.rank = rank;
+            this.rule = rule;
+        }
+    }
+}
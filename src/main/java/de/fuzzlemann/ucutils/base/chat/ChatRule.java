@@ -0,0 +1,419 @@
+package de.fuzzlemann.ucutils.base.chat;
+
+import com.google.common.annotations.VisibleForTesting;
+import net.minecraftforge.client.event.ClientChatReceivedEvent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A pattern and the action which is executed when a chat line matches the pattern.
+ * <p>
+ * The literal prefixes of the pattern are extracted when the rule is created, so the {@link ChatRouter} only has
+ * to test the rules whose prefix the line starts with. Of a pattern without literal prefixes, e.g. an unanchored
+ * one, the literals every match has to contain are extracted instead, so the pattern is only matched against the
+ * lines which contain one of them.
+ *
+ * @author Fuzzlemann
+ */
+public class ChatRule {
+
+    private static final String META_CHARACTERS = ".[()*+?{|$^";
+    private static final String QUANTIFIERS = "*+?{";
+    private static final Pattern INLINE_FLAGS_PATTERN = Pattern.compile("\\(\\?[a-zA-Z-]*[ix][a-zA-Z-]*[:)]");
+
+    private final String name;
+    private final String group;
+    private final Pattern pattern;
+    private final BooleanSupplier enabled;
+    private final ChatAction action;
+    private final List<String> prefixes;
+    private final List<String> requiredLiterals;
+
+    /**
+     * @param name    the name of the rule, used for logging
+     * @param group   the group of the rule; only the first matching rule of a group is executed per line. May be {@code null}
+     * @param pattern the pattern which the unformatted line is matched against
+     * @param enabled shows if the rule is currently enabled
+     * @param action  the action executed on a match
+     */
+    public ChatRule(String name, String group, Pattern pattern, BooleanSupplier enabled, ChatAction action) {
+        this.name = name;
+        this.group = group;
+        this.pattern = pattern;
+        this.enabled = enabled;
+        this.action = action;
+
+        boolean literalsExtractable = (pattern.flags() & (Pattern.CASE_INSENSITIVE | Pattern.COMMENTS | Pattern.LITERAL)) == 0
+                && !INLINE_FLAGS_PATTERN.matcher(pattern.pattern()).find();
+        this.prefixes = literalsExtractable ? literalPrefixes(pattern.pattern()) : Collections.emptyList();
+        this.requiredLiterals = literalsExtractable && prefixes.isEmpty()
+                ? requiredLiterals(pattern.pattern())
+                : Collections.emptyList();
+    }
+
+    public ChatRule(String name, String group, Pattern pattern, ChatAction action) {
+        this(name, group, pattern, () -> true, action);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getGroup() {
+        return group;
+    }
+
+    public Pattern getPattern() {
+        return pattern;
+    }
+
+    public boolean isEnabled() {
+        return enabled.getAsBoolean();
+    }
+
+    public ChatAction getAction() {
+        return action;
+    }
+
+    /**
+     * Returns the literal prefixes of the pattern.
+     * An empty list means that the rule has to be tested against every line.
+     *
+     * @return the literal prefixes of the pattern
+     */
+    public List<String> getPrefixes() {
+        return prefixes;
+    }
+
+    /**
+     * Returns the literals of which every match contains at least one. Only extracted if the pattern has no literal
+     * prefixes; an empty list means that the pattern has to be matched against every line.
+     *
+     * @return the required literals of the pattern
+     */
+    public List<String> getRequiredLiterals() {
+        return requiredLiterals;
+    }
+
+    /**
+     * Checks if the text contains one of the required literals, without matching the pattern.
+     *
+     * @param text the text
+     * @return {@code false} if the pattern can't match the text
+     */
+    public boolean mayMatch(String text) {
+        if (requiredLiterals.isEmpty()) return true;
+
+        for (String literal : requiredLiterals) {
+            if (text.contains(literal)) return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Extracts the literal prefixes of every top-level alternative of the regex.
+     *
+     * @param regex the regex
+     * @return the prefixes or an empty list, when at least one alternative has no literal prefix
+     */
+    @VisibleForTesting
+    static List<String> literalPrefixes(String regex) {
+        List<String> prefixes = new ArrayList<>();
+
+        for (String alternative : alternatives(regex)) {
+            String prefix = literalPrefix(alternative);
+            if (prefix.isEmpty()) return Collections.emptyList();
+
+            prefixes.add(prefix);
+        }
+
+        return prefixes;
+    }
+
+    /**
+     * Extracts the longest literal every match of a top-level alternative of the regex contains.
+     *
+     * @param regex the regex
+     * @return the literals or an empty list, when at least one alternative doesn't contain a literal
+     */
+    @VisibleForTesting
+    static List<String> requiredLiterals(String regex) {
+        List<String> literals = new ArrayList<>();
+
+        for (String alternative : alternatives(regex)) {
+            String literal = longestLiteral(alternative);
+            if (literal.isEmpty()) return Collections.emptyList();
+
+            if (!literals.contains(literal)) literals.add(literal);
+        }
+
+        return literals;
+    }
+
+    /**
+     * Returns the longest run of literals outside of groups and character classes which isn't optional.
+     */
+    private static String longestLiteral(String alternative) {
+        String longest = "";
+        StringBuilder run = new StringBuilder();
+        int length = alternative.length();
+
+        int i = 0;
+        while (i < length) {
+            char c = alternative.charAt(i);
+
+            if (c == '(' || c == '[') {
+                if (run.length() > longest.length()) longest = run.toString();
+                run.setLength(0);
+
+                i = skipQuantifier(alternative, c == '(' ? skipGroup(alternative, i) : skipCharacterClass(alternative, i));
+                continue;
+            }
+
+            char literal;
+            int next;
+            if (c == '\\') {
+                if (i + 1 >= length) break;
+
+                literal = alternative.charAt(i + 1);
+                next = i + 2;
+                if (Character.isLetterOrDigit(literal)) {
+                    // character classes like \d, back references or quotations like \Q
+                    if (run.length() > longest.length()) longest = run.toString();
+                    run.setLength(0);
+
+                    i = skipQuantifier(alternative, next);
+                    continue;
+                }
+            } else if (META_CHARACTERS.indexOf(c) != -1) {
+                if (run.length() > longest.length()) longest = run.toString();
+                run.setLength(0);
+
+                i = skipQuantifier(alternative, i + 1);
+                continue;
+            } else {
+                literal = c;
+                next = i + 1;
+            }
+
+            if (next < length && QUANTIFIERS.indexOf(alternative.charAt(next)) != -1) {
+                // the literal ends the run; it's only contained if it's repeated at least once
+                if (alternative.charAt(next) == '+') run.append(literal);
+                if (run.length() > longest.length()) longest = run.toString();
+                run.setLength(0);
+
+                i = skipQuantifier(alternative, next);
+                continue;
+            }
+
+            run.append(literal);
+            i = next;
+        }
+
+        return run.length() > longest.length() ? run.toString() : longest;
+    }
+
+    /**
+     * @return the index after the group starting at the index
+     */
+    private static int skipGroup(String regex, int start) {
+        int depth = 0;
+        for (int i = start; i < regex.length(); i++) {
+            char c = regex.charAt(i);
+
+            if (c == '\\') {
+                i++;
+            } else if (c == '[') {
+                i = skipCharacterClass(regex, i) - 1;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')' && --depth == 0) {
+                return i + 1;
+            }
+        }
+
+        return regex.length();
+    }
+
+    /**
+     * @return the index after the character class starting at the index
+     */
+    private static int skipCharacterClass(String regex, int start) {
+        for (int i = start + 1; i < regex.length(); i++) {
+            char c = regex.charAt(i);
+
+            if (c == '\\') {
+                i++;
+            } else if (c == ']' && i > start + 1) {
+                return i + 1;
+            }
+        }
+
+        return regex.length();
+    }
+
+    /**
+     * @return the index after the quantifier at the index, including a lazy or possessive suffix
+     */
+    private static int skipQuantifier(String regex, int index) {
+        if (index >= regex.length() || QUANTIFIERS.indexOf(regex.charAt(index)) == -1) return index;
+
+        int i = index;
+        if (regex.charAt(i) == '{') {
+            int end = regex.indexOf('}', i);
+            i = end == -1 ? regex.length() : end + 1;
+        } else {
+            i++;
+        }
+
+        if (i < regex.length() && (regex.charAt(i) == '?' || regex.charAt(i) == '+')) i++;
+        return i;
+    }
+
+    private static String literalPrefix(String alternative) {
+        if (!alternative.startsWith("^")) return "";
+
+        StringBuilder sb = new StringBuilder();
+        int length = alternative.length();
+
+        int i = 1;
+        while (i < length) {
+            char c = alternative.charAt(i);
+            char literal;
+            int next;
+
+            if (c == '\\') {
+                if (i + 1 >= length) break;
+
+                literal = alternative.charAt(i + 1);
+                if (Character.isLetterOrDigit(literal)) break; // character classes like \d or quotations like \Q
+
+                next = i + 2;
+            } else if (META_CHARACTERS.indexOf(c) != -1) {
+                break;
+            } else {
+                literal = c;
+                next = i + 1;
+            }
+
+            if (next < length) {
+                char quantifier = alternative.charAt(next);
+                if (quantifier == '*' || quantifier == '?' || quantifier == '{') break; // the literal is optional or counted
+
+                if (quantifier == '+') {
+                    sb.append(literal);
+                    break;
+                }
+            }
+
+            sb.append(literal);
+            i = next;
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Splits the regex into its top-level alternatives; the alternatives of a group spanning a whole alternative are
+     * split as well, e.g. {@code (?:^a|^b)|^c} becomes {@code ^a}, {@code ^b} and {@code ^c}.
+     */
+    private static List<String> alternatives(String regex) {
+        List<String> alternatives = new ArrayList<>();
+
+        for (String alternative : splitAlternatives(regex)) {
+            String unwrapped = unwrapGroup(alternative);
+            if (unwrapped.length() == alternative.length()) {
+                alternatives.add(alternative);
+            } else {
+                alternatives.addAll(alternatives(unwrapped));
+            }
+        }
+
+        return alternatives;
+    }
+
+    private static List<String> splitAlternatives(String regex) {
+        List<String> alternatives = new ArrayList<>();
+
+        int depth = 0;
+        boolean characterClass = false;
+        int start = 0;
+        for (int i = 0; i < regex.length(); i++) {
+            char c = regex.charAt(i);
+
+            if (c == '\\') {
+                i++;
+                continue;
+            }
+
+            if (characterClass) {
+                if (c == ']') characterClass = false;
+                continue;
+            }
+
+            if (c == '[') {
+                characterClass = true;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (c == '|' && depth == 0) {
+                alternatives.add(regex.substring(start, i));
+                start = i + 1;
+            }
+        }
+
+        alternatives.add(regex.substring(start));
+        return alternatives;
+    }
+
+    /**
+     * Removes a non-capturing group spanning the whole alternative, e.g. {@code (?:^abc)} becomes {@code ^abc}.
+     */
+    private static String unwrapGroup(String alternative) {
+        if (!alternative.startsWith("(?:") || !alternative.endsWith(")")) return alternative;
+
+        int depth = 0;
+        boolean characterClass = false;
+        for (int i = 0; i < alternative.length(); i++) {
+            char c = alternative.charAt(i);
+
+            if (c == '\\') {
+                i++;
+                continue;
+            }
+
+            if (characterClass) {
+                if (c == ']') characterClass = false;
+                continue;
+            }
+
+            if (c == '[') {
+                characterClass = true;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')' && --depth == 0) {
+                // the group has to end at the last character, otherwise it doesn't span the whole alternative
+                return i == alternative.length() - 1 ? alternative.substring(3, i) : alternative;
+            }
+        }
+
+        return alternative;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    @FunctionalInterface
+    public interface ChatAction {
+        void execute(ClientChatReceivedEvent e, Matcher matcher);
+    }
+}
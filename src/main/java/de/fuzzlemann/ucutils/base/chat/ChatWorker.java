@@ -0,0 +1,78 @@
+package de.fuzzlemann.ucutils.base.chat;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import de.fuzzlemann.ucutils.Main;
+import de.fuzzlemann.ucutils.base.abstraction.AbstractionLayer;
+import de.fuzzlemann.ucutils.utils.Logger;
+import net.minecraft.util.text.ITextComponent;
+import net.minecraftforge.client.event.ClientChatReceivedEvent;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Builds chat replacements outside of the client thread.
+ * <p>
+ * A chat handler decides synchronously whether a line is replaced, the replacement itself is built on a single
+ * worker thread (which keeps the order of the replacements) and is posted back to the client thread afterwards.
+ *
+ * @author Fuzzlemann
+ */
+@SideOnly(Side.CLIENT)
+public class ChatWorker {
+
+    private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+            .setNameFormat("UCUtils-ChatWorker")
+            .setDaemon(true)
+            .build());
+
+    /**
+     * Cancels the line of the given event and sends the replacement built by {@code replacementSupplier} instead.
+     * When the replacement can't be built, the original line is sent.
+     *
+     * @param e                   the event of the line which should be replaced
+     * @param replacementSupplier the supplier building the replacement; executed in the worker thread
+     */
+    public static void replace(ClientChatReceivedEvent e, Supplier<ITextComponent> replacementSupplier) {
+        ITextComponent original = e.getMessage();
+        e.setCanceled(true);
+
+        submit(() -> {
+            try {
+                return replacementSupplier.get();
+            } catch (Exception exc) {
+                Logger.LOGGER.catching(exc);
+                return original;
+            }
+        });
+    }
+
+    /**
+     * Builds the message with {@code messageSupplier} in the worker thread and sends it in the client thread.
+     *
+     * @param messageSupplier the supplier building the message; if it returns {@code null}, nothing is sent
+     */
+    public static void submit(Supplier<ITextComponent> messageSupplier) {
+        EXECUTOR.execute(() -> {
+            ITextComponent message;
+            try {
+                message = messageSupplier.get();
+            } catch (Exception e) {
+                Logger.LOGGER.catching(e);
+                return;
+            }
+
+            if (message == null) return;
+
+            Main.MINECRAFT.addScheduledTask(() -> {
+                // the player may have disconnected while the message was built
+                if (Main.MINECRAFT.player == null) return;
+
+                AbstractionLayer.getPlayer().sendMessage(message);
+            });
+        });
+    }
+}
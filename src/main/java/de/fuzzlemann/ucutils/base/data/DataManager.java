@@ -1,5 +1,6 @@
 package de.fuzzlemann.ucutils.base.data;
 
+import de.fuzzlemann.ucutils.base.startup.StartupOrchestrator;
 import de.fuzzlemann.ucutils.utils.ForgeUtils;
 import de.fuzzlemann.ucutils.utils.Logger;
 import de.fuzzlemann.ucutils.base.text.Message;
@@ -7,6 +8,7 @@ import net.minecraft.util.text.TextFormatting;
 import net.minecraftforge.fml.common.discovery.ASMDataTable;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
 
@@ -38,28 +40,56 @@ public class DataManager {
             DataModule dataModule = dataLoader.getClass().getAnnotation(DataModule.class);
             if (ForgeUtils.isTest() && !dataModule.test()) continue;
 
-            moduleMessage(verbose, dataModule, "wird geladen...");
-            try {
-                dataLoader.load();
+            loadModule(dataLoader, dataModule, verbose);
+        }
+    }
+
+    /**
+     * Adds a startup task for every data module, so independent modules are loaded in parallel. Modules which aren't
+     * local are loaded apart from the other tasks, as they wait for the network.
+     *
+     * @param orchestrator the orchestrator of the startup
+     */
+    public static void registerStartupTasks(StartupOrchestrator orchestrator) {
+        for (DataLoader dataLoader : DATA_LOADERS) {
+            DataModule dataModule = dataLoader.getClass().getAnnotation(DataModule.class);
+            if (ForgeUtils.isTest() && !dataModule.test()) continue;
+
+            orchestrator.add(taskName(dataModule.value()), false, !dataModule.local(),
+                    Arrays.asList(dataModule.dependsOn()), () -> loadModule(dataLoader, dataModule, false));
+        }
+    }
+
+    /**
+     * @param value the value of the data module
+     * @return the name of the startup task of the module, which is separated from the names of other tasks
+     */
+    public static String taskName(String value) {
+        return "data/" + value;
+    }
+
+    private static void loadModule(DataLoader dataLoader, DataModule dataModule, boolean verbose) {
+        moduleMessage(verbose, dataModule, "wird geladen...");
+        try {
+            dataLoader.load();
 
-                moduleMessage(verbose, dataModule, "wurde erfolgreich geladen!");
-            } catch (Exception e) {
-                Logger.LOGGER.catching(e);
+            moduleMessage(verbose, dataModule, "wurde erfolgreich geladen!");
+        } catch (Exception e) {
+            Logger.LOGGER.catching(e);
 
-                moduleMessage(verbose, dataModule, "hat fehlgeschlagen, zu laden!");
+            moduleMessage(verbose, dataModule, "hat fehlgeschlagen, zu laden!");
 
-                if (dataModule.hasFallback()) {
-                    moduleMessage(verbose, dataModule, "über Fallback zu laden...");
+            if (dataModule.hasFallback()) {
+                moduleMessage(verbose, dataModule, "über Fallback zu laden...");
 
-                    try {
-                        dataLoader.fallbackLoading();
+                try {
+                    dataLoader.fallbackLoading();
 
-                        moduleMessage(verbose, dataModule, "wurde erfolgreich über Fallback geladen (kann ggf. veraltete Daten enthalten)!");
-                    } catch (Exception e2) {
-                        Logger.LOGGER.catching(e2);
+                    moduleMessage(verbose, dataModule, "wurde erfolgreich über Fallback geladen (kann ggf. veraltete Daten enthalten)!");
+                } catch (Exception e2) {
+                    Logger.LOGGER.catching(e2);
 
-                        moduleMessage(verbose, dataModule, "hat fehlgeschlagen über Fallback, zu laden!");
-                    }
+                    moduleMessage(verbose, dataModule, "hat fehlgeschlagen über Fallback, zu laden!");
                 }
             }
         }
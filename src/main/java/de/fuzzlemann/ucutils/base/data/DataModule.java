@@ -18,4 +18,10 @@ public @interface DataModule {
 
     boolean test() default true;
 
+    /**
+     * @return the names of the startup tasks which have to be finished before the module is loaded; data modules and
+     * initializors are referred to with their prefixes, e.g. {@code data/TeamSpeak-API}
+     */
+    String[] dependsOn() default {};
+
 }
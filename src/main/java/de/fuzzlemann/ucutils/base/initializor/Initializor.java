@@ -14,4 +14,20 @@ public @interface Initializor {
 
     InitMode initMode();
 
+    /**
+     * @return {@code true} if the initializor has to run on the client thread
+     */
+    boolean mainThread() default true;
+
+    /**
+     * @return {@code true} if the initializor waits for the network, so it doesn't hold up the other startup tasks
+     */
+    boolean io() default false;
+
+    /**
+     * @return the names of the startup tasks which have to be finished before the initializor is run; data modules and
+     * initializors are referred to with their prefixes, e.g. {@code data/TeamSpeak-API}
+     */
+    String[] dependsOn() default {};
+
 }
@@ -3,13 +3,11 @@ package de.fuzzlemann.ucutils.base.initializor;
 import com.google.common.collect.Ordering;
 import com.google.common.collect.SetMultimap;
 import com.google.common.collect.TreeMultimap;
+import de.fuzzlemann.ucutils.base.startup.StartupOrchestrator;
 import de.fuzzlemann.ucutils.utils.Logger;
 import net.minecraftforge.fml.common.discovery.ASMDataTable;
 
-import java.util.Collection;
-import java.util.Comparator;
-import java.util.Map;
-import java.util.Set;
+import java.util.*;
 
 /**
  * @author Fuzzlemann
@@ -39,20 +37,56 @@ public class InitializorHandler {
     }
 
     public static void initAll() {
+        for (Map.Entry<String, Collection<IInitializor>> entry : INITIALIZORS.asMap().entrySet()) {
+            init(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Adds a startup task for every initializor value. The task runs on the client thread if any of the
+     * initializors of the value requires it, is run apart from the other tasks if any of them waits for the network
+     * and waits for the dependencies of all of them.
+     *
+     * @param orchestrator the orchestrator of the startup
+     */
+    public static void registerStartupTasks(StartupOrchestrator orchestrator) {
         for (Map.Entry<String, Collection<IInitializor>> entry : INITIALIZORS.asMap().entrySet()) {
             String value = entry.getKey();
             Collection<IInitializor> initializors = entry.getValue();
 
+            boolean mainThread = false;
+            boolean io = false;
+            Set<String> dependsOn = new LinkedHashSet<>();
             for (IInitializor initializor : initializors) {
-                Logger.LOGGER.info(value + "-Initializor: loading " + initializor.getClass().getName());
-
-                try {
-                    initializor.init();
-                    Logger.LOGGER.info(value + "-Initializor: successfully loaded " + initializor.getClass().getName());
-                    break;
-                } catch (Exception | NoClassDefFoundError e) {
-                    Logger.LOGGER.info(value + "-Initializor: failed to load " + initializor.getClass().getName());
-                }
+                Initializor annotation = initializor.getAnnotation();
+
+                mainThread |= annotation.mainThread();
+                io |= annotation.io();
+                dependsOn.addAll(Arrays.asList(annotation.dependsOn()));
+            }
+
+            orchestrator.add(taskName(value), mainThread, io, dependsOn, () -> init(value, initializors));
+        }
+    }
+
+    /**
+     * @param value the value of the initializors
+     * @return the name of the startup task of the initializors, which is separated from the names of other tasks
+     */
+    public static String taskName(String value) {
+        return "initializor/" + value;
+    }
+
+    private static void init(String value, Collection<IInitializor> initializors) {
+        for (IInitializor initializor : initializors) {
+            Logger.LOGGER.info(value + "-Initializor: loading " + initializor.getClass().getName());
+
+            try {
+                initializor.init();
+                Logger.LOGGER.info(value + "-Initializor: successfully loaded " + initializor.getClass().getName());
+                break;
+            } catch (Exception | NoClassDefFoundError e) {
+                Logger.LOGGER.info(value + "-Initializor: failed to load " + initializor.getClass().getName());
             }
         }
     }
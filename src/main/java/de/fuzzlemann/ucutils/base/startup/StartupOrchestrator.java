@@ -0,0 +1,167 @@
+package de.fuzzlemann.ucutils.base.startup;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import de.fuzzlemann.ucutils.Main;
+import de.fuzzlemann.ucutils.utils.Logger;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs the startup tasks of the mod.
+ * <p>
+ * Every task declares the names of the tasks it depends on and is started as soon as all of them are finished.
+ * Tasks which don't have to run on the client thread are executed in parallel on a bounded pool; the tasks which
+ * have to run on the client thread are scheduled on it, so it never waits for the other tasks. Tasks which wait for
+ * the network are executed on threads of their own, so they don't hold up the local tasks in the bounded pool.
+ * A failing task is logged and doesn't prevent its dependents from being run. Every task is measured by the
+ * {@link StartupProfiler}, which writes its report as soon as all tasks are finished.
+ *
+ * @author Fuzzlemann
+ */
+public class StartupOrchestrator {
+
+    private static final int POOL_SIZE = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+    private final Map<String, Task> tasks = new LinkedHashMap<>();
+
+    /**
+     * Adds a task.
+     *
+     * @param name       the name of the task, which is referred to by the dependencies of other tasks; the names of
+     *                   data modules and initializors are prefixed (see {@code taskName} of their handlers)
+     * @param mainThread {@code true} if the task has to run on the client thread
+     * @param io         {@code true} if the task waits for the network, e.g. for a request to the API
+     * @param dependsOn  the names of the tasks which have to be finished before the task is started
+     * @param action     the action of the task
+     */
+    public void add(String name, boolean mainThread, boolean io, Collection<String> dependsOn, StartupAction action) {
+        if (tasks.containsKey(name)) throw new IllegalArgumentException("duplicate startup task: " + name);
+        if (mainThread && io) throw new IllegalArgumentException("client thread task must not wait for the network: " + name);
+
+        tasks.put(name, new Task(name, mainThread, io, new LinkedHashSet<>(dependsOn), action));
+    }
+
+    public void add(String name, boolean mainThread, Collection<String> dependsOn, StartupAction action) {
+        add(name, mainThread, false, dependsOn, action);
+    }
+
+    public void add(String name, boolean mainThread, StartupAction action) {
+        add(name, mainThread, Collections.emptySet(), action);
+    }
+
+    /**
+     * Starts all tasks. The client thread tasks whose dependencies are finished already are run right away if called
+     * from the client thread; all other tasks are still running afterwards.
+     *
+     * @return a future which completes when all tasks are finished
+     */
+    public CompletableFuture<Void> start() {
+        ExecutorService executor = Executors.newFixedThreadPool(POOL_SIZE, new ThreadFactoryBuilder()
+                .setNameFormat("UCUtils-Startup-%d")
+                .setDaemon(true)
+                .build());
+        ExecutorService ioExecutor = Executors.newCachedThreadPool(new ThreadFactoryBuilder()
+                .setNameFormat("UCUtils-Startup-IO-%d")
+                .setDaemon(true)
+                .build());
+
+        List<Task> sortedTasks = sort();
+        Map<String, CompletableFuture<Void>> futures = new HashMap<>();
+
+        for (Task task : sortedTasks) {
+            Executor taskExecutor = task.mainThread ? Main.MINECRAFT::addScheduledTask : task.io ? ioExecutor : executor;
+            futures.put(task.name, dependencies(task, futures).thenRunAsync(() -> execute(task), taskExecutor));
+        }
+
+        return CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[0]))
+                .whenComplete((result, throwable) -> {
+                    executor.shutdown();
+                    ioExecutor.shutdown();
+                    StartupProfiler.finishStartup();
+                });
+    }
+
+    private CompletableFuture<Void> dependencies(Task task, Map<String, CompletableFuture<Void>> futures) {
+        CompletableFuture<?>[] dependencyFutures = task.dependsOn.stream()
+                .map(futures::get)
+                .toArray(CompletableFuture[]::new);
+
+        return CompletableFuture.allOf(dependencyFutures);
+    }
+
+    private void execute(Task task) {
+        try (StartupProfiler.Section section = StartupProfiler.begin("task/" + task.name)) {
+            try {
+                task.action.run();
+            } catch (Exception | NoClassDefFoundError e) {
+                section.markFailed();
+                Logger.LOGGER.error("Startup task " + task.name + " failed", e);
+            }
+        }
+    }
+
+    /**
+     * Sorts the tasks topologically, keeping the order in which they were added where possible.
+     * Unknown dependencies are dropped; cyclic dependencies aren't allowed.
+     */
+    private List<Task> sort() {
+        for (Task task : tasks.values()) {
+            for (Iterator<String> iterator = task.dependsOn.iterator(); iterator.hasNext(); ) {
+                String dependency = iterator.next();
+                if (tasks.containsKey(dependency)) continue;
+
+                Logger.LOGGER.warn("Startup task " + task.name + " depends on the unknown task " + dependency);
+                iterator.remove();
+            }
+        }
+
+        List<Task> sortedTasks = new ArrayList<>();
+        Set<String> sortedNames = new HashSet<>();
+
+        while (sortedTasks.size() < tasks.size()) {
+            boolean progress = false;
+
+            for (Task task : tasks.values()) {
+                if (sortedNames.contains(task.name) || !sortedNames.containsAll(task.dependsOn)) continue;
+
+                sortedTasks.add(task);
+                sortedNames.add(task.name);
+                progress = true;
+            }
+
+            if (!progress) {
+                Set<String> remaining = new LinkedHashSet<>(tasks.keySet());
+                remaining.removeAll(sortedNames);
+
+                throw new IllegalStateException("cyclic startup task dependencies: " + remaining);
+            }
+        }
+
+        return sortedTasks;
+    }
+
+    @FunctionalInterface
+    public interface StartupAction {
+        void run() throws Exception;
+    }
+
+    private static class Task {
+        private final String name;
+        private final boolean mainThread;
+        private final boolean io;
+        private final Set<String> dependsOn;
+        private final StartupAction action;
+
+        private Task(String name, boolean mainThread, boolean io, Set<String> dependsOn, StartupAction action) {
+            this.name = name;
+            this.mainThread = mainThread;
+            this.io = io;
+            this.dependsOn = dependsOn;
+            this.action = action;
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package de.fuzzlemann.ucutils.base.startup;
+
+import de.fuzzlemann.ucutils.Main;
+import de.fuzzlemann.ucutils.utils.Logger;
+import de.fuzzlemann.ucutils.utils.io.FileManager;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the wall time, the CPU time and the allocations of the phases of the startup and of later reloads.
+ * <p>
+ * A phase is measured by a {@link Section} in the thread which executes it:
+ * <pre>
+ * try (StartupProfiler.Section ignored = StartupProfiler.begin("preInit/commands")) {
+ *     ...
+ * }
+ * </pre>
+ * Sections may be nested; the outer section includes the inner ones. The CPU time and the allocations are only
+ * recorded if the JVM supports measuring them per thread.
+ *
+ * @author Fuzzlemann
+ */
+public class StartupProfiler {
+
+    public static final File REPORT_FILE = new File(FileManager.MC_DIRECTORY, "logs/ucutils-startup.txt");
+
+    private static final int MAX_RELOAD_RECORDS = 200;
+    private static final long ORIGIN = System.nanoTime();
+    private static final ThreadMXBean THREAD_BEAN = ManagementFactory.getThreadMXBean();
+    private static final boolean CPU_TIME_SUPPORTED = THREAD_BEAN.isCurrentThreadCpuTimeSupported() && THREAD_BEAN.isThreadCpuTimeEnabled();
+    private static final boolean ALLOCATION_SUPPORTED = isAllocationSupported();
+
+    private static final List<Record> RECORDS = new ArrayList<>();
+    private static volatile boolean startupFinished;
+    private static long startupDuration = -1;
+
+    public static Section begin(String name) {
+        return new Section(name, !startupFinished);
+    }
+
+    /**
+     * Marks the end of the startup and writes the report.
+     */
+    public static void finishStartup() {
+        synchronized (RECORDS) {
+            startupFinished = true;
+            startupDuration = System.nanoTime() - ORIGIN;
+        }
+
+        Logger.LOGGER.info("Startup finished after " + TimeUnit.NANOSECONDS.toMillis(startupDuration) + " ms, see " + REPORT_FILE);
+        writeReport();
+    }
+
+    /**
+     * @return the duration of the startup in nanoseconds or {@code -1} if the startup isn't finished yet
+     */
+    public static long getStartupDuration() {
+        synchronized (RECORDS) {
+            return startupDuration;
+        }
+    }
+
+    /**
+     * @return the records of the startup, ordered by their start
+     */
+    public static List<Record> getStartupRecords() {
+        return getRecords(true);
+    }
+
+    /**
+     * @return the records after the startup, ordered by their start
+     */
+    public static List<Record> getReloadRecords() {
+        return getRecords(false);
+    }
+
+    public static void writeReport() {
+        try {
+            Files.createDirectories(REPORT_FILE.getParentFile().toPath());
+            Files.write(REPORT_FILE.toPath(), buildReport().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            Logger.LOGGER.catching(e);
+        }
+    }
+
+    public static String buildReport() {
+        StringWriter stringWriter = new StringWriter();
+        PrintWriter writer = new PrintWriter(stringWriter);
+
+        writer.println("UCUtils " + Main.VERSION + " startup report");
+        writer.println("CPU time measured: " + CPU_TIME_SUPPORTED + ", allocations measured: " + ALLOCATION_SUPPORTED);
+
+        long duration = getStartupDuration();
+        writer.println("Startup: " + (duration == -1 ? "not finished" : TimeUnit.NANOSECONDS.toMillis(duration) + " ms"));
+        writer.println();
+
+        writeRecords(writer, getStartupRecords());
+
+        List<Record> reloadRecords = getReloadRecords();
+        if (!reloadRecords.isEmpty()) {
+            writer.println();
+            writer.println("Reloads:");
+            writeRecords(writer, reloadRecords);
+        }
+
+        writer.flush();
+        return stringWriter.toString();
+    }
+
+    private static void writeRecords(PrintWriter writer, List<Record> records) {
+        writer.println(String.format("%-40s %-22s %9s %9s %9s %11s", "Phase", "Thread", "Start", "Wall", "CPU", "Allocated"));
+
+        for (Record record : records) {
+            writer.println(String.format("%-40s %-22s %6d ms %6d ms %9s %11s%s",
+                    record.getName(),
+                    record.getThread(),
+                    TimeUnit.NANOSECONDS.toMillis(record.getStart()),
+                    TimeUnit.NANOSECONDS.toMillis(record.getWallTime()),
+                    record.getCpuTime() == -1 ? "-" : TimeUnit.NANOSECONDS.toMillis(record.getCpuTime()) + " ms",
+                    record.getAllocatedBytes() == -1 ? "-" : record.getAllocatedBytes() / 1024 + " KB",
+                    record.isFailed() ? " (failed)" : ""));
+        }
+    }
+
+    private static List<Record> getRecords(boolean startup) {
+        List<Record> records = new ArrayList<>();
+
+        synchronized (RECORDS) {
+            for (Record record : RECORDS) {
+                if (record.isStartup() == startup) records.add(record);
+            }
+        }
+
+        records.sort(Comparator.comparingLong(Record::getStart));
+        return records;
+    }
+
+    private static void add(Record record) {
+        synchronized (RECORDS) {
+            RECORDS.add(record);
+            if (record.isStartup()) return;
+
+            // the reloads happen for the whole session, so only the latest ones are kept
+            int reloadRecords = 0;
+            for (Record r : RECORDS) {
+                if (!r.isStartup()) reloadRecords++;
+            }
+
+            for (Iterator<Record> iterator = RECORDS.iterator(); iterator.hasNext() && reloadRecords > MAX_RELOAD_RECORDS; ) {
+                if (iterator.next().isStartup()) continue;
+
+                iterator.remove();
+                reloadRecords--;
+            }
+        }
+    }
+
+    private static long currentCpuTime() {
+        return CPU_TIME_SUPPORTED ? THREAD_BEAN.getCurrentThreadCpuTime() : -1;
+    }
+
+    private static long currentAllocatedBytes() {
+        if (!ALLOCATION_SUPPORTED) return -1;
+
+        return ((com.sun.management.ThreadMXBean) THREAD_BEAN).getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static boolean isAllocationSupported() {
+        try {
+            if (!(THREAD_BEAN instanceof com.sun.management.ThreadMXBean)) return false;
+
+            com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) THREAD_BEAN;
+            return threadBean.isThreadAllocatedMemorySupported() && threadBean.isThreadAllocatedMemoryEnabled();
+        } catch (NoClassDefFoundError e) {
+            return false; // not a HotSpot based JVM
+        }
+    }
+
+    public static class Section implements AutoCloseable {
+        private final String name;
+        private final boolean startup;
+        private final long start = System.nanoTime();
+        private final long cpuStart = currentCpuTime();
+        private final long allocationStart = currentAllocatedBytes();
+        private boolean failed;
+
+        private Section(String name, boolean startup) {
+            this.name = name;
+            this.startup = startup;
+        }
+
+        public void markFailed() {
+            failed = true;
+        }
+
+        @Override
+        public void close() {
+            long end = System.nanoTime();
+            long cpuTime = cpuStart == -1 ? -1 : currentCpuTime() - cpuStart;
+            long allocatedBytes = allocationStart == -1 ? -1 : currentAllocatedBytes() - allocationStart;
+
+            add(new Record(name, Thread.currentThread().getName(), startup, start - ORIGIN, end - start, cpuTime, allocatedBytes, failed));
+        }
+    }
+
+    public static class Record {
+        private final String name;
+        private final String thread;
+        private final boolean startup;
+        private final long start;
+        private final long wallTime;
+        private final long cpuTime;
+        private final long allocatedBytes;
+        private final boolean failed;
+
+        private Record(String name, String thread, boolean startup, long start, long wallTime, long cpuTime, long allocatedBytes, boolean failed) {
+            this.name = name;
+            this.thread = thread;
+            this.startup = startup;
+            this.start = start;
+            this.wallTime = wallTime;
+            this.cpuTime = cpuTime;
+            this.allocatedBytes = allocatedBytes;
+            this.failed = failed;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getThread() {
+            return thread;
+        }
+
+        public boolean isStartup() {
+            return startup;
+        }
+
+        /**
+         * @return the start in nanoseconds, relative to the first use of the profiler
+         */
+        public long getStart() {
+            return start;
+        }
+
+        public long getWallTime() {
+            return wallTime;
+        }
+
+        /**
+         * @return the CPU time in nanoseconds or {@code -1} if it isn't measured
+         */
+        public long getCpuTime() {
+            return cpuTime;
+        }
+
+        /**
+         * @return the allocated bytes or {@code -1} if they aren't measured
+         */
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+
+        public boolean isFailed() {
+            return failed;
+        }
+    }
+}
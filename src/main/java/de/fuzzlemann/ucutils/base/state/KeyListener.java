@@ -0,0 +1,22 @@
+package de.fuzzlemann.ucutils.base.state;
+
+/**
+ * Listens to the changes of single keys of a {@link MapStore} or {@link SetStore}.
+ *
+ * @param <K> the type of the keys
+ * @author Fuzzlemann
+ */
+public interface KeyListener<K> {
+
+    /**
+     * Called when the entry of the key was added, changed or removed.
+     *
+     * @param key the key
+     */
+    void onChange(K key);
+
+    /**
+     * Called when the store was replaced or cleared as a whole.
+     */
+    void onReset();
+}
@@ -0,0 +1,39 @@
+package de.fuzzlemann.ucutils.base.state;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.Collection;
+
+/**
+ * A {@link StateStore} holding an {@link ImmutableList}.
+ * Every change copies the list, so it's meant for small lists which are read more often than changed.
+ *
+ * @author Fuzzlemann
+ */
+public class ListStore<E> extends StateStore<ImmutableList<E>> {
+
+    public ListStore() {
+        super(ImmutableList.of());
+    }
+
+    public int size() {
+        return get().size();
+    }
+
+    public void add(E element) {
+        update(list -> ImmutableList.<E>builder().addAll(list).add(element).build());
+    }
+
+    /**
+     * Replaces all elements at once.
+     *
+     * @param elements the new elements
+     */
+    public void replace(Collection<? extends E> elements) {
+        set(ImmutableList.copyOf(elements));
+    }
+
+    public void clear() {
+        update(list -> list.isEmpty() ? list : ImmutableList.of());
+    }
+}
@@ -0,0 +1,93 @@
+package de.fuzzlemann.ucutils.base.state;
+
+import com.google.common.collect.ImmutableMap;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A {@link StateStore} holding an {@link ImmutableMap}.
+ * Every change copies the map, so it's meant for small maps which are read more often than changed.
+ * {@code null} keys and values aren't supported.
+ *
+ * @author Fuzzlemann
+ */
+public class MapStore<K, V> extends StateStore<ImmutableMap<K, V>> {
+
+    private final List<KeyListener<K>> keyListeners = new CopyOnWriteArrayList<>();
+
+    public MapStore() {
+        super(ImmutableMap.of());
+    }
+
+    public V get(K key) {
+        return get().get(key);
+    }
+
+    public boolean containsKey(K key) {
+        return get().containsKey(key);
+    }
+
+    public int size() {
+        return get().size();
+    }
+
+    public synchronized void put(K key, V value) {
+        ImmutableMap<K, V> map = get();
+        if (map.containsKey(key) && Objects.equals(map.get(key), value)) return;
+
+        Map<K, V> copy = new LinkedHashMap<>(map);
+        copy.put(key, value);
+        set(ImmutableMap.copyOf(copy));
+
+        notifyKey(key);
+    }
+
+    public synchronized void remove(K key) {
+        ImmutableMap<K, V> map = get();
+        if (!map.containsKey(key)) return;
+
+        Map<K, V> copy = new LinkedHashMap<>(map);
+        copy.remove(key);
+        set(ImmutableMap.copyOf(copy));
+
+        notifyKey(key);
+    }
+
+    /**
+     * Replaces all entries with the entries of the given map.
+     *
+     * @param map the new entries
+     */
+    public synchronized void replace(Map<K, V> map) {
+        set(ImmutableMap.copyOf(map));
+        notifyReset();
+    }
+
+    /**
+     * Removes all entries; the listeners are notified with a reset even if the store was empty already.
+     */
+    public synchronized void clear() {
+        set(ImmutableMap.of());
+        notifyReset();
+    }
+
+    public void addKeyListener(KeyListener<K> listener) {
+        keyListeners.add(listener);
+    }
+
+    private void notifyKey(K key) {
+        for (KeyListener<K> listener : keyListeners) {
+            listener.onChange(key);
+        }
+    }
+
+    private void notifyReset() {
+        for (KeyListener<K> listener : keyListeners) {
+            listener.onReset();
+        }
+    }
+}
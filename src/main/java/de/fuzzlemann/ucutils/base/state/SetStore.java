@@ -0,0 +1,101 @@
+package de.fuzzlemann.ucutils.base.state;
+
+import com.google.common.collect.ImmutableSet;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A {@link StateStore} holding an {@link ImmutableSet}.
+ * Every change copies the set, so it's meant for small sets which are read more often than changed.
+ *
+ * @author Fuzzlemann
+ */
+public class SetStore<E> extends StateStore<ImmutableSet<E>> {
+
+    private final List<KeyListener<E>> keyListeners = new CopyOnWriteArrayList<>();
+
+    public SetStore() {
+        super(ImmutableSet.of());
+    }
+
+    public boolean contains(E element) {
+        return get().contains(element);
+    }
+
+    public int size() {
+        return get().size();
+    }
+
+    public synchronized void add(E element) {
+        ImmutableSet<E> set = get();
+        if (set.contains(element)) return;
+
+        set(ImmutableSet.<E>builder().addAll(set).add(element).build());
+        notifyKey(element);
+    }
+
+    /**
+     * Adds all elements at once; the listeners are notified with a reset.
+     *
+     * @param elements the elements to add
+     */
+    public synchronized void addAll(Collection<? extends E> elements) {
+        ImmutableSet<E> set = get();
+        if (set.containsAll(elements)) return;
+
+        set(ImmutableSet.<E>builder().addAll(set).addAll(elements).build());
+        notifyReset();
+    }
+
+    /**
+     * Replaces all elements at once; the listeners are notified with a reset.
+     *
+     * @param elements the new elements
+     */
+    public synchronized void replace(Collection<? extends E> elements) {
+        ImmutableSet<E> set = ImmutableSet.copyOf(elements);
+        if (set.equals(get())) return;
+
+        set(set);
+        notifyReset();
+    }
+
+    public synchronized void remove(E element) {
+        ImmutableSet<E> set = get();
+        if (!set.contains(element)) return;
+
+        ImmutableSet.Builder<E> builder = ImmutableSet.builder();
+        for (E e : set) {
+            if (!e.equals(element)) builder.add(e);
+        }
+
+        set(builder.build());
+        notifyKey(element);
+    }
+
+    /**
+     * Removes all elements; the listeners are notified with a reset even if the store was empty already.
+     */
+    public synchronized void clear() {
+        set(ImmutableSet.of());
+        notifyReset();
+    }
+
+    public void addKeyListener(KeyListener<E> listener) {
+        keyListeners.add(listener);
+    }
+
+    private void notifyKey(E element) {
+        for (KeyListener<E> listener : keyListeners) {
+            listener.onChange(element);
+        }
+    }
+
+    private void notifyReset() {
+        for (KeyListener<E> listener : keyListeners) {
+            listener.onReset();
+        }
+    }
+}
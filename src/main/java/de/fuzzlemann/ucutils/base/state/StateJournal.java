@@ -0,0 +1,329 @@
+package de.fuzzlemann.ucutils.base.state;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import de.fuzzlemann.ucutils.utils.Logger;
+import de.fuzzlemann.ucutils.utils.io.StorageService;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Persists the changes of {@link MapStore}s and {@link SetStore}s in an append-only journal (one JSON entry per line).
+ * <p>
+ * On {@link #load()} the journal is replayed into the registered stores, skipping entries older than the maximum age,
+ * and rewritten in compacted form. Afterwards every change of the stores is appended through the
+ * {@link StorageService}. When enough entries were appended, the journal is compacted again.
+ *
+ * @author Fuzzlemann
+ */
+public class StateJournal {
+
+    private static final int COMPACTION_THRESHOLD = 1000;
+
+    private final Gson gson = new Gson();
+    private final File file;
+    private final long maxAge;
+    private final Map<String, Binding> bindings = new LinkedHashMap<>();
+
+    private int appendedEntries;
+
+    /**
+     * @param file   the journal file
+     * @param maxAge the maximum age of an entry in milliseconds; older entries are dropped when loading
+     */
+    public StateJournal(File file, long maxAge) {
+        this.file = file;
+        this.maxAge = maxAge;
+    }
+
+    public <V> void register(String name, MapStore<String, V> store, Class<V> valueClass) {
+        bindings.put(name, new Binding(name, new MapAccess<>(store, valueClass)));
+    }
+
+    public void register(String name, SetStore<String> store) {
+        bindings.put(name, new Binding(name, new SetAccess(store)));
+    }
+
+    /**
+     * Replays the journal into the registered stores and starts journaling their changes.
+     * Has to be called once, after all stores were registered.
+     */
+    public void load() {
+        long minTime = System.currentTimeMillis() - maxAge;
+
+        if (file.exists()) {
+            try {
+                for (String line : Files.readAllLines(file.toPath(), StandardCharsets.UTF_8)) {
+                    if (line.isEmpty()) continue;
+
+                    Entry entry;
+                    try {
+                        entry = gson.fromJson(line, Entry.class);
+                    } catch (JsonParseException e) {
+                        Logger.LOGGER.warn("Skipping invalid journal entry of " + file + ": " + line);
+                        continue;
+                    }
+
+                    if (entry == null || entry.time < minTime) continue;
+
+                    Binding binding = bindings.get(entry.store);
+                    if (binding != null) binding.replay(entry);
+                }
+            } catch (IOException e) {
+                Logger.LOGGER.catching(e);
+            }
+        }
+
+        for (Binding binding : bindings.values()) {
+            binding.apply();
+        }
+
+        compact();
+    }
+
+    /**
+     * Records that the list of the store was shown completely, i.e. that the store is up to date.
+     *
+     * @param name the name of the store
+     */
+    public void markShown(String name) {
+        Binding binding = bindings.get(name);
+        if (binding == null) return;
+
+        long time = System.currentTimeMillis();
+        binding.lastShown = time;
+        append(new Entry(time, name, Entry.SHOWN, null, null));
+    }
+
+    /**
+     * Returns the time the list of the store was shown the last time.
+     *
+     * @param name the name of the store
+     * @return the time or {@code -1} if the list wasn't shown within the maximum age
+     */
+    public long getLastShown(String name) {
+        Binding binding = bindings.get(name);
+        return binding == null ? -1 : binding.lastShown;
+    }
+
+    private synchronized void append(Entry entry) {
+        if (++appendedEntries >= COMPACTION_THRESHOLD) {
+            compact();
+            return;
+        }
+
+        StorageService.append(file, gson.toJson(entry));
+    }
+
+    /**
+     * Rewrites the journal so it only contains the current state of the stores. The state is captured after the
+     * change of the entry which triggered the compaction, so the entries which weren't written yet can be dropped.
+     */
+    private synchronized void compact() {
+        List<String> lines = new ArrayList<>();
+        for (Binding binding : bindings.values()) {
+            for (Entry entry : binding.snapshot()) {
+                lines.add(gson.toJson(entry));
+            }
+        }
+
+        StorageService.replace(file, lines);
+        appendedEntries = 0;
+    }
+
+    private class Binding {
+        private final String name;
+        private final StoreAccess access;
+        private final Map<String, Long> keyTimes = new ConcurrentHashMap<>();
+        private final Map<String, JsonElement> replayedValues = new LinkedHashMap<>();
+        private volatile long lastShown = -1;
+
+        private Binding(String name, StoreAccess access) {
+            this.name = name;
+            this.access = access;
+        }
+
+        private void replay(Entry entry) {
+            if (entry.op == null) return;
+
+            switch (entry.op) {
+                case Entry.RESET:
+                    replayedValues.clear();
+                    keyTimes.clear();
+                    break;
+                case Entry.SHOWN:
+                    lastShown = entry.time;
+                    break;
+                case Entry.PUT:
+                    replayedValues.put(entry.key, entry.value);
+                    keyTimes.put(entry.key, entry.time);
+                    break;
+                case Entry.REMOVE:
+                    replayedValues.remove(entry.key);
+                    keyTimes.remove(entry.key);
+                    break;
+            }
+        }
+
+        /**
+         * Applies the replayed state to the store and starts listening to its changes.
+         */
+        private void apply() {
+            try {
+                access.restore(replayedValues);
+            } catch (JsonParseException e) {
+                Logger.LOGGER.catching(e);
+            }
+
+            replayedValues.clear();
+
+            access.addKeyListener(new KeyListener<String>() {
+                @Override
+                public void onChange(String key) {
+                    long time = System.currentTimeMillis();
+                    JsonElement value = access.serialize(key);
+
+                    if (value == null) {
+                        keyTimes.remove(key);
+                        append(new Entry(time, name, Entry.REMOVE, key, null));
+                    } else {
+                        keyTimes.put(key, time);
+                        append(new Entry(time, name, Entry.PUT, key, value));
+                    }
+                }
+
+                @Override
+                public void onReset() {
+                    long time = System.currentTimeMillis();
+                    keyTimes.clear();
+
+                    append(new Entry(time, name, Entry.RESET, null, null));
+                    for (String key : access.keys()) {
+                        keyTimes.put(key, time);
+                        append(new Entry(time, name, Entry.PUT, key, access.serialize(key)));
+                    }
+                }
+            });
+        }
+
+        private List<Entry> snapshot() {
+            List<Entry> entries = new ArrayList<>();
+            if (lastShown != -1) entries.add(new Entry(lastShown, name, Entry.SHOWN, null, null));
+
+            for (String key : access.keys()) {
+                JsonElement value = access.serialize(key);
+                if (value == null) continue;
+
+                long time = keyTimes.getOrDefault(key, System.currentTimeMillis());
+                entries.add(new Entry(time, name, Entry.PUT, key, value));
+            }
+
+            return entries;
+        }
+    }
+
+    private interface StoreAccess {
+        Set<String> keys();
+
+        /**
+         * @return the serialized value of the key or {@code null} if the key isn't present
+         */
+        JsonElement serialize(String key);
+
+        void restore(Map<String, JsonElement> values);
+
+        void addKeyListener(KeyListener<String> listener);
+    }
+
+    private class MapAccess<V> implements StoreAccess {
+        private final MapStore<String, V> store;
+        private final Class<V> valueClass;
+
+        private MapAccess(MapStore<String, V> store, Class<V> valueClass) {
+            this.store = store;
+            this.valueClass = valueClass;
+        }
+
+        @Override
+        public Set<String> keys() {
+            return store.get().keySet();
+        }
+
+        @Override
+        public JsonElement serialize(String key) {
+            V value = store.get(key);
+            return value == null ? null : gson.toJsonTree(value, valueClass);
+        }
+
+        @Override
+        public void restore(Map<String, JsonElement> values) {
+            Map<String, V> map = new LinkedHashMap<>();
+            for (Map.Entry<String, JsonElement> entry : values.entrySet()) {
+                V value = gson.fromJson(entry.getValue(), valueClass);
+                if (value != null) map.put(entry.getKey(), value);
+            }
+
+            store.replace(map);
+        }
+
+        @Override
+        public void addKeyListener(KeyListener<String> listener) {
+            store.addKeyListener(listener);
+        }
+    }
+
+    private class SetAccess implements StoreAccess {
+        private final SetStore<String> store;
+
+        private SetAccess(SetStore<String> store) {
+            this.store = store;
+        }
+
+        @Override
+        public Set<String> keys() {
+            return store.get();
+        }
+
+        @Override
+        public JsonElement serialize(String key) {
+            return store.contains(key) ? gson.toJsonTree(true) : null;
+        }
+
+        @Override
+        public void restore(Map<String, JsonElement> values) {
+            store.addAll(values.keySet());
+        }
+
+        @Override
+        public void addKeyListener(KeyListener<String> listener) {
+            store.addKeyListener(listener);
+        }
+    }
+
+    private static class Entry {
+        private static final String PUT = "put";
+        private static final String REMOVE = "remove";
+        private static final String RESET = "reset";
+        private static final String SHOWN = "shown";
+
+        private final long time;
+        private final String store;
+        private final String op;
+        private final String key;
+        private final JsonElement value;
+
+        private Entry(long time, String store, String op, String key, JsonElement value) {
+            this.time = time;
+            this.store = store;
+            this.op = op;
+            this.key = key;
+            this.value = value;
+        }
+    }
+}
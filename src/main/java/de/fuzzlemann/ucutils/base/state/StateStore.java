@@ -0,0 +1,79 @@
+package de.fuzzlemann.ucutils.base.state;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.UnaryOperator;
+
+/**
+ * Holds an immutable snapshot of a state.
+ * <p>
+ * Readers get the current snapshot without locking and can't see partial changes. Changes are serialized and
+ * replace the snapshot as a whole; the listeners are notified in the order of the changes.
+ *
+ * @param <T> the type of the state; has to be immutable
+ * @author Fuzzlemann
+ */
+public class StateStore<T> {
+
+    private final List<StateListener<T>> listeners = new CopyOnWriteArrayList<>();
+    private volatile T snapshot;
+
+    public StateStore(T initialState) {
+        this.snapshot = initialState;
+    }
+
+    /**
+     * @return the current snapshot of the state
+     */
+    public T get() {
+        return snapshot;
+    }
+
+    /**
+     * Replaces the state with the given state.
+     *
+     * @param newState the new state
+     */
+    public void set(T newState) {
+        update(oldState -> newState);
+    }
+
+    /**
+     * Replaces the state with the state computed from the current one.
+     * When the modifier returns the current state, nothing changes and no listener is notified.
+     *
+     * @param modifier computes the new state from the current state
+     * @return the new state
+     */
+    public synchronized T update(UnaryOperator<T> modifier) {
+        T oldState = snapshot;
+        T newState = modifier.apply(oldState);
+        if (newState == oldState) return oldState;
+
+        snapshot = newState;
+
+        for (StateListener<T> listener : listeners) {
+            listener.onChange(oldState, newState);
+        }
+
+        return newState;
+    }
+
+    /**
+     * Adds a listener which is notified after every change, in the thread which changed the state.
+     *
+     * @param listener the listener
+     */
+    public void addListener(StateListener<T> listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(StateListener<T> listener) {
+        listeners.remove(listener);
+    }
+
+    @FunctionalInterface
+    public interface StateListener<T> {
+        void onChange(T oldState, T newState);
+    }
+}
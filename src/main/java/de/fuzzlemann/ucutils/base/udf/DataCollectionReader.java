@@ -0,0 +1,139 @@
+package de.fuzzlemann.ucutils.base.udf;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.internal.Streams;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import de.fuzzlemann.ucutils.common.udf.Data;
+import de.fuzzlemann.ucutils.common.udf.DataCollection;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads a {@link DataCollection} from a stream and decodes the content of every module directly into the type
+ * of its loader. Modules without a known type are skipped, modules marked as {@code removed} are read as
+ * {@link RemovedData}.
+ *
+ * @author Fuzzlemann
+ */
+class DataCollectionReader {
+
+    private final Gson gson;
+    private final Map<String, Type> moduleTypes;
+
+    DataCollectionReader(Gson gson, Map<String, Type> moduleTypes) {
+        this.gson = gson;
+        this.moduleTypes = moduleTypes;
+    }
+
+    DataCollection read(Reader in) throws IOException {
+        JsonReader reader = new JsonReader(in);
+        if (reader.peek() == JsonToken.NULL) return null;
+
+        String timestamp = null;
+        String version = null;
+        boolean authenticated = false;
+        List<Data<?>> dataList = new ArrayList<>();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "timestamp":
+                    timestamp = nextString(reader);
+                    break;
+                case "version":
+                    version = nextString(reader);
+                    break;
+                case "authenticated":
+                    authenticated = reader.nextBoolean();
+                    break;
+                case "data":
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        Data<?> data = readData(reader);
+                        if (data != null) dataList.add(data);
+                    }
+                    reader.endArray();
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        DataCollection dataCollection = new DataCollection(timestamp, version, authenticated);
+        dataCollection.setData(dataList);
+        return dataCollection;
+    }
+
+    private Data<?> readData(JsonReader reader) throws IOException {
+        String name = null;
+        int version = 0;
+        boolean permitted = false;
+        boolean removed = false;
+        Object content = null;
+        JsonElement bufferedContent = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "name":
+                    name = nextString(reader);
+                    break;
+                case "version":
+                    version = reader.nextInt();
+                    break;
+                case "permitted":
+                    permitted = reader.nextBoolean();
+                    break;
+                case "removed":
+                    removed = reader.nextBoolean();
+                    break;
+                case "content":
+                    if (name != null) {
+                        Type type = moduleTypes.get(name);
+                        if (type == null) {
+                            reader.skipValue();
+                        } else {
+                            content = gson.fromJson(reader, type);
+                        }
+                    } else {
+                        // the name normally precedes the content; if not, the content has to be buffered
+                        bufferedContent = Streams.parse(reader);
+                    }
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        if (name == null) return null;
+
+        Type type = moduleTypes.get(name);
+        if (type == null) return null;
+
+        if (removed) return new RemovedData(name, version);
+
+        if (bufferedContent != null) content = gson.fromJson(bufferedContent, type);
+
+        Data<Object> data = new Data<>(name, version, content);
+        data.setPermitted(permitted);
+        return data;
+    }
+
+    private String nextString(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+
+        return reader.nextString();
+    }
+}
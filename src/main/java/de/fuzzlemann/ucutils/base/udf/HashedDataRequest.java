@@ -0,0 +1,23 @@
+package de.fuzzlemann.ucutils.base.udf;
+
+import de.fuzzlemann.ucutils.common.udf.DataRequest;
+
+/**
+ * A {@link DataRequest} which contains the hash of the data already known by the client.
+ * The server only has to send the data of the module when its hash differs.
+ *
+ * @author Fuzzlemann
+ */
+public class HashedDataRequest extends DataRequest {
+
+    private final String hash;
+
+    public HashedDataRequest(String name, int version, String hash) {
+        super(name, version);
+        this.hash = hash;
+    }
+
+    public String getHash() {
+        return hash;
+    }
+}
@@ -0,0 +1,16 @@
+package de.fuzzlemann.ucutils.base.udf;
+
+import de.fuzzlemann.ucutils.common.udf.Data;
+
+/**
+ * The {@link Data} of a module which the server marked as removed, so the module has to be unloaded.
+ * A module without content isn't removed; its data just didn't change or isn't permitted.
+ *
+ * @author Fuzzlemann
+ */
+class RemovedData extends Data<Object> {
+
+    RemovedData(String name, int version) {
+        super(name, version, null);
+    }
+}
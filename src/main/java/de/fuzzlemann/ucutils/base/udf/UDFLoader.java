@@ -1,50 +1,42 @@
 package de.fuzzlemann.ucutils.base.udf;
 
-import com.google.gson.Gson;
-
-import java.util.ArrayList;
-import java.util.Collection;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
 
 /**
  * @author Fuzzlemann
  */
 public interface UDFLoader<T> {
 
+    /**
+     * Supplies the complete data of the module. On a reload the loader is supplied again without being cleaned up
+     * before, so the new data has to be built aside and replace the old data at once; readers must never see an
+     * empty or partially filled state.
+     *
+     * @param t the data
+     */
     void supply(T t);
 
-    default void supplyO(Object o, Class<?> expected, Class<?> collectionParameterClass) {
-        if (collectionParameterClass != null) { // workaround for gson parse failures
-            Gson gson = new Gson();
-            Collection<?> collection = (Collection<?>) reParse(o, expected);
-
-            Collection newCollection = new ArrayList<>();
-            for (Object object : collection) {
-                String objectJson = gson.toJson(object);
-                Object parsedObject = gson.fromJson(objectJson, collectionParameterClass);
-
-                newCollection.add(parsedObject);
-            }
-
-            supply((T) newCollection);
-            return;
-        }
-
-        if (o.getClass() != expected) o = reParse(o, expected);
-
-        try {
-            supply((T) o);
-        } catch (ClassCastException e) {
-            throw new IllegalStateException(e);
-        }
-    }
-
+    /**
+     * Called when the module was removed from the server and its data has to be discarded.
+     */
     default void cleanUp() {
     }
 
-    default Object reParse(Object object, Class<?> clazz) {
-        Gson gson = new Gson();
-        String json = gson.toJson(object);
+    /**
+     * Resolves the type of the data the loader is supplied with, i.e. the type argument {@code T}
+     * including its own type arguments (e.g. {@code List<House>}).
+     *
+     * @return the type of the data
+     */
+    default Type getDataType() {
+        for (Type genericInterface : getClass().getGenericInterfaces()) {
+            if (!(genericInterface instanceof ParameterizedType)) continue;
+
+            ParameterizedType parameterizedType = (ParameterizedType) genericInterface;
+            if (parameterizedType.getRawType() == UDFLoader.class) return parameterizedType.getActualTypeArguments()[0];
+        }
 
-        return gson.fromJson(json, clazz);
+        throw new IllegalStateException(getClass().getName() + " doesn't implement UDFLoader directly");
     }
 }
@@ -14,4 +14,10 @@ public @interface UDFModule {
 
     int version();
 
+    /**
+     * @return the names of the startup tasks which have to be finished before the data is fetched; data modules and
+     * initializors are referred to with their prefixes, e.g. {@code data/TeamSpeak-API}
+     */
+    String[] dependsOn() default {};
+
 }
@@ -0,0 +1,36 @@
+package de.fuzzlemann.ucutils.base.udf;
+
+import net.minecraftforge.fml.common.eventhandler.Event;
+
+/**
+ * Posted on the {@link net.minecraftforge.common.MinecraftForge#EVENT_BUS} after the data of a UDF module was
+ * supplied to its loader or removed. Only modules whose data actually changed are posted.
+ * <p>
+ * The event is posted in the thread which fetched the data, which usually isn't the client thread.
+ *
+ * @author Fuzzlemann
+ */
+public class UDFModuleUpdatedEvent extends Event {
+
+    private final String module;
+    private final boolean removed;
+
+    UDFModuleUpdatedEvent(String module, boolean removed) {
+        this.module = module;
+        this.removed = removed;
+    }
+
+    /**
+     * @return the name of the module, see {@link de.fuzzlemann.ucutils.common.udf.DataRegistry}
+     */
+    public String getModule() {
+        return module;
+    }
+
+    /**
+     * @return {@code true} if the module was removed from the server and its data was discarded
+     */
+    public boolean isRemoved() {
+        return removed;
+    }
+}
@@ -0,0 +1,260 @@
+package de.fuzzlemann.ucutils.base.udf;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+import de.fuzzlemann.ucutils.common.udf.Data;
+import de.fuzzlemann.ucutils.utils.Logger;
+
+import java.io.*;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Binary snapshot of the loaded UDF modules.
+ * <p>
+ * Layout (big endian):
+ * <pre>
+ * int     magic ("UDFS")
+ * int     format version
+ * int     module count
+ * per module: string name, int data version, boolean permitted, string hash, long offset, int length
+ * per module: the content as UTF-8 JSON, at the offset given in the table of contents
+ * </pre>
+ * Strings are stored as an int length followed by the UTF-8 bytes. The file is memory-mapped when read and the
+ * modules are decoded in parallel, each from its own section.
+ *
+ * @author Fuzzlemann
+ */
+class UDFSnapshot {
+
+    private static final int MAGIC = 0x55444653;
+    private static final int FORMAT_VERSION = 1;
+
+    private final List<Data<?>> data;
+    private final Map<String, String> hashes;
+
+    private UDFSnapshot(List<Data<?>> data, Map<String, String> hashes) {
+        this.data = data;
+        this.hashes = hashes;
+    }
+
+    List<Data<?>> getData() {
+        return data;
+    }
+
+    Map<String, String> getHashes() {
+        return hashes;
+    }
+
+    /**
+     * Reads the snapshot; modules without a type are skipped.
+     *
+     * @param file        the snapshot file
+     * @param gson        the Gson used for decoding the content
+     * @param moduleTypes the types of the module contents
+     * @return the snapshot or {@code null} if the file isn't a snapshot of the current format version
+     */
+    static UDFSnapshot read(File file, Gson gson, Map<String, Type> moduleTypes) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        List<CompletableFuture<Data<?>>> futures = new ArrayList<>();
+        try {
+            if (buffer.remaining() < 12 || buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) return null;
+
+            int moduleCount = buffer.getInt();
+            List<Section> sections = new ArrayList<>(moduleCount);
+            for (int i = 0; i < moduleCount; i++) {
+                sections.add(new Section(readString(buffer), buffer.getInt(), buffer.get() != 0, readString(buffer), buffer.getLong(), buffer.getInt()));
+            }
+
+            Map<String, String> hashes = new HashMap<>();
+            for (Section section : sections) {
+                Type type = moduleTypes.get(section.name);
+                if (type == null) continue;
+
+                futures.add(CompletableFuture.supplyAsync(() -> section.decode(buffer, gson, type)));
+                hashes.put(section.name, section.hash);
+            }
+
+            List<Data<?>> data = new ArrayList<>();
+            for (CompletableFuture<Data<?>> future : futures) {
+                data.add(future.join());
+            }
+
+            return new UDFSnapshot(data, hashes);
+        } finally {
+            // the buffer must not be unmapped while a module is still decoded from it, even if another one failed
+            try {
+                CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+            } catch (CompletionException ignored) {
+            }
+
+            unmap(buffer);
+        }
+    }
+
+    /**
+     * Writes the snapshot to a temporary file and moves it to the given file afterwards.
+     *
+     * @param file        the snapshot file
+     * @param gson        the Gson used for encoding the content
+     * @param moduleTypes the types of the module contents
+     * @param data        the data of the modules
+     * @param hashes      the hashes of the modules
+     */
+    static void write(File file, Gson gson, Map<String, Type> moduleTypes, Collection<Data<?>> data, Map<String, String> hashes) throws IOException {
+        List<Section> sections = new ArrayList<>();
+        List<byte[]> contents = new ArrayList<>();
+
+        for (Data<?> moduleData : data) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try (Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8)) {
+                gson.toJson(moduleData.getContent(), moduleTypes.get(moduleData.getName()), writer);
+            }
+
+            byte[] content = out.toByteArray();
+            String hash = hashes.getOrDefault(moduleData.getName(), "");
+
+            sections.add(new Section(moduleData.getName(), moduleData.getVersion(), moduleData.isPermitted(), hash, 0, content.length));
+            contents.add(content);
+        }
+
+        // the table of contents has a fixed size, so the offsets can be computed before it's written
+        long offset = headerSize(sections);
+        for (Section section : sections) {
+            section.offset = offset;
+            offset += section.length;
+        }
+
+        File tempFile = new File(file.getParentFile(), file.getName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(sections.size());
+
+            for (Section section : sections) {
+                writeString(out, section.name);
+                out.writeInt(section.version);
+                out.writeBoolean(section.permitted);
+                writeString(out, section.hash);
+                out.writeLong(section.offset);
+                out.writeInt(section.length);
+            }
+
+            for (byte[] content : contents) {
+                out.write(content);
+            }
+        }
+
+        Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static long headerSize(List<Section> sections) {
+        long size = 12;
+        for (Section section : sections) {
+            size += 4 + section.name.getBytes(StandardCharsets.UTF_8).length
+                    + 4 + 1
+                    + 4 + section.hash.getBytes(StandardCharsets.UTF_8).length
+                    + 8 + 4;
+        }
+
+        return size;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(DataOutputStream out, String string) throws IOException {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Releases the mapping right away; otherwise Windows refuses to replace the file until the buffer is collected.
+     */
+    private static void unmap(MappedByteBuffer buffer) {
+        try {
+            Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+            cleanerMethod.setAccessible(true);
+
+            Object cleaner = cleanerMethod.invoke(buffer);
+            if (cleaner == null) return;
+
+            Method cleanMethod = cleaner.getClass().getMethod("clean");
+            cleanMethod.setAccessible(true);
+            cleanMethod.invoke(cleaner);
+        } catch (Exception e) {
+            Logger.LOGGER.debug("Couldn't unmap the UDF snapshot: " + e);
+        }
+    }
+
+    private static class Section {
+        private final String name;
+        private final int version;
+        private final boolean permitted;
+        private final String hash;
+        private long offset;
+        private final int length;
+
+        private Section(String name, int version, boolean permitted, String hash, long offset, int length) {
+            this.name = name;
+            this.version = version;
+            this.permitted = permitted;
+            this.hash = hash;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        private Data<?> decode(ByteBuffer buffer, Gson gson, Type type) {
+            ByteBuffer slice = buffer.duplicate();
+            slice.position((int) offset);
+            slice.limit((int) offset + length);
+
+            JsonReader reader = new JsonReader(new InputStreamReader(new ByteBufferInputStream(slice.slice()), StandardCharsets.UTF_8));
+            Object content = gson.fromJson(reader, type);
+
+            Data<Object> data = new Data<>(name, version, content);
+            data.setPermitted(permitted);
+            return data;
+        }
+    }
+
+    private static class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int off, int len) {
+            if (!buffer.hasRemaining()) return -1;
+
+            int count = Math.min(len, buffer.remaining());
+            buffer.get(bytes, off, count);
+            return count;
+        }
+    }
+}
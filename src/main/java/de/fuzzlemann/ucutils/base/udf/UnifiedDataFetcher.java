@@ -1,8 +1,16 @@
 package de.fuzzlemann.ucutils.base.udf;
 
+import com.google.common.hash.Funnels;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.gson.Gson;
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonParseException;
 import com.mojang.authlib.exceptions.AuthenticationException;
 import de.fuzzlemann.ucutils.Main;
 import de.fuzzlemann.ucutils.base.abstraction.AbstractionLayer;
+import de.fuzzlemann.ucutils.base.startup.StartupProfiler;
 import de.fuzzlemann.ucutils.base.udf.exception.UDFLoadingException;
 import de.fuzzlemann.ucutils.common.udf.*;
 import de.fuzzlemann.ucutils.config.UCUtilsConfig;
@@ -12,19 +20,42 @@ import de.fuzzlemann.ucutils.utils.ReflectionUtil;
 import de.fuzzlemann.ucutils.utils.api.APIUtils;
 import de.fuzzlemann.ucutils.utils.io.JsonManager;
 import net.minecraft.client.Minecraft;
+import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.fml.common.discovery.ASMDataTable;
 
-import java.io.File;
+import java.io.*;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author Fuzzlemann
  */
 public class UnifiedDataFetcher {
 
-    private final File fallbackFile = new File(JsonManager.DIRECTORY, "udf.fallback");
+    private static final Gson GSON = new Gson();
+    private static final long DISABLED_CHECK_INTERVAL = TimeUnit.MINUTES.toMillis(1);
+
+    private final File snapshotFile = new File(JsonManager.DIRECTORY, "udf.snapshot");
+    private final File legacyFallbackFile = new File(JsonManager.DIRECTORY, "udf.fallback");
+    private final File legacyHashFile = new File(JsonManager.DIRECTORY, "udf.hashes");
     private final Map<String, UDFLoader<?>> namesToLoaders = new HashMap<>();
     private final Map<UDFModule, UDFLoader<?>> udfLoaders = new HashMap<>();
+    private final Map<String, Data<?>> loadedData = new LinkedHashMap<>();
+    private final Map<String, String> moduleHashes = new HashMap<>();
+    private final Map<String, Type> moduleTypes = new HashMap<>();
+    private final DataCollectionReader dataCollectionReader = new DataCollectionReader(GSON, moduleTypes);
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+            .setNameFormat("UCUtils-UDFRefresh")
+            .setDaemon(true)
+            .build());
+
+    private final Set<String> dependencies = new LinkedHashSet<>();
 
     public UnifiedDataFetcher(ASMDataTable asmDataTable) {
         Set<ASMDataTable.ASMData> asmDataSet = asmDataTable.getAll(UDFModule.class.getCanonicalName());
@@ -38,45 +69,168 @@ public class UnifiedDataFetcher {
 
                 udfLoaders.put(udfModule, dataLoader);
                 namesToLoaders.put(udfModule.value(), dataLoader);
+                moduleTypes.put(udfModule.value(), dataLoader.getDataType());
+                dependencies.addAll(Arrays.asList(udfModule.dependsOn()));
             } catch (ClassNotFoundException | IllegalAccessException | InstantiationException e) {
                 throw new IllegalStateException(e); // should not happen
             }
         }
     }
 
+    /**
+     * @return the names of the startup tasks the modules depend on
+     */
+    public Set<String> getDependencies() {
+        return Collections.unmodifiableSet(dependencies);
+    }
+
+    /**
+     * Fetches the data again; only the modules whose data changed are supplied again.
+     */
     public void reload() {
-        for (UDFLoader<?> udfLoader : udfLoaders.values()) {
-            udfLoader.cleanUp();
+        load();
+    }
+
+    /**
+     * Supplies the data of the snapshot (if nothing is loaded yet) and fetches the modules which changed since.
+     */
+    public synchronized void load() {
+        if (loadedData.isEmpty()) {
+            try (StartupProfiler.Section ignored = StartupProfiler.begin("udf/snapshot")) {
+                fallbackLoading();
+            }
         }
 
-        load();
+        try (StartupProfiler.Section section = StartupProfiler.begin("udf/fetch")) {
+            try {
+                fetch();
+            } catch (Exception e) {
+                section.markFailed();
+                Logger.LOGGER.info("UDF fetch failed, using the fallback data: " + e.getMessage());
+            }
+        }
     }
 
-    public void load() {
-        try {
-            fetch();
-        } catch (Exception e) {
-            fallbackLoading();
+    /**
+     * Starts refreshing the data in the background. The interval is read from {@link UCUtilsConfig#dataRefreshInterval}
+     * before every refresh and is randomized by up to a fifth, so not all clients fetch at the same time.
+     */
+    public void startScheduledRefresh() {
+        scheduleRefresh();
+    }
+
+    private void scheduleRefresh() {
+        long interval = TimeUnit.MINUTES.toMillis(UCUtilsConfig.dataRefreshInterval);
+        if (interval <= 0) {
+            scheduler.schedule(this::scheduleRefresh, DISABLED_CHECK_INTERVAL, TimeUnit.MILLISECONDS);
+            return;
         }
+
+        long jitter = interval / 5;
+        long delay = interval + ThreadLocalRandom.current().nextLong(-jitter, jitter + 1);
+
+        scheduler.schedule(() -> {
+            try {
+                if (Main.MINECRAFT.player != null && UCUtilsConfig.dataRefreshInterval > 0) load();
+            } finally {
+                scheduleRefresh();
+            }
+        }, delay, TimeUnit.MILLISECONDS);
     }
 
     private void fetch() throws UDFLoadingException {
-        DataCollection dataCollection = sendUDFRequest();
+        DataCollection dataCollection;
+        try (StartupProfiler.Section ignored = StartupProfiler.begin("udf/request")) {
+            dataCollection = sendUDFRequest();
+        }
+
         if (dataCollection == null) throw new UDFLoadingException("response == null");
 
-        save(dataCollection);
-        distributeDataCollection(dataCollection);
+        if (dataCollection.getData() == null) throw new UDFLoadingException("data == null");
+
+        List<Data<?>> changedData = new ArrayList<>();
+        boolean unloaded = false;
+        for (Data<?> data : dataCollection.getData()) {
+            if (!namesToLoaders.containsKey(data.getName())) continue;
+
+            if (data instanceof RemovedData) {
+                unloaded |= unload(data.getName());
+                continue;
+            }
+
+            // the content is left out when it didn't change or isn't permitted
+            if (data.getContent() == null) continue;
+
+            // servers without support for the hashes send every module, so the hashes are compared here as well
+            if (hash(data).equals(moduleHashes.get(data.getName()))) continue;
+
+            changedData.add(data);
+        }
+
+        Logger.LOGGER.info("UDF: " + changedData.size() + " of " + udfLoaders.size() + " modules changed");
+        if (changedData.isEmpty() && !unloaded) return;
+
+        distributeData(changedData, true);
+        save();
     }
 
     private void fallbackLoading() {
-        if (!fallbackFile.exists()) return;
+        if (!snapshotFile.exists()) {
+            migrateLegacyFallback();
+            return;
+        }
+
+        UDFSnapshot snapshot;
+        try {
+            snapshot = UDFSnapshot.read(snapshotFile, GSON, moduleTypes);
+        } catch (IOException | RuntimeException e) {
+            Logger.LOGGER.catching(e);
+            return;
+        }
 
-        DataCollection dataCollection = JsonManager.loadObject(fallbackFile, DataCollection.class);
-        distributeDataCollection(dataCollection);
+        if (snapshot == null) return;
+
+        moduleHashes.putAll(snapshot.getHashes());
+        distributeData(snapshot.getData(), false);
     }
 
-    private void save(DataCollection dataCollection) {
-        JsonManager.writeObject(fallbackFile, dataCollection);
+    /**
+     * Loads the JSON fallback of older versions once and replaces it with the snapshot.
+     */
+    private void migrateLegacyFallback() {
+        if (!legacyFallbackFile.exists()) return;
+
+        DataCollection dataCollection;
+        try (Reader reader = Files.newBufferedReader(legacyFallbackFile.toPath(), StandardCharsets.UTF_8)) {
+            dataCollection = dataCollectionReader.read(reader);
+        } catch (IOException | JsonParseException e) {
+            Logger.LOGGER.catching(e);
+            return;
+        }
+
+        if (dataCollection == null || dataCollection.getData() == null) return;
+
+        if (legacyHashFile.exists()) {
+            Map<String, String> storedHashes = JsonManager.loadObject(legacyHashFile, HashMap.class);
+            if (storedHashes != null) moduleHashes.putAll(storedHashes);
+        }
+
+        distributeData(dataCollection.getData(), false);
+
+        if (save()) {
+            legacyFallbackFile.delete();
+            legacyHashFile.delete();
+        }
+    }
+
+    private boolean save() {
+        try {
+            UDFSnapshot.write(snapshotFile, GSON, moduleTypes, loadedData.values(), moduleHashes);
+            return true;
+        } catch (IOException | JsonIOException e) {
+            Logger.LOGGER.catching(e);
+            return false;
+        }
     }
 
     private DataCollection sendUDFRequest() {
@@ -84,34 +238,72 @@ public class UnifiedDataFetcher {
         List<DataRequest> dataRequestList = new ArrayList<>();
 
         for (UDFModule udfModule : udfLoaders.keySet()) {
-            DataRequest dataRequest = new DataRequest(udfModule.value(), udfModule.version());
+            DataRequest dataRequest = new HashedDataRequest(udfModule.value(), udfModule.version(), moduleHashes.get(udfModule.value()));
             dataRequestList.add(dataRequest);
         }
 
         UDFRequest udfRequest = new UDFRequest(authHash, UCUtilsConfig.apiKey, dataRequestList);
 
-        return APIUtils.post(DataCollection.class, "http://tomcat.fuzzlemann.de/factiononline/api/fetchData", "udfRequest", udfRequest);
+        return APIUtils.postStreaming(dataCollectionReader::read, "http://tomcat.fuzzlemann.de/factiononline/api/fetchData", "udfRequest", udfRequest);
     }
 
-    private void distributeDataCollection(DataCollection dataCollection) {
-        for (Data<?> data : dataCollection.getData()) {
+    /**
+     * Supplies the data to the loaders.
+     *
+     * @param dataList the data of the modules
+     * @param replace  {@code true} if the data replaces data that was already loaded
+     */
+    private void distributeData(List<Data<?>> dataList, boolean replace) {
+        for (Data<?> data : dataList) {
             UDFLoader<?> udfLoader = namesToLoaders.get(data.getName());
-            Class<?> clazz = ReflectionUtil.getGenericParameter(udfLoader.getClass(), 0, 0);
-            Class<?> collectionParameterClass = null;
+            if (udfLoader == null) continue;
 
-            if (clazz == null) {
-                Map.Entry<Class<?>, Class<?>> collectionAndCollectionParameter = ReflectionUtil.getCollectionAndCollectionParameter(udfLoader.getClass(), 0, 0);
-                if (collectionAndCollectionParameter == null) throw new IllegalStateException(); // should not happen
+            Object content = data.getContent();
+            if (content == null) continue;
 
-                clazz = collectionAndCollectionParameter.getKey();
-                collectionParameterClass = collectionAndCollectionParameter.getValue();
+            try (StartupProfiler.Section ignored = StartupProfiler.begin("udf/supply/" + data.getName())) {
+                supply(udfLoader, content);
             }
 
-            Object content = data.getContent();
-            if (content == null) continue;
+            loadedData.put(data.getName(), data);
+            if (replace || !moduleHashes.containsKey(data.getName())) moduleHashes.put(data.getName(), hash(data));
+
+            MinecraftForge.EVENT_BUS.post(new UDFModuleUpdatedEvent(data.getName(), false));
+        }
+    }
+
+    /**
+     * The content was decoded into the data type of the loader, so it has the type the loader expects.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> void supply(UDFLoader<T> udfLoader, Object content) {
+        udfLoader.supply((T) content);
+    }
+
+    private boolean unload(String name) {
+        if (loadedData.remove(name) == null) return false;
 
-            udfLoader.supplyO(content, clazz, collectionParameterClass);
+        moduleHashes.remove(name);
+        namesToLoaders.get(name).cleanUp();
+        MinecraftForge.EVENT_BUS.post(new UDFModuleUpdatedEvent(name, true));
+        return true;
+    }
+
+    /**
+     * Hashes the version and the JSON of the content, separated by a colon. The JSON is serialized directly into
+     * the digest, so it isn't built as string.
+     */
+    private String hash(Data<?> data) {
+        Hasher hasher = Hashing.sha256().newHasher();
+
+        try (Writer writer = new OutputStreamWriter(Funnels.asOutputStream(hasher), StandardCharsets.UTF_8)) {
+            writer.write(data.getVersion() + ":");
+            GSON.toJson(data.getContent(), writer);
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // should not happen
         }
+
+        return hasher.hash().toString();
     }
 
     private AuthHash getAuthHash() {
@@ -1,7 +1,12 @@
 package de.fuzzlemann.ucutils.checks;
 
 import com.google.common.reflect.TypeToken;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
 import de.fuzzlemann.ucutils.common.BroadcastMessage;
 import de.fuzzlemann.ucutils.utils.Logger;
 import de.fuzzlemann.ucutils.base.abstraction.AbstractionLayer;
@@ -14,52 +19,111 @@ import de.fuzzlemann.ucutils.utils.sound.SoundUtil;
 import de.fuzzlemann.ucutils.base.text.TextUtils;
 import net.minecraft.util.SoundEvent;
 
+import java.lang.reflect.Type;
 import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 /**
+ * Receives the broadcasts by long polling.
+ * <p>
+ * The request carries the ID of the last broadcast received, and the server holds it for up to {@value #WAIT_SECONDS}
+ * seconds until a newer broadcast arrives, so a broadcast is received almost immediately. After a held request the
+ * next one is sent right away. A server which echoes the wait time, i.e. answers with
+ * {@code {"wait": 15, "broadcasts": [...]}}, holds the requests; a server which answers with the plain list well
+ * before the wait time without a new broadcast doesn't, so it's polled every {@value #POLL_INTERVAL_SECONDS} seconds
+ * instead. Failed requests are retried with an increasing delay.
+ *
  * @author Fuzzlemann
  */
-@Initializor(value = "broadcastMessage", initMode = InitMode.DEFAULT)
+@Initializor(value = "broadcastMessage", initMode = InitMode.DEFAULT, mainThread = false)
 public class BroadcastMessageChecker implements IInitializor {
 
-    private final Timer timer = new Timer();
+    // below the socket timeout of the API requests
+    private static final int WAIT_SECONDS = 15;
+    private static final int POLL_INTERVAL_SECONDS = 30;
+    // a server which holds the requests answers after the whole wait time unless there's a new broadcast
+    private static final long MIN_HELD_TIME = TimeUnit.SECONDS.toMillis(WAIT_SECONDS) / 2;
+    private static final long MIN_BACKOFF = TimeUnit.SECONDS.toMillis(30);
+    private static final long MAX_BACKOFF = TimeUnit.MINUTES.toMillis(10);
+    private static final int MAX_REMEMBERED_BROADCASTS = 256;
+    private static final Type BROADCAST_LIST_TYPE = new TypeToken<List<BroadcastMessage>>() {
+    }.getType();
+
+    // the polling thread blocks while the server holds the request, so the broadcasts are shown by the second one
+    private final ScheduledExecutorService executor = Executors.newScheduledThreadPool(2, new ThreadFactoryBuilder()
+            .setNameFormat("UCUtils-Broadcasts-%d")
+            .setDaemon(true)
+            .build());
     private final Gson gson = new Gson();
-    private final List<Integer> receivedBroadcasts = new ArrayList<>();
+    private final Set<Integer> receivedBroadcasts = Collections.newSetFromMap(new LinkedHashMap<Integer, Boolean>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, Boolean> eldest) {
+            return size() > MAX_REMEMBERED_BROADCASTS;
+        }
+    });
+    private int lastID = -1;
+    private long backoff;
 
     @Override
     public void init() {
-        timer.scheduleAtFixedRate(new TimerTask() {
-            @Override
-            public void run() {
-                checkForBroadcasts();
-            }
-        }, TimeUnit.SECONDS.toMillis(30), TimeUnit.SECONDS.toMillis(30));
+        executor.schedule(this::checkForBroadcasts, POLL_INTERVAL_SECONDS, TimeUnit.SECONDS);
     }
 
     private void checkForBroadcasts() {
+        long delay;
         try {
-            String response = APIUtils.post("http://tomcat.fuzzlemann.de/factiononline/checkForBroadcasts",
-                    "name", AbstractionLayer.getPlayer().getName());
-            List<BroadcastMessage> broadcasts = gson.fromJson(response, new TypeToken<List<BroadcastMessage>>() {
-            }.getType());
-
-            for (BroadcastMessage broadcast : broadcasts) {
-                if (broadcast.getTime() < System.currentTimeMillis()) continue;
-                if (receivedBroadcasts.contains(broadcast.getID())) continue;
-                receivedBroadcasts.add(broadcast.getID());
-
-                timer.schedule(new TimerTask() {
-                    @Override
-                    public void run() {
-                        processBroadcast(broadcast);
-                    }
-                }, new Date(broadcast.getTime()));
-            }
+            delay = poll();
+            backoff = 0;
         } catch (Exception e) {
-            e.printStackTrace();
-            Logger.LOGGER.error(e);
+            Logger.LOGGER.catching(e);
+
+            backoff = backoff == 0 ? MIN_BACKOFF : Math.min(backoff * 2, MAX_BACKOFF);
+            delay = backoff;
+        }
+
+        executor.schedule(this::checkForBroadcasts, delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return the delay until the next request in milliseconds
+     */
+    private long poll() {
+        long start = System.currentTimeMillis();
+        String response = APIUtils.post("http://tomcat.fuzzlemann.de/factiononline/checkForBroadcasts",
+                "name", AbstractionLayer.getPlayer().getName(),
+                "lastID", String.valueOf(lastID),
+                "wait", String.valueOf(WAIT_SECONDS));
+        long elapsed = System.currentTimeMillis() - start;
+
+        if (response == null) throw new IllegalStateException("no response while checking for broadcasts");
+
+        JsonElement element = new JsonParser().parse(response);
+        boolean held = elapsed >= MIN_HELD_TIME;
+        if (element.isJsonObject()) {
+            JsonObject object = element.getAsJsonObject();
+            held |= object.has("wait") && object.get("wait").getAsInt() > 0;
+            element = object.get("broadcasts");
+        }
+
+        List<BroadcastMessage> broadcasts = element == null ? null : gson.fromJson(element, BROADCAST_LIST_TYPE);
+        if (broadcasts == null) throw new JsonParseException("invalid response while checking for broadcasts: " + response);
+
+        boolean received = false;
+        for (BroadcastMessage broadcast : broadcasts) {
+            lastID = Math.max(lastID, broadcast.getID());
+
+            if (broadcast.getTime() < System.currentTimeMillis()) continue;
+            if (!receivedBroadcasts.add(broadcast.getID())) continue;
+
+            received = true;
+            executor.schedule(() -> processBroadcast(broadcast), broadcast.getTime() - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
         }
+
+        if (received || held) return 0;
+
+        return TimeUnit.SECONDS.toMillis(POLL_INTERVAL_SECONDS);
     }
 
     private void processBroadcast(BroadcastMessage broadcastMessage) {
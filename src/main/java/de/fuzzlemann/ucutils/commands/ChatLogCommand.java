@@ -0,0 +1,178 @@
+package de.fuzzlemann.ucutils.commands;
+
+import de.fuzzlemann.ucutils.base.abstraction.UPlayer;
+import de.fuzzlemann.ucutils.base.command.Command;
+import de.fuzzlemann.ucutils.base.command.CommandParam;
+import de.fuzzlemann.ucutils.base.command.TabCompletion;
+import de.fuzzlemann.ucutils.base.text.Message;
+import de.fuzzlemann.ucutils.base.text.TextUtils;
+import de.fuzzlemann.ucutils.utils.Logger;
+import de.fuzzlemann.ucutils.utils.chatlog.ChatEventLog;
+import de.fuzzlemann.ucutils.utils.chatlog.ChatEventReplay;
+import de.fuzzlemann.ucutils.utils.chatlog.ChatLogIndex;
+import de.fuzzlemann.ucutils.utils.chatlog.ChatLogger;
+import net.minecraft.util.text.TextFormatting;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * @author Fuzzlemann
+ */
+@SideOnly(Side.CLIENT)
+public class ChatLogCommand implements TabCompletion {
+
+    private static final int MAX_RESULTS = 15;
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm:ss").withZone(ZoneId.systemDefault());
+
+    @Command(value = "chatlog", usage = "/%label% [search [Begriffe] [--from Datum] [--to Datum] [--player Spieler]|replay [Datei]]", async = true)
+    public boolean onCommand(String action, @CommandParam(joinStart = true) String arguments) {
+        if (action.equalsIgnoreCase("replay")) {
+            replay(arguments);
+            return true;
+        }
+
+        if (!action.equalsIgnoreCase("search")) return false;
+
+        ChatLogger chatLogger = ChatLogger.instance;
+        if (chatLogger == null) {
+            TextUtils.error("Der Chatlog ist deaktiviert.");
+            return true;
+        }
+
+        StringJoiner query = new StringJoiner(" ");
+        String player = null;
+        long from = Long.MIN_VALUE;
+        long to = Long.MAX_VALUE;
+
+        String[] args = arguments.split(" ");
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String arg = args[i];
+                boolean hasValue = i + 1 < args.length;
+
+                if (arg.equalsIgnoreCase("--from") && hasValue) {
+                    from = parseDate(args[++i]).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+                } else if (arg.equalsIgnoreCase("--to") && hasValue) {
+                    to = parseDate(args[++i]).plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli() - 1;
+                } else if (arg.equalsIgnoreCase("--player") && hasValue) {
+                    player = args[++i];
+                } else {
+                    query.add(arg);
+                }
+            }
+        } catch (DateTimeParseException e) {
+            TextUtils.error("Das Datum muss im Format TT.MM.JJJJ angegeben werden.");
+            return true;
+        }
+
+        long start = System.nanoTime();
+        ChatLogIndex.SearchResult result;
+        try {
+            result = chatLogger.getIndex().search(query.toString(), player, from, to, MAX_RESULTS);
+        } catch (IllegalArgumentException e) {
+            TextUtils.error("Du musst mindestens einen Begriff oder einen Spieler angeben.");
+            return true;
+        } catch (IOException e) {
+            Logger.LOGGER.catching(e);
+            TextUtils.error("Beim Durchsuchen des Chatlogs ist ein Fehler aufgetreten.");
+            return true;
+        }
+
+        long duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        List<ChatLogIndex.Hit> hits = result.getHits();
+        Collections.reverse(hits);
+
+        Message.Builder builder = Message.builder()
+                .prefix()
+                .of("Chatlog: ").color(TextFormatting.GRAY).advance()
+                .of(String.valueOf(result.getTotal())).color(TextFormatting.BLUE).advance()
+                .of(" Treffer (" + duration + " ms)").color(TextFormatting.GRAY).advance();
+
+        if (!hits.isEmpty()) {
+            builder.newLine()
+                    .joiner(hits)
+                    .consumer((b, hit) -> b.of("  * ").color(TextFormatting.DARK_GRAY).advance()
+                            .of(TIME_FORMATTER.format(Instant.ofEpochMilli(hit.getTime()))).color(TextFormatting.BLUE).advance()
+                            .of(" | ").color(TextFormatting.DARK_GRAY).advance()
+                            .of(hit.getLine()).color(TextFormatting.GRAY).advance())
+                    .newLineJoiner()
+                    .advance();
+        }
+
+        if (result.getTotal() > hits.size()) {
+            builder.newLine()
+                    .info()
+                    .of("Es werden nur die " + hits.size() + " neuesten Treffer angezeigt.").color(TextFormatting.GRAY).advance();
+        }
+
+        builder.send();
+        return true;
+    }
+
+    private void replay(String fileName) {
+        File file = new File(ChatLogger.DIRECTORY, fileName);
+        if (!ChatEventLog.getFiles().contains(file)) {
+            TextUtils.error("Die Datei " + fileName + " wurde nicht gefunden.");
+            return;
+        }
+
+        TextUtils.simpleMessage("Der Chat aus " + fileName + " wird abgespielt...");
+
+        ChatEventReplay.Result result;
+        try {
+            result = ChatEventReplay.replay(file);
+        } catch (IOException e) {
+            Logger.LOGGER.catching(e);
+            TextUtils.error("Die Datei " + fileName + " konnte nicht gelesen werden.");
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        Message.builder()
+                .prefix()
+                .of(String.valueOf(result.getLines())).color(TextFormatting.BLUE).advance()
+                .of(" Zeilen wurden in ").color(TextFormatting.GRAY).advance()
+                .of(TimeUnit.NANOSECONDS.toMillis(result.getDuration()) + " ms").color(TextFormatting.BLUE).advance()
+                .of(" abgespielt, bei ").color(TextFormatting.GRAY).advance()
+                .of(String.valueOf(result.getDeviations())).color(TextFormatting.BLUE).advance()
+                .of(" passen andere Regeln als aufgezeichnet.").color(TextFormatting.GRAY).advance()
+                .send();
+    }
+
+    private LocalDate parseDate(String date) {
+        return LocalDate.parse(date, DATE_FORMATTER);
+    }
+
+    @Override
+    public List<String> getTabCompletions(UPlayer p, String[] args) {
+        if (args.length == 1) return Arrays.asList("search", "replay");
+        if (args[0].equalsIgnoreCase("replay")) {
+            return ChatEventLog.getFiles().stream()
+                    .map(File::getName)
+                    .collect(Collectors.toList());
+        }
+
+        if (args.length > 2 && !args[args.length - 2].equalsIgnoreCase("--player"))
+            return Arrays.asList("--from", "--to", "--player");
+
+        return null;
+    }
+}
@@ -0,0 +1,84 @@
+package de.fuzzlemann.ucutils.commands;
+
+import de.fuzzlemann.ucutils.base.abstraction.UPlayer;
+import de.fuzzlemann.ucutils.base.command.Command;
+import de.fuzzlemann.ucutils.base.command.CommandParam;
+import de.fuzzlemann.ucutils.base.command.TabCompletion;
+import de.fuzzlemann.ucutils.base.text.Message;
+import de.fuzzlemann.ucutils.base.text.MessagePart;
+import de.fuzzlemann.ucutils.base.text.TextUtils;
+import de.fuzzlemann.ucutils.utils.api.Outbox;
+import net.minecraft.util.text.TextFormatting;
+import net.minecraft.util.text.event.HoverEvent;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Fuzzlemann
+ */
+@SideOnly(Side.CLIENT)
+public class OutboxCommand implements TabCompletion {
+
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm:ss").withZone(ZoneId.systemDefault());
+
+    @Command(value = "outbox", usage = "/%label% [retry]")
+    public boolean onCommand(@CommandParam(required = false, defaultValue = CommandParam.NULL) String action) {
+        if (action != null) {
+            if (!action.equalsIgnoreCase("retry")) return false;
+
+            Outbox.retryNow();
+            TextUtils.simpleMessage("Die ausstehenden Übertragungen werden erneut gesendet.");
+            return true;
+        }
+
+        List<Outbox.Status> statusList = Outbox.getStatus();
+        if (statusList.isEmpty()) {
+            TextUtils.simpleMessage("Es gibt keine ausstehenden Übertragungen.");
+            return true;
+        }
+
+        long now = System.currentTimeMillis();
+        Message.builder()
+                .prefix()
+                .of("Ausstehende Übertragungen: ").color(TextFormatting.GRAY).advance()
+                .of(String.valueOf(statusList.size())).color(TextFormatting.BLUE).advance()
+                .newLine()
+                .joiner(statusList)
+                .consumer((b, status) -> {
+                    b.of("  * ").color(TextFormatting.DARK_GRAY).advance()
+                            .of(status.getDescription() == null ? status.getUrl() : status.getDescription()).color(TextFormatting.BLUE)
+                            .hoverEvent(HoverEvent.Action.SHOW_TEXT, MessagePart.simple(status.getUrl(), TextFormatting.DARK_AQUA))
+                            .advance()
+                            .of(" vom " + TIME_FORMATTER.format(Instant.ofEpochMilli(status.getCreated()))).color(TextFormatting.GRAY).advance();
+
+                    if (status.getAttempts() == 0) {
+                        b.of(" | noch nicht gesendet").color(TextFormatting.GRAY).advance();
+                        return;
+                    }
+
+                    long seconds = Math.max(0, TimeUnit.MILLISECONDS.toSeconds(status.getNextAttempt() - now));
+                    b.of(" | " + status.getAttempts() + " Fehlversuche, nächster Versuch in " + seconds + "s").color(TextFormatting.RED)
+                            .hoverEvent(HoverEvent.Action.SHOW_TEXT, MessagePart.simple(status.getLastError(), TextFormatting.RED))
+                            .advance();
+                })
+                .newLineJoiner()
+                .advance()
+                .send();
+
+        return true;
+    }
+
+    @Override
+    public List<String> getTabCompletions(UPlayer p, String[] args) {
+        if (args.length == 1) return Collections.singletonList("retry");
+
+        return null;
+    }
+}
@@ -7,6 +7,7 @@ import de.fuzzlemann.ucutils.base.abstraction.UPlayer;
 import de.fuzzlemann.ucutils.base.command.Command;
 import de.fuzzlemann.ucutils.base.command.CommandParam;
 import de.fuzzlemann.ucutils.base.command.TabCompletion;
+import de.fuzzlemann.ucutils.base.startup.StartupProfiler;
 import de.fuzzlemann.ucutils.base.text.Message;
 import de.fuzzlemann.ucutils.base.text.MessagePart;
 import de.fuzzlemann.ucutils.base.text.TextUtils;
@@ -21,8 +22,10 @@ import net.minecraft.util.text.event.HoverEvent;
 
 import java.text.SimpleDateFormat;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author Fuzzlemann
@@ -36,7 +39,8 @@ public class UCUtilsCommand implements TabCompletion {
 
     @Command("ucutils")
     public boolean onCommand(@CommandParam(required = false, requiredValue = "teamSpeakReconnect") boolean teamSpeakReconnect,
-                             @CommandParam(required = false, requiredValue = "resetAccount") boolean resetAccount) {
+                             @CommandParam(required = false, requiredValue = "resetAccount") boolean resetAccount,
+                             @CommandParam(required = false, requiredValue = "startup") boolean startup) {
         if (teamSpeakReconnect) {
             try {
                 TSClientQuery.reconnect();
@@ -54,6 +58,11 @@ public class UCUtilsCommand implements TabCompletion {
             return true;
         }
 
+        if (startup) {
+            sendStartupReport();
+            return true;
+        }
+
         Message.Builder builder = Message.builder()
                 .prefix()
                 .of("UCUtils ").color(TextFormatting.GRAY).advance()
@@ -106,9 +115,42 @@ public class UCUtilsCommand implements TabCompletion {
         return true;
     }
 
+    private void sendStartupReport() {
+        long startupDuration = StartupProfiler.getStartupDuration();
+        if (startupDuration == -1) {
+            TextUtils.error("Der Start von UCUtils ist noch nicht abgeschlossen.");
+            return;
+        }
+
+        StartupProfiler.writeReport();
+
+        List<StartupProfiler.Record> records = StartupProfiler.getStartupRecords();
+        records.sort(Comparator.comparingLong(StartupProfiler.Record::getWallTime).reversed());
+
+        Message.builder()
+                .prefix()
+                .of("Start von UCUtils: ").color(TextFormatting.GRAY).advance()
+                .of(TimeUnit.NANOSECONDS.toMillis(startupDuration) + " ms").color(TextFormatting.BLUE).advance()
+                .newLine()
+                .joiner(records.subList(0, Math.min(10, records.size())))
+                .consumer((b, record) -> b.of("  * ").color(TextFormatting.DARK_GRAY).advance()
+                        .of(record.getName()).color(TextFormatting.GRAY).advance()
+                        .of(": ").color(TextFormatting.DARK_GRAY).advance()
+                        .of(TimeUnit.NANOSECONDS.toMillis(record.getWallTime()) + " ms").color(TextFormatting.BLUE).advance())
+                .newLineJoiner()
+                .advance()
+                .newLine()
+                .prefix()
+                .of("Vollständiger Bericht").color(TextFormatting.GRAY).underlined()
+                .clickEvent(ClickEvent.Action.OPEN_FILE, StartupProfiler.REPORT_FILE.getAbsolutePath())
+                .hoverEvent(HoverEvent.Action.SHOW_TEXT, MessagePart.simple("Bericht öffnen", TextFormatting.GRAY))
+                .advance()
+                .send();
+    }
+
     @Override
     public List<String> getTabCompletions(UPlayer p, String[] args) {
-        if (args.length == 1) return Arrays.asList("teamSpeakReconnect", "resetAccount");
+        if (args.length == 1) return Arrays.asList("teamSpeakReconnect", "resetAccount", "startup");
 
         return null;
     }
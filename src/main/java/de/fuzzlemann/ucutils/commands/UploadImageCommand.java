@@ -2,6 +2,7 @@ package de.fuzzlemann.ucutils.commands;
 
 import de.fuzzlemann.ucutils.base.command.Command;
 import de.fuzzlemann.ucutils.utils.image.ImageUploader;
+import de.fuzzlemann.ucutils.utils.image.UploadProgressDisplay;
 import de.fuzzlemann.ucutils.base.text.Message;
 import net.minecraft.util.text.TextFormatting;
 
@@ -17,7 +18,7 @@ public class UploadImageCommand {
 
     @Command(value = "uploadimage", async = true)
     public boolean onCommand(File file) {
-        String link = ImageUploader.uploadToLink(file);
+        String link = ImageUploader.uploadToLink(file, new UploadProgressDisplay("Das Bild"));
 
         StringSelection stringSelection = new StringSelection(link);
         Clipboard clipboard = Toolkit.getDefaultToolkit().getSystemClipboard();
@@ -3,6 +3,7 @@ package de.fuzzlemann.ucutils.commands.faction;
 import de.fuzzlemann.ucutils.activitytest.ActivityTestHandler;
 import de.fuzzlemann.ucutils.base.abstraction.AbstractionLayer;
 import de.fuzzlemann.ucutils.base.abstraction.UPlayer;
+import de.fuzzlemann.ucutils.base.chat.ChatWorker;
 import de.fuzzlemann.ucutils.base.command.Command;
 import de.fuzzlemann.ucutils.base.command.CommandParam;
 import de.fuzzlemann.ucutils.base.command.ParameterParser;
@@ -12,7 +13,6 @@ import de.fuzzlemann.ucutils.base.text.MessagePart;
 import de.fuzzlemann.ucutils.base.text.TextUtils;
 import de.fuzzlemann.ucutils.common.activity.ActivityTestType;
 import de.fuzzlemann.ucutils.common.udf.data.misc.navipoint.CustomNaviPoint;
-import de.fuzzlemann.ucutils.utils.ForgeUtils;
 import de.fuzzlemann.ucutils.utils.location.navigation.NavigationUtil;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.text.ITextComponent;
@@ -27,7 +27,6 @@ import net.minecraftforge.fml.relauncher.SideOnly;
 import org.apache.commons.lang3.ObjectUtils;
 
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -70,41 +69,44 @@ public class CallReinforcementCommand implements TabCompletion {
 
             boolean dChat = siblings.get(0).getStyle().getColor() == TextFormatting.RED && siblings.get(2).getStyle().getColor() == TextFormatting.RED;
 
-            Message.Builder builder = Message.builder();
-
-            if (lastReinforcement != null && name.equals(lastReinforcement.getIssuer()) && System.currentTimeMillis() - lastReinforcement.getTime() < 1000) {
-                builder.of(lastReinforcement.getType().getMessage()).color(TextFormatting.RED).advance().space();
-            }
-
-            CustomNaviPoint nearestNaviPoint = ForgeUtils.getNearestObject(new BlockPos(posX, posY, posZ), NavigationUtil.NAVI_POINTS, CustomNaviPoint::getX, CustomNaviPoint::getY, CustomNaviPoint::getZ).getValue();
-            if (nearestNaviPoint == null)
-                nearestNaviPoint = new CustomNaviPoint(Collections.singletonList("n/a"), 0, 0, 0); // fix for instances where the webserver is not available
-
-            Message hover = Message.builder()
-                    .of("X: ").color(TextFormatting.GRAY).advance()
-                    .of(String.valueOf(posX)).color(TextFormatting.BLUE).advance()
-                    .space()
-                    .of("Y: ").color(TextFormatting.GRAY).advance()
-                    .of(String.valueOf(posY)).color(TextFormatting.BLUE).advance()
-                    .space()
-                    .of("Z: ").color(TextFormatting.GRAY).advance()
-                    .of(String.valueOf(posZ)).color(TextFormatting.BLUE).advance()
-                    .build();
-
-            builder.of(fullName).color(TextFormatting.DARK_GREEN).advance()
-                    .of(" benötigt Unterstützung in der Nähe von " + nearestNaviPoint.getNames().get(0) + "! (" + distance + " Meter entfernt)")
-                    .hoverEvent(HoverEvent.Action.SHOW_TEXT, hover)
-                    .color(TextFormatting.GREEN).advance()
-                    .newLine()
-                    .messageParts(NavigationUtil.getNavigationMessage(posX, posY, posZ).getMessageParts())
-                    .of(" | ").color(TextFormatting.GRAY).advance()
-                    .of("Unterwegs")
-                    .hoverEvent(HoverEvent.Action.SHOW_TEXT, MessagePart.simple("Bescheid geben, dass man unterwegs ist", TextFormatting.RED))
-                    .clickEvent(ClickEvent.Action.RUN_COMMAND, "/reinforcement ontheway " + name + " " + posX + " " + posY + " " + posZ + (dChat ? " -d" : ""))
-                    .color(TextFormatting.RED).advance()
-                    .send();
-
-            e.setCanceled(true);
+            ReinforcementType reinforcementType = lastReinforcement != null && name.equals(lastReinforcement.getIssuer()) && System.currentTimeMillis() - lastReinforcement.getTime() < 1000
+                    ? lastReinforcement
+                    : null;
+
+            ChatWorker.replace(e, () -> {
+                Message.Builder builder = Message.builder();
+
+                if (reinforcementType != null) {
+                    builder.of(reinforcementType.getType().getMessage()).color(TextFormatting.RED).advance().space();
+                }
+
+                CustomNaviPoint nearestNaviPoint = NavigationUtil.getNearestNaviPoint(posX, posY, posZ);
+
+                Message hover = Message.builder()
+                        .of("X: ").color(TextFormatting.GRAY).advance()
+                        .of(String.valueOf(posX)).color(TextFormatting.BLUE).advance()
+                        .space()
+                        .of("Y: ").color(TextFormatting.GRAY).advance()
+                        .of(String.valueOf(posY)).color(TextFormatting.BLUE).advance()
+                        .space()
+                        .of("Z: ").color(TextFormatting.GRAY).advance()
+                        .of(String.valueOf(posZ)).color(TextFormatting.BLUE).advance()
+                        .build();
+
+                return builder.of(fullName).color(TextFormatting.DARK_GREEN).advance()
+                        .of(" benötigt Unterstützung in der Nähe von " + nearestNaviPoint.getNames().get(0) + "! (" + distance + " Meter entfernt)")
+                        .hoverEvent(HoverEvent.Action.SHOW_TEXT, hover)
+                        .color(TextFormatting.GREEN).advance()
+                        .newLine()
+                        .messageParts(NavigationUtil.getNavigationMessage(posX, posY, posZ).getMessageParts())
+                        .of(" | ").color(TextFormatting.GRAY).advance()
+                        .of("Unterwegs")
+                        .hoverEvent(HoverEvent.Action.SHOW_TEXT, MessagePart.simple("Bescheid geben, dass man unterwegs ist", TextFormatting.RED))
+                        .clickEvent(ClickEvent.Action.RUN_COMMAND, "/reinforcement ontheway " + name + " " + posX + " " + posY + " " + posZ + (dChat ? " -d" : ""))
+                        .color(TextFormatting.RED).advance()
+                        .build()
+                        .toTextComponent();
+            });
             return;
         }
 
@@ -42,7 +42,7 @@ public class ChannelActivityCommand {
 
         if (!players.contains(p.getName())) players.add(p.getName());
 
-        List<String> members = new ArrayList<>(MemberActivityEventHandler.MEMBER_LIST);
+        List<String> members = new ArrayList<>(MemberActivityEventHandler.MEMBER_LIST.get());
         if (members.isEmpty()) {
             TextUtils.error("Du hast /memberactivity noch nicht ausgeführt.");
             return true;
@@ -2,6 +2,7 @@ package de.fuzzlemann.ucutils.commands.faction;
 
 import de.fuzzlemann.ucutils.base.abstraction.AbstractionLayer;
 import de.fuzzlemann.ucutils.base.abstraction.UPlayer;
+import de.fuzzlemann.ucutils.base.chat.ChatWorker;
 import de.fuzzlemann.ucutils.base.command.Command;
 import de.fuzzlemann.ucutils.base.command.CommandParam;
 import de.fuzzlemann.ucutils.base.text.Message;
@@ -56,30 +57,29 @@ public class ShareLocationCommand {
 
         int distance = (int) p.getPosition().getDistance(posX, posY, posZ);
 
-        CustomNaviPoint nearestNaviPoint = ForgeUtils.getNearestObject(new BlockPos(posX, posY, posZ), NavigationUtil.NAVI_POINTS, CustomNaviPoint::getX, CustomNaviPoint::getY, CustomNaviPoint::getZ).getValue();
-        if (nearestNaviPoint == null)
-            nearestNaviPoint = new CustomNaviPoint(Collections.singletonList("n/a"), 0, 0, 0); //fix for instances where the webserver is not available
-
-        Message hover = Message.builder()
-                .of("X: ").color(TextFormatting.GRAY).advance()
-                .of(String.valueOf(posX)).color(TextFormatting.BLUE).advance()
-                .space()
-                .of("Y: ").color(TextFormatting.GRAY).advance()
-                .of(String.valueOf(posY)).color(TextFormatting.BLUE).advance()
-                .space()
-                .of("Z: ").color(TextFormatting.GRAY).advance()
-                .of(String.valueOf(posZ)).color(TextFormatting.BLUE).advance()
-                .build();
-
-        Message.builder()
-                .of(fullName).color(TextFormatting.DARK_GREEN).advance()
-                .of(" hat seine Position mit dir geteilt: die Person befindet sich in der Nähe von " + nearestNaviPoint.getNames().get(0) + "! (" + distance + " Meter entfernt)")
-                .color(TextFormatting.GREEN).hoverEvent(HoverEvent.Action.SHOW_TEXT, hover).advance()
-                .newLine()
-                .messageParts(NavigationUtil.getNavigationMessage(posX, posY, posZ).getMessageParts())
-                .send();
-
-        e.setCanceled(true);
+        ChatWorker.replace(e, () -> {
+            CustomNaviPoint nearestNaviPoint = NavigationUtil.getNearestNaviPoint(posX, posY, posZ);
+
+            Message hover = Message.builder()
+                    .of("X: ").color(TextFormatting.GRAY).advance()
+                    .of(String.valueOf(posX)).color(TextFormatting.BLUE).advance()
+                    .space()
+                    .of("Y: ").color(TextFormatting.GRAY).advance()
+                    .of(String.valueOf(posY)).color(TextFormatting.BLUE).advance()
+                    .space()
+                    .of("Z: ").color(TextFormatting.GRAY).advance()
+                    .of(String.valueOf(posZ)).color(TextFormatting.BLUE).advance()
+                    .build();
+
+            return Message.builder()
+                    .of(fullName).color(TextFormatting.DARK_GREEN).advance()
+                    .of(" hat seine Position mit dir geteilt: die Person befindet sich in der Nähe von " + nearestNaviPoint.getNames().get(0) + "! (" + distance + " Meter entfernt)")
+                    .color(TextFormatting.GREEN).hoverEvent(HoverEvent.Action.SHOW_TEXT, hover).advance()
+                    .newLine()
+                    .messageParts(NavigationUtil.getNavigationMessage(posX, posY, posZ).getMessageParts())
+                    .build()
+                    .toTextComponent();
+        });
     }
 
     @Command(value = {"sharelocation", "shareloc", "sloc"}, usage = "/sharelocation [Spieler...] (-d)")
@@ -52,7 +52,7 @@ public class ASetBlacklistCommand implements TabCompletion {
     public List<String> getTabCompletions(UPlayer p, String[] args) {
         if (args.length == 1) return Collections.emptyList();
 
-        List<String> completions = BlacklistUtil.BLACKLIST_REASONS
+        List<String> completions = BlacklistUtil.BLACKLIST_REASONS.get()
                 .stream()
                 .map(BlacklistReason::getReason)
                 .collect(Collectors.toList());
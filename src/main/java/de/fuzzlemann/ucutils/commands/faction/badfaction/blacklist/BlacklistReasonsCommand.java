@@ -18,7 +18,7 @@ public class BlacklistReasonsCommand {
         Message.builder()
                 .of("» ").color(TextFormatting.DARK_GRAY).advance()
                 .of("Blacklistgründe der Fraktion\n").color(TextFormatting.DARK_AQUA).advance()
-                .joiner(BlacklistUtil.BLACKLIST_REASONS)
+                .joiner(BlacklistUtil.BLACKLIST_REASONS.get())
                 .consumer((b, blacklistReason) -> b.of("  * ").color(TextFormatting.DARK_GRAY).advance()
                         .of(blacklistReason.getReason()).color(TextFormatting.GRAY).advance()
                         .of(": ").color(TextFormatting.DARK_GRAY).advance()
@@ -112,7 +112,7 @@ public class NaviCommand implements TabCompletion {
         if (args.length != 1) return null;
 
         List<String> naviPointNames = new ArrayList<>();
-        for (CustomNaviPoint naviPoint : NavigationUtil.NAVI_POINTS) {
+        for (CustomNaviPoint naviPoint : NavigationUtil.NAVI_POINTS.get()) {
             naviPointNames.addAll(naviPoint.getNames());
         }
 
@@ -29,6 +29,7 @@ import java.util.regex.Pattern;
 public class NearestHouseCommand {
 
     private static final Pattern HOUSE_PATTERN = Pattern.compile("(?:^ {2}- Haus: (.+)$)|(?:^ - Wohnhaft: (.+)$)");
+    private static final Pattern NON_DIGIT_PATTERN = Pattern.compile("[^0-9]+");
 
     @SubscribeEvent
     public static void onChatReceived(ClientChatReceivedEvent e) {
@@ -45,24 +46,33 @@ public class NearestHouseCommand {
             String[] splitted = group.split(",");
             List<String> houseNumbers = new ArrayList<>();
             for (String s : splitted) {
-                s = s.replaceAll("[^0-9]+", "");
-                houseNumbers.add(s);
-            }
-
-            modifyMessage(message.getStyle(), houseNumbers);
-            for (ITextComponent sibling : message.getSiblings()) {
-                modifyMessage(sibling.getStyle(), houseNumbers);
+                houseNumbers.add(NON_DIGIT_PATTERN.matcher(s).replaceAll(""));
             }
 
+            modifyMessage(message, houseNumbers);
             break;
         }
     }
 
-    private static void modifyMessage(Style style, List<String> houseNumbers) {
+    private static void modifyMessage(ITextComponent message, List<String> houseNumbers) {
         String command = "/nearesthouse " + String.join(" ", houseNumbers);
 
-        style.setClickEvent(new ClickEvent(ClickEvent.Action.RUN_COMMAND, command));
-        style.setHoverEvent(new HoverEvent(HoverEvent.Action.SHOW_TEXT, MessagePart.simple("Das näheste Haus anzeigen", TextFormatting.DARK_AQUA).toTextComponent()));
+        ClickEvent clickEvent = new ClickEvent(ClickEvent.Action.RUN_COMMAND, command);
+        HoverEvent hoverEvent = new HoverEvent(HoverEvent.Action.SHOW_TEXT, MessagePart.simple("Das näheste Haus anzeigen", TextFormatting.DARK_AQUA).toTextComponent());
+
+        Style style = message.getStyle();
+        style.setClickEvent(clickEvent);
+        style.setHoverEvent(hoverEvent);
+
+        // siblings inherit the events of the parent; only siblings declaring their own events have to be modified
+        for (ITextComponent sibling : message.getSiblings()) {
+            Style siblingStyle = sibling.getStyle();
+
+            if (siblingStyle.getClickEvent() != clickEvent)
+                siblingStyle.setClickEvent(clickEvent);
+            if (siblingStyle.getHoverEvent() != hoverEvent)
+                siblingStyle.setHoverEvent(hoverEvent);
+        }
     }
 
     @Command(value = "nearesthouse", usage = "/%label% [Häuser...]")
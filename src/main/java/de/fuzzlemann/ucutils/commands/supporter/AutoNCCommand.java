@@ -2,7 +2,6 @@ package de.fuzzlemann.ucutils.commands.supporter;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
-import com.google.gson.Gson;
 import de.fuzzlemann.ucutils.Main;
 import de.fuzzlemann.ucutils.config.UCUtilsConfig;
 import de.fuzzlemann.ucutils.keybind.KeyBindRegistry;
@@ -40,7 +39,6 @@ public class AutoNCCommand {
             .expireAfterWrite(15, TimeUnit.SECONDS)
             .build();
     private static final Map<Integer, String> ANSWER_MAP = new HashMap<>();
-    private static final Gson GSON = new Gson();
 
     private static long time;
     private static int i;
@@ -88,10 +86,10 @@ public class AutoNCCommand {
         if (PREVIOUS_NOOB_CHAT_CONTENT.asMap().containsValue(ncMessage)) return;
         PREVIOUS_NOOB_CHAT_CONTENT.put(System.currentTimeMillis(), ncMessage);
 
-        new Thread(() -> {
-            UNiiCAResponse response = GSON.fromJson(APIUtils.post("http://tomcat.fuzzlemann.de/factiononline/uniica",
-                    "apiKey", UCUtilsConfig.apiKey,
-                    "text", ncMessage), UNiiCAResponse.class);
+        APIUtils.postAsync(UNiiCAResponse.class, "http://tomcat.fuzzlemann.de/factiononline/uniica",
+                "apiKey", UCUtilsConfig.apiKey,
+                "text", ncMessage).thenAccept(response -> {
+            if (response == null) return;
 
             String action = response.getAction();
             if (action.equals("input.unknown") || action.equals("input.welcome")) return;
@@ -121,7 +119,7 @@ public class AutoNCCommand {
                     .send();
 
             Main.MINECRAFT.addScheduledTask(() -> AbstractionLayer.getPlayer().playSound(Objects.requireNonNull(SoundUtil.getSoundEvent("block.note.pling")), 1, 1));
-        }).start();
+        });
     }
 
     @SubscribeEvent
@@ -1,5 +1,6 @@
 package de.fuzzlemann.ucutils.commands.teamspeak;
 
+import com.google.common.collect.SetMultimap;
 import de.fuzzlemann.ucutils.teamspeak.CommandResponse;
 import de.fuzzlemann.ucutils.teamspeak.TSUtils;
 import de.fuzzlemann.ucutils.teamspeak.commands.ClientMoveCommand;
@@ -12,6 +13,7 @@ import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -22,13 +24,18 @@ public class MoveCommand {
 
     @Command(value = "move", usage = "/%label% [Spieler...] [Ziel]", async = true)
     public boolean onCommand(@CommandParam(arrayStart = true) String[] moveArray, String moveTo) {
+        List<String> names = new ArrayList<>(Arrays.asList(moveArray));
+        names.add(moveTo);
+
+        SetMultimap<String, String> earlierNames = MojangAPI.getEarlierNames(names);
+
         List<String> moved = new ArrayList<>();
         for (String move : moveArray) {
-            moved.addAll(MojangAPI.getEarlierNames(move));
+            moved.addAll(earlierNames.get(move));
         }
 
         List<Client> clientsMoved = TSUtils.getClientsByName(moved);
-        List<Client> clientsMoveTo = TSUtils.getClientsByName(MojangAPI.getEarlierNames(moveTo));
+        List<Client> clientsMoveTo = TSUtils.getClientsByName(new ArrayList<>(earlierNames.get(moveTo)));
 
         if (clientsMoved.isEmpty() || clientsMoveTo.isEmpty()) {
             TextUtils.error("Einer der Spieler befindet sich nicht auf dem TeamSpeak.");
@@ -11,6 +11,7 @@ import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -23,10 +24,7 @@ public class MoveHereCommand {
     public boolean onCommand(String[] players) {
         if (players.length == 0) return false;
 
-        List<String> names = new ArrayList<>();
-        for (String arg : players) {
-            names.addAll(MojangAPI.getEarlierNames(arg));
-        }
+        List<String> names = new ArrayList<>(MojangAPI.getEarlierNames(Arrays.asList(players)).values());
 
         int channelID = TSUtils.getMyChannelID();
         List<Client> clients = TSUtils.getClientsByName(names);
@@ -1,6 +1,7 @@
 package de.fuzzlemann.ucutils.config;
 
 import de.fuzzlemann.ucutils.Main;
+import de.fuzzlemann.ucutils.events.NameFormatEventHandler;
 import de.fuzzlemann.ucutils.teamspeak.TSClientQuery;
 import net.minecraftforge.common.config.Config;
 import net.minecraftforge.common.config.ConfigManager;
@@ -63,6 +64,14 @@ public class UCUtilsConfig {
     @Config.Comment("Der Chat wird geloggt und im Minecraft-Order unter /chatlogs gespeichert")
     public static boolean logChat = true;
 
+    @Config.Name("logChatEvents")
+    @Config.Comment("Der Chat wird zusätzlich mit Formatierung und den ausgeführten Regeln geloggt, damit er mit /chatlog replay abgespielt werden kann")
+    public static boolean logChatEvents = false;
+
+    @Config.Name("compactChat")
+    @Config.Comment("Fasst direkt aufeinanderfolgende gleiche Nachrichten zu einer Nachricht mit Zähler (×N) zusammen")
+    public static boolean compactChat = true;
+
     @Config.Name("showFactionPlayers")
     @Config.Comment("Kennzeichnet Personen aus deiner Fraktion")
     public static boolean showFactionPlayers = false;
@@ -91,6 +100,11 @@ public class UCUtilsConfig {
     @Config.Comment("Gibt eine Nachricht und einen Sound ab, wenn eine Person das Öffentlich der eigenen Fraktion im TeamSpeak betritt")
     public static boolean notifyWaitingPublic = false;
 
+    @Config.Name("dataRefreshInterval")
+    @Config.Comment("Das Intervall in Minuten, in dem Daten wie Fraktionsmitglieder und Hausverbote im Hintergrund aktualisiert werden (0 = deaktiviert)")
+    @Config.RangeInt(min = 0, max = 1440)
+    public static int dataRefreshInterval = 15;
+
     @SubscribeEvent
     public static void onConfigChange(ConfigChangedEvent e) {
         if (e == null || e.getModID().equals(Main.MOD_ID)) {
@@ -100,6 +114,8 @@ public class UCUtilsConfig {
             if (!previousTSApiKey.equals(tsAPIKey) && !tsAPIKey.isEmpty()) {
                 TSClientQuery.reconnect();
             }
+
+            if (e != null) NameFormatEventHandler.invalidatePrefixes();
         }
     }
 }
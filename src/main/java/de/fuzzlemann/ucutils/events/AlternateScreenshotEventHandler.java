@@ -1,11 +1,14 @@
 package de.fuzzlemann.ucutils.events;
 
+import de.fuzzlemann.ucutils.Main;
 import de.fuzzlemann.ucutils.activitytest.ActivityTestHandler;
 import de.fuzzlemann.ucutils.base.command.execution.CommandHandler;
 import de.fuzzlemann.ucutils.base.text.Message;
 import de.fuzzlemann.ucutils.base.text.MessagePart;
+import de.fuzzlemann.ucutils.base.text.TextUtils;
 import de.fuzzlemann.ucutils.keybind.KeyBindRegistry;
 import de.fuzzlemann.ucutils.utils.ForgeUtils;
+import de.fuzzlemann.ucutils.utils.Logger;
 import net.minecraft.util.text.TextFormatting;
 import net.minecraft.util.text.event.ClickEvent;
 import net.minecraft.util.text.event.HoverEvent;
@@ -36,8 +39,9 @@ public class AlternateScreenshotEventHandler {
     }
 
     private static void handleAlternateScreenshot() {
-        if (!KeyBindRegistry.alternateScreenshot.isPressed() && !KeyBindRegistry.alternateScreenshotWithUpload.isPressed())
-            return;
+        boolean screenshot = KeyBindRegistry.alternateScreenshot.isPressed();
+        boolean upload = KeyBindRegistry.alternateScreenshotWithUpload.isPressed();
+        if (!screenshot && !upload) return;
 
         if (System.currentTimeMillis() - lastScreenshot < TimeUnit.SECONDS.toMillis(1)) return;
 
@@ -60,27 +64,32 @@ public class AlternateScreenshotEventHandler {
         String fullName = sb.toString();
 
         File file = new File(ActivityTestHandler.ACTIVITY_TEST_FOLDER, fullName);
-        ForgeUtils.makeScreenshot(file);
-
-        Message.builder()
-                .prefix()
-                .of("Der Screenshot wurde als").color(TextFormatting.GRAY).advance()
-                .space()
-                .of(fullName).color(TextFormatting.BLUE).bold()
-                .clickEvent(ClickEvent.Action.OPEN_FILE, file.getAbsolutePath())
-                .advance()
-                .space()
-                .of("gespeichert.").color(TextFormatting.GRAY).advance()
-                .space()
-                .of("⬆").color(TextFormatting.BLUE)
-                .hoverEvent(HoverEvent.Action.SHOW_TEXT, MessagePart.simple("Hochladen", TextFormatting.DARK_AQUA))
-                .clickEvent(ClickEvent.Action.RUN_COMMAND, "/uploadimage " + file.getAbsolutePath())
-                .advance()
-                .send();
-
-        if (KeyBindRegistry.alternateScreenshotWithUpload.isPressed()) {
-            CommandHandler.issueCommand("uploadimage", file.getAbsolutePath());
-        }
+        ForgeUtils.makeScreenshot(file).whenComplete((screenshotFile, throwable) -> {
+            if (throwable != null) {
+                TextUtils.error("Der Screenshot konnte nicht gespeichert werden.");
+                Logger.LOGGER.catching(throwable);
+                return;
+            }
+
+            Message.builder()
+                    .prefix()
+                    .of("Der Screenshot wurde als").color(TextFormatting.GRAY).advance()
+                    .space()
+                    .of(fullName).color(TextFormatting.BLUE).bold()
+                    .clickEvent(ClickEvent.Action.OPEN_FILE, screenshotFile.getAbsolutePath())
+                    .advance()
+                    .space()
+                    .of("gespeichert.").color(TextFormatting.GRAY).advance()
+                    .space()
+                    .of("⬆").color(TextFormatting.BLUE)
+                    .hoverEvent(HoverEvent.Action.SHOW_TEXT, MessagePart.simple("Hochladen", TextFormatting.DARK_AQUA))
+                    .clickEvent(ClickEvent.Action.RUN_COMMAND, "/uploadimage " + screenshotFile.getAbsolutePath())
+                    .advance()
+                    .send();
+
+            if (upload)
+                Main.MINECRAFT.addScheduledTask(() -> CommandHandler.issueCommand("uploadimage", screenshotFile.getAbsolutePath()));
+        });
 
         lastScreenshot = System.currentTimeMillis();
     }
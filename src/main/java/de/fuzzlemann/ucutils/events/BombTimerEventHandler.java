@@ -1,11 +1,15 @@
 package de.fuzzlemann.ucutils.events;
 
 import de.fuzzlemann.ucutils.Main;
+import de.fuzzlemann.ucutils.base.chat.ChatRouter;
+import de.fuzzlemann.ucutils.base.chat.ChatRule;
+import de.fuzzlemann.ucutils.base.initializor.IInitializor;
+import de.fuzzlemann.ucutils.base.initializor.InitMode;
+import de.fuzzlemann.ucutils.base.initializor.Initializor;
 import de.fuzzlemann.ucutils.config.UCUtilsConfig;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.FontRenderer;
 import net.minecraft.client.gui.ScaledResolution;
-import net.minecraftforge.client.event.ClientChatReceivedEvent;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.common.gameevent.TickEvent;
@@ -19,27 +23,20 @@ import java.util.regex.Pattern;
  * @author Fuzzlemann
  */
 @Mod.EventBusSubscriber
-public class BombTimerEventHandler {
+@Initializor(value = "BombTimer", initMode = InitMode.DEFAULT, mainThread = false)
+public class BombTimerEventHandler implements IInitializor {
 
     private static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat("mm:ss");
     private static final Pattern BOMB_PLACED_PATTERN = Pattern.compile("^News: ACHTUNG! Es wurde eine Bombe in der Nähe von .+ gefunden!$");
     private static final Pattern BOMB_REMOVED_PATTERN = Pattern.compile("News: Die Bombe konnte (?:nicht|erfolgreich) entschärft werden!");
     private static long bombPlaced = -1;
 
-    @SubscribeEvent
-    public static void onChatReceived(ClientChatReceivedEvent e) {
-        if (!UCUtilsConfig.bombTimerDisplay) return;
-
-        String message = e.getMessage().getUnformattedText();
-
-        if (BOMB_PLACED_PATTERN.matcher(message).find()) {
-            bombPlaced = System.currentTimeMillis();
-            return;
-        }
-
-        if (BOMB_REMOVED_PATTERN.matcher(message).find()) {
-            bombPlaced = -1;
-        }
+    @Override
+    public void init() {
+        ChatRouter.register("BombTimer", new ChatRule("BombPlaced", "BombTimer", BOMB_PLACED_PATTERN,
+                () -> UCUtilsConfig.bombTimerDisplay, (e, matcher) -> bombPlaced = System.currentTimeMillis()));
+        ChatRouter.register("BombTimer", new ChatRule("BombRemoved", "BombTimer", BOMB_REMOVED_PATTERN,
+                () -> UCUtilsConfig.bombTimerDisplay, (e, matcher) -> bombPlaced = -1));
     }
 
     @SubscribeEvent
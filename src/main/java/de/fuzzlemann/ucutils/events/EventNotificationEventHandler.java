@@ -25,9 +25,8 @@ public class EventNotificationEventHandler {
         String unformattedText = e.getMessage().getUnformattedText();
         if (!unformattedText.equals("Willkommen zurück!")) return;
 
-        new Thread(() -> {
+        APIUtils.postAuthenticatedAsync("http://tomcat.fuzzlemann.de/factiononline/checkevents").thenAccept(response -> {
             try {
-                String response = APIUtils.postAuthenticated("http://tomcat.fuzzlemann.de/factiononline/checkevents");
                 if (response == null || response.isEmpty()) return;
 
                 JsonElement responseElement = new JsonParser().parse(response);
@@ -57,6 +56,6 @@ public class EventNotificationEventHandler {
             } catch (Exception exc) {
                 Logger.LOGGER.catching(exc);
             }
-        }).start();
+        });
     }
 }
@@ -0,0 +1,96 @@
+package de.fuzzlemann.ucutils.events;
+
+import de.fuzzlemann.ucutils.Main;
+import de.fuzzlemann.ucutils.base.initializor.IInitializor;
+import de.fuzzlemann.ucutils.base.initializor.InitMode;
+import de.fuzzlemann.ucutils.base.initializor.Initializor;
+import de.fuzzlemann.ucutils.base.state.StateJournal;
+import de.fuzzlemann.ucutils.base.text.Message;
+import de.fuzzlemann.ucutils.utils.faction.police.Wanted;
+import de.fuzzlemann.ucutils.utils.io.JsonManager;
+import net.minecraft.util.text.TextFormatting;
+import net.minecraftforge.event.entity.EntityJoinWorldEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.network.FMLNetworkEvent;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Persists the wanteds, contracts and the blacklist known by the {@link NameFormatEventHandler}, so they're
+ * available after a restart, and informs about their age when joining a server.
+ *
+ * @author Fuzzlemann
+ */
+@Mod.EventBusSubscriber
+@SideOnly(Side.CLIENT)
+@Initializor(value = "GameplayState", initMode = InitMode.DEFAULT, mainThread = false)
+public class GameplayStateEventHandler implements IInitializor {
+
+    private static final long MAX_AGE = TimeUnit.HOURS.toMillis(12);
+    private static final long STALE_AGE = TimeUnit.MINUTES.toMillis(15);
+    private static final StateJournal JOURNAL = new StateJournal(new File(JsonManager.DIRECTORY, "gameplayState.journal"), MAX_AGE);
+    // set by the network thread
+    private static volatile boolean connected;
+
+    @Override
+    public void init() {
+        JOURNAL.register("wanteds", NameFormatEventHandler.WANTED_MAP, Wanted.class);
+        JOURNAL.register("contracts", NameFormatEventHandler.CONTRACT_SET);
+        JOURNAL.register("blacklist", NameFormatEventHandler.BLACKLIST_MAP, Boolean.class);
+        JOURNAL.load();
+    }
+
+    @SubscribeEvent
+    public static void onJoin(FMLNetworkEvent.ClientConnectedToServerEvent e) {
+        connected = true;
+    }
+
+    @SubscribeEvent
+    public static void onJoinWorld(EntityJoinWorldEvent e) {
+        if (!e.getWorld().isRemote || e.getEntity() != Main.MINECRAFT.player) return;
+        if (!connected) return;
+        connected = false;
+
+        sendStaleness("Wanteds", "wanteds", NameFormatEventHandler.WANTED_MAP.size());
+        sendStaleness("Contracts", "contracts", NameFormatEventHandler.CONTRACT_SET.size());
+        sendStaleness("Blacklist", "blacklist", NameFormatEventHandler.BLACKLIST_MAP.size());
+    }
+
+    /**
+     * Records that the list of the store was shown completely.
+     *
+     * @param name the name of the store
+     */
+    static void markShown(String name) {
+        JOURNAL.markShown(name);
+    }
+
+    private static void sendStaleness(String displayName, String name, int size) {
+        if (size == 0) return;
+
+        long lastShown = JOURNAL.getLastShown(name);
+        long age = System.currentTimeMillis() - lastShown;
+        if (lastShown != -1 && age < STALE_AGE) return;
+
+        String ageString = lastShown == -1 ? "unbekannt" : formatAge(age);
+
+        Message.builder()
+                .of("» ").color(TextFormatting.GRAY).advance()
+                .of(displayName + ": ").color(TextFormatting.DARK_AQUA).advance()
+                .of(size + " Einträge, Stand: " + ageString).color(TextFormatting.YELLOW).advance()
+                .of(" (/" + name + " zum Aktualisieren)").color(TextFormatting.GRAY).advance()
+                .send();
+    }
+
+    private static String formatAge(long age) {
+        long minutes = TimeUnit.MILLISECONDS.toMinutes(age);
+        if (minutes < 60) return "vor " + minutes + " Minuten";
+
+        long hours = TimeUnit.MILLISECONDS.toHours(age);
+        return hours == 1 ? "vor einer Stunde" : "vor " + hours + " Stunden";
+    }
+}
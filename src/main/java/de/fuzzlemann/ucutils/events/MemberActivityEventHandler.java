@@ -1,5 +1,6 @@
 package de.fuzzlemann.ucutils.events;
 
+import de.fuzzlemann.ucutils.base.state.ListStore;
 import de.fuzzlemann.ucutils.base.text.Message;
 import net.minecraft.util.text.ITextComponent;
 import net.minecraft.util.text.TextFormatting;
@@ -9,8 +10,6 @@ import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Timer;
 import java.util.TimerTask;
 import java.util.regex.Matcher;
@@ -23,7 +22,7 @@ import java.util.regex.Pattern;
 @Mod.EventBusSubscriber
 public class MemberActivityEventHandler {
 
-    public static final List<String> MEMBER_LIST = new ArrayList<>();
+    public static final ListStore<String> MEMBER_LIST = new ListStore<>();
 
     private static final Timer TIMER = new Timer();
     private static final Pattern MEMBER_ACTIVITY_PATTERN = Pattern.compile("^Member Aktivität der Fraktion: .+$");
@@ -1,15 +1,20 @@
 package de.fuzzlemann.ucutils.events;
 
 import de.fuzzlemann.ucutils.Main;
+import de.fuzzlemann.ucutils.base.state.KeyListener;
+import de.fuzzlemann.ucutils.base.state.MapStore;
+import de.fuzzlemann.ucutils.base.state.SetStore;
 import de.fuzzlemann.ucutils.base.text.TextUtils;
+import de.fuzzlemann.ucutils.base.udf.UDFModuleUpdatedEvent;
+import de.fuzzlemann.ucutils.common.udf.DataRegistry;
 import de.fuzzlemann.ucutils.config.UCUtilsConfig;
 import de.fuzzlemann.ucutils.utils.faction.Faction;
 import de.fuzzlemann.ucutils.utils.faction.FactionPlayersList;
 import de.fuzzlemann.ucutils.utils.faction.HouseBanHandler;
+import de.fuzzlemann.ucutils.utils.corpse.CorpseTracker;
 import de.fuzzlemann.ucutils.utils.faction.police.Wanted;
 import net.minecraft.entity.item.EntityItem;
 import net.minecraft.entity.player.EntityPlayer;
-import net.minecraft.item.ItemSkull;
 import net.minecraft.scoreboard.ScorePlayerTeam;
 import net.minecraft.util.text.ITextComponent;
 import net.minecraftforge.client.event.ClientChatReceivedEvent;
@@ -23,6 +28,7 @@ import net.minecraftforge.fml.relauncher.SideOnly;
 import org.apache.commons.lang3.StringUtils;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -35,8 +41,11 @@ public class NameFormatEventHandler {
 
     //--------------------- Player Map ---------------------\\
     private static final Map<String, EntityPlayer> PLAYER_MAP = new HashMap<>();
+    //--------------------- Prefix Cache ---------------------\\
+    private static final Map<String, String> PREFIX_CACHE = new ConcurrentHashMap<>();
+    private static final String NO_PREFIX = "";
     //--------------------- Wanteds ---------------------\\
-    public static final Map<String, Wanted> WANTED_MAP = new HashMap<>();
+    public static final MapStore<String, Wanted> WANTED_MAP = new MapStore<>();
     private static final Pattern WANTED_LIST_ENTRY_PATTERN = Pattern.compile("^ {2}- (?:\\[UC])*([a-zA-Z0-9_]+) \\| (\\d+) WPS \\((.+)\\)$");
     private static final Pattern WANTEDS_GIVEN_REASON_PATTERN = Pattern.compile("^HQ: Gesuchter: (?:\\[UC])*([a-zA-Z0-9_]+)\\. Grund: (.+)$");
     private static final Pattern WANTEDS_GIVEN_POINTS_PATTERN = Pattern.compile("^HQ: (?:\\[UC])*([a-zA-Z0-9_]+)'s momentanes WantedLevel: (\\d+)$");
@@ -44,12 +53,12 @@ public class NameFormatEventHandler {
             "|^HQ: (?:\\[UC])*([a-zA-Z0-9_]+) wurde von (?:\\[UC])*[a-zA-Z0-9_]+ getötet\\.$" +
             "|^HQ: .+ (?:\\[UC])*[a-zA-Z0-9_]+ hat (?:\\[UC])*([a-zA-Z0-9_]+)(?:'s)*(?: seine| ihre)* Akten gelöscht, over\\.$");
     //--------------------- Contracts ---------------------\\
-    private static final List<String> CONTRACT_LIST = new ArrayList<>();
+    static final SetStore<String> CONTRACT_SET = new SetStore<>();
     public static final Pattern CONTRACT_SET_PATTERN = Pattern.compile("^\\[Contract] Es wurde ein Kopfgeld auf (?:\\[UC])*([a-zA-Z0-9_]+) \\(\\d+\\$\\) ausgesetzt\\.$");
     public static final Pattern CONTRACT_REMOVED_PATTERN = Pattern.compile("(?:^\\[Contract] (?:\\[UC])*[a-zA-Z0-9_]+ hat (?:\\[UC])*([a-zA-Z0-9_]+) von der Contract Liste gelöscht\\. \\[-\\d+]$)" +
             "|(?:^\\[Contract] (?:\\[UC])*[a-zA-Z0-9_]+ hat (?:\\[UC])*([a-zA-Z0-9_]+) getötet\\. Kopfgeld: \\d+\\$)");
     //--------------------- Blacklist ---------------------\\
-    private static final Map<String, Boolean> BLACKLIST_MAP = new HashMap<>();
+    static final MapStore<String, Boolean> BLACKLIST_MAP = new MapStore<>();
     public static final Pattern BLACKLIST_START_PATTERN = Pattern.compile("=== Blacklist .+ ===");
     public static final Pattern BLACKLIST_LIST_PATTERN = Pattern.compile("^ » (?:\\[UC])*([a-zA-Z0-9_]+) \\| (.+) \\| (.+) \\| (\\d+) Kills \\| (\\d+)\\$");
     private static final Pattern BLACKLIST_ADDED_PATTERN = Pattern.compile("^\\[Blacklist] (?:\\[UC])*([a-zA-Z0-9_]+) wurde von (?:\\[UC])*[a-zA-Z0-9_]+ auf die Blacklist gesetzt!$");
@@ -60,6 +69,35 @@ public class NameFormatEventHandler {
     private static long hitlistShown;
     private static long blacklistShown;
 
+    static {
+        KeyListener<String> prefixInvalidator = new KeyListener<String>() {
+            @Override
+            public void onChange(String userName) {
+                PREFIX_CACHE.remove(userName);
+            }
+
+            @Override
+            public void onReset() {
+                PREFIX_CACHE.clear();
+            }
+        };
+
+        WANTED_MAP.addKeyListener(prefixInvalidator);
+        CONTRACT_SET.addKeyListener(prefixInvalidator);
+        BLACKLIST_MAP.addKeyListener(prefixInvalidator);
+    }
+
+    @SubscribeEvent
+    public static void onUDFModuleUpdated(UDFModuleUpdatedEvent e) {
+        switch (e.getModule()) {
+            case DataRegistry.FACTION:
+            case DataRegistry.FACTION_PLAYERS:
+            case DataRegistry.HOUSE_BANS:
+                invalidatePrefixes();
+                break;
+        }
+    }
+
     @SubscribeEvent
     public static void onNameFormat(PlayerEvent.NameFormat e) {
         EntityPlayer p = e.getEntityPlayer();
@@ -72,8 +110,11 @@ public class NameFormatEventHandler {
         // Prevents people who are masked from being detected
         if (displayName.contains("§k")) return;
 
-        String color = getPrefix(userName, p.getUniqueID());
-        if (color == null) return;
+        String color = PREFIX_CACHE.computeIfAbsent(userName, name -> {
+            String prefix = getPrefix(name, p.getUniqueID());
+            return prefix == null ? NO_PREFIX : prefix;
+        });
+        if (color.isEmpty()) return;
 
         e.setDisplayname(color + userName);
     }
@@ -85,9 +126,7 @@ public class NameFormatEventHandler {
         if (Main.MINECRAFT.world == null) return;
         if (tick++ != 20) return;
 
-        List<EntityItem> items = Main.MINECRAFT.world.getEntities(EntityItem.class, (ent) -> ent != null && ent.hasCustomName() && ent.getItem().getItem() instanceof ItemSkull);
-
-        for (EntityItem entityItem : items) {
+        for (EntityItem entityItem : CorpseTracker.getCorpses()) {
             String name = entityItem.getCustomNameTag();
             if (name.startsWith("§8")) continue; //Hitman Corpse
 
@@ -135,7 +174,7 @@ public class NameFormatEventHandler {
             Wanted wanted = WANTED_MAP.get(name);
             if (wanted == null) return;
 
-            wanted.setAmount(wantedPoints);
+            WANTED_MAP.put(name, new Wanted(wanted.getReason(), wantedPoints));
             refreshDisplayName(name);
         }
     }
@@ -171,6 +210,7 @@ public class NameFormatEventHandler {
         if (unformattedMessage.equals("Online Spieler mit WantedPunkten:")) {
             WANTED_MAP.clear();
             wantedsShown = currentTime;
+            GameplayStateEventHandler.markShown("wanteds");
 
             refreshAllDisplayNames();
             return;
@@ -195,8 +235,9 @@ public class NameFormatEventHandler {
         long currentTime = System.currentTimeMillis();
 
         if (unformattedMessage.equals("=~=~=~Contracts~=~=~=")) {
-            CONTRACT_LIST.clear();
+            CONTRACT_SET.clear();
             hitlistShown = currentTime;
+            GameplayStateEventHandler.markShown("contracts");
 
             refreshAllDisplayNames();
             return;
@@ -209,7 +250,7 @@ public class NameFormatEventHandler {
         String[] splittedMessage = StringUtils.split(unformattedMessage, " ");
         String name = TextUtils.stripPrefix(splittedMessage[1]);
 
-        CONTRACT_LIST.add(name);
+        CONTRACT_SET.add(name);
         refreshDisplayName(name);
     }
 
@@ -222,7 +263,7 @@ public class NameFormatEventHandler {
         if (matcher.find()) {
             String name = matcher.group(1);
 
-            CONTRACT_LIST.add(name);
+            CONTRACT_SET.add(name);
             refreshDisplayName(name);
         }
     }
@@ -244,7 +285,7 @@ public class NameFormatEventHandler {
             break;
         }
 
-        CONTRACT_LIST.remove(name);
+        CONTRACT_SET.remove(name);
         refreshDisplayName(name);
     }
 
@@ -259,6 +300,7 @@ public class NameFormatEventHandler {
         if (blacklistStartMatcher.find()) {
             BLACKLIST_MAP.clear();
             blacklistShown = currentTime;
+            GameplayStateEventHandler.markShown("blacklist");
 
             refreshAllDisplayNames();
             return;
@@ -337,11 +379,11 @@ public class NameFormatEventHandler {
             }
         }
 
-        if (CONTRACT_LIST.contains(userName)) {
+        if (CONTRACT_SET.contains(userName)) {
             return "§4";
         }
 
-        if (UCUtilsConfig.showHouseBans && uniqueID != null && HouseBanHandler.HOUSE_BANS.contains(uniqueID.toString())) {
+        if (UCUtilsConfig.showHouseBans && uniqueID != null && HouseBanHandler.HOUSE_BANS.contains(uniqueID)) {
             return "§8[§cHV§8] §f";
         }
 
@@ -356,12 +398,22 @@ public class NameFormatEventHandler {
         return null;
     }
 
+    /**
+     * Drops all cached prefixes and refreshes the display names of all players.
+     * Has to be called when an input of the prefixes changes which isn't handled by this class, like the config;
+     * the UDF modules are handled by {@link #onUDFModuleUpdated(UDFModuleUpdatedEvent)}.
+     */
+    public static void invalidatePrefixes() {
+        PREFIX_CACHE.clear();
+        Main.MINECRAFT.addScheduledTask(NameFormatEventHandler::refreshAllDisplayNames);
+    }
+
     private static void refreshAllDisplayNames() {
         for (Iterator<EntityPlayer> iterator = PLAYER_MAP.values().iterator(); iterator.hasNext(); ) {
             EntityPlayer entityPlayer = iterator.next();
             if (entityPlayer == null) {
                 iterator.remove();
-                return;
+                continue;
             }
 
             entityPlayer.refreshDisplayName();
@@ -369,6 +421,8 @@ public class NameFormatEventHandler {
     }
 
     private static void refreshDisplayName(String userName) {
+        if (userName == null) return;
+
         EntityPlayer entityPlayer = PLAYER_MAP.get(userName);
         if (entityPlayer == null) {
             PLAYER_MAP.remove(userName);
@@ -2,23 +2,27 @@ package de.fuzzlemann.ucutils.events;
 
 import de.fuzzlemann.ucutils.base.abstraction.AbstractionLayer;
 import de.fuzzlemann.ucutils.base.abstraction.UPlayer;
+import de.fuzzlemann.ucutils.base.chat.ChatRouter;
+import de.fuzzlemann.ucutils.base.chat.ChatRule;
+import de.fuzzlemann.ucutils.base.initializor.IInitializor;
+import de.fuzzlemann.ucutils.base.initializor.InitMode;
+import de.fuzzlemann.ucutils.base.initializor.Initializor;
 import de.fuzzlemann.ucutils.config.UCUtilsConfig;
 import de.fuzzlemann.ucutils.utils.sound.SoundUtil;
 import de.fuzzlemann.ucutils.base.text.Message;
 import de.fuzzlemann.ucutils.base.text.MessagePart;
+import net.minecraft.util.SoundEvent;
 import net.minecraft.util.text.ITextComponent;
 import net.minecraft.util.text.TextFormatting;
 import net.minecraft.util.text.event.ClickEvent;
 import net.minecraft.util.text.event.HoverEvent;
-import net.minecraftforge.client.event.ClientChatReceivedEvent;
 import net.minecraftforge.fml.common.Mod;
-import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
 import java.util.Timer;
 import java.util.TimerTask;
-import java.util.regex.Matcher;
+import java.util.function.BooleanSupplier;
 import java.util.regex.Pattern;
 
 /**
@@ -26,7 +30,8 @@ import java.util.regex.Pattern;
  */
 @Mod.EventBusSubscriber
 @SideOnly(Side.CLIENT)
-public class NotificationEventHandler {
+@Initializor(value = "Notification", initMode = InitMode.DEFAULT, mainThread = false)
+public class NotificationEventHandler implements IInitializor {
 
     private static final Timer TIMER = new Timer();
     private static final Pattern RESOURCEPACK_PATTERN = Pattern.compile("^Wir empfehlen dir unser Resourcepack zu nutzen\\.$|" +
@@ -41,69 +46,36 @@ public class NotificationEventHandler {
     private static final Pattern SERVICE_ANNOUNCEMENT_PATTERN = Pattern.compile("^HQ: Achtung! Ein Notruf von (?:\\[UC])*[a-zA-Z0-9_]+ \\(.+\\): \".+\"$|" +
             "^Ein Notruf von (?:\\[UC])*[a-zA-Z0-9_]+ \\(.+\\): \".+\"$");
 
-    @SubscribeEvent
-    public static void onChatReceived(ClientChatReceivedEvent e) {
-        ITextComponent message = e.getMessage();
-        String unformattedText = message.getUnformattedText();
+    @Override
+    public void init() {
+        register(FRIEND_JOINED_PATTERN, () -> true, (e, matcher) -> modifyFriendJoin(e.getMessage(), matcher.group(1)));
+        register(RESOURCEPACK_PATTERN, () -> UCUtilsConfig.blockResourcePackReminder, (e, matcher) -> e.setCanceled(true));
+        register(INVITE_PATTERN, () -> UCUtilsConfig.inviteAnnouncement, playSound(SoundUtil.PLAYER_INVITED, 1));
+        register(UNINVITE_PATTERN, () -> UCUtilsConfig.inviteAnnouncement, playSound(SoundUtil.PLAYER_UNINVITED, 1));
+        register(REPORT_RECEIVED_PATTERN, () -> UCUtilsConfig.reportAnnouncement, playSound(SoundUtil.REPORT_RECEIVED, 3));
+        register(BOMB_PLACED_PATTERN, () -> UCUtilsConfig.bombAnnouncement, playSound(SoundUtil.BOMB_PLACED, 0.15F));
+        register(NameFormatEventHandler.CONTRACT_REMOVED_PATTERN, () -> UCUtilsConfig.contractFulfilledAnnouncement, playSound(SoundUtil.CONTRACT_FULFILLED, 1));
+        register(NameFormatEventHandler.CONTRACT_SET_PATTERN, () -> UCUtilsConfig.contractAnnouncement, playSound(SoundUtil.CONTRACT_PLACED, 1));
+        register(SERVICE_ANNOUNCEMENT_PATTERN, () -> UCUtilsConfig.serviceAnnouncement, playSound(SoundUtil.SERVICE_RECEIVED, 1));
+        register(REPORT_ACCEPTED_PATTERN, () -> !UCUtilsConfig.reportGreeting.isEmpty(), (e, matcher) -> {
+            UPlayer p = AbstractionLayer.getPlayer();
 
-        Matcher friendJoinedMatcher = FRIEND_JOINED_PATTERN.matcher(unformattedText);
-        if (friendJoinedMatcher.find()) {
-            String friendName = friendJoinedMatcher.group(1);
-
-            modifyFriendJoin(message, friendName);
-            return;
-        }
-
-        if (UCUtilsConfig.blockResourcePackReminder && RESOURCEPACK_PATTERN.matcher(unformattedText).find()) {
-            e.setCanceled(true);
-            return;
-        }
-
-        UPlayer p = AbstractionLayer.getPlayer();
-
-        if (UCUtilsConfig.inviteAnnouncement) {
-            if (INVITE_PATTERN.matcher(unformattedText).find()) {
-                p.playSound(SoundUtil.PLAYER_INVITED, 1, 1);
-                return;
-            } else if (UNINVITE_PATTERN.matcher(unformattedText).find()) {
-                p.playSound(SoundUtil.PLAYER_UNINVITED, 1, 1);
-                return;
-            }
-        }
-
-        if (UCUtilsConfig.reportAnnouncement && REPORT_RECEIVED_PATTERN.matcher(unformattedText).find()) {
-            p.playSound(SoundUtil.REPORT_RECEIVED, 3, 1);
-            return;
-        }
-
-        if (UCUtilsConfig.bombAnnouncement && BOMB_PLACED_PATTERN.matcher(unformattedText).find()) {
-            p.playSound(SoundUtil.BOMB_PLACED, 0.15F, 1);
-            return;
-        }
-        
-        if (UCUtilsConfig.contractFulfilledAnnouncement && NameFormatEventHandler.CONTRACT_REMOVED_PATTERN.matcher(unformattedText).find()) {
-            p.playSound(SoundUtil.CONTRACT_FULFILLED, 1, 1);
-            return;
-        }
-
-        if (UCUtilsConfig.contractAnnouncement && NameFormatEventHandler.CONTRACT_SET_PATTERN.matcher(unformattedText).find()) {
-            p.playSound(SoundUtil.CONTRACT_PLACED, 1, 1);
-            return;
-        }
-
-        if (UCUtilsConfig.serviceAnnouncement && SERVICE_ANNOUNCEMENT_PATTERN.matcher(unformattedText).find()) {
-            p.playSound(SoundUtil.SERVICE_RECEIVED, 1, 1);
-            return;
-        }
-
-        if (!UCUtilsConfig.reportGreeting.isEmpty() && REPORT_ACCEPTED_PATTERN.matcher(unformattedText).find()) {
             TIMER.schedule(new TimerTask() {
                 @Override
                 public void run() {
                     p.sendChatMessage(UCUtilsConfig.reportGreeting);
                 }
             }, 1000L);
-        }
+        });
+    }
+
+    private static void register(Pattern pattern, BooleanSupplier enabled, ChatRule.ChatAction action) {
+        // only the first matching notification is executed
+        ChatRouter.register("Notification", new ChatRule(pattern.pattern(), "Notification", pattern, enabled, action));
+    }
+
+    private static ChatRule.ChatAction playSound(SoundEvent sound, float volume) {
+        return (e, matcher) -> AbstractionLayer.getPlayer().playSound(sound, volume, 1);
     }
 
     private static void modifyFriendJoin(ITextComponent message, String friendName) {
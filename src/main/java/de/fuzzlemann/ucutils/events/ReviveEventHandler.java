@@ -1,17 +1,14 @@
 package de.fuzzlemann.ucutils.events;
 
-import de.fuzzlemann.ucutils.Main;
 import de.fuzzlemann.ucutils.base.abstraction.AbstractionLayer;
+import de.fuzzlemann.ucutils.utils.corpse.CorpseTracker;
 import de.fuzzlemann.ucutils.utils.faction.Faction;
 import net.minecraft.entity.item.EntityItem;
-import net.minecraft.item.ItemSkull;
 import net.minecraft.util.math.BlockPos;
 import net.minecraftforge.event.entity.player.PlayerInteractEvent;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 
-import java.util.List;
-
 /**
  * @author Fuzzlemann
  */
@@ -26,12 +23,12 @@ public class ReviveEventHandler {
 
         BlockPos pos = e.getPos();
 
-        List<EntityItem> items = Main.MINECRAFT.world.getEntities(EntityItem.class, (ent) -> ent != null && ent.hasCustomName() && ent.getItem().getItem() instanceof ItemSkull);
+        if (System.currentTimeMillis() - latestExecute < 500) return;
 
-        for (EntityItem entityItem : items) {
+        for (EntityItem entityItem : CorpseTracker.getCorpsesNear(pos)) {
             double distance = entityItem.getDistanceSq(pos.getX(), pos.getY(), pos.getZ());
+            if (distance >= 2) continue;
 
-            if (distance >= 2 || System.currentTimeMillis() - latestExecute < 500) return;
             AbstractionLayer.getPlayer().sendChatMessage("/revive");
             latestExecute = System.currentTimeMillis();
             return;
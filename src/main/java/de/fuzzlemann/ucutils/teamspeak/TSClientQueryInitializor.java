@@ -0,0 +1,19 @@
+package de.fuzzlemann.ucutils.teamspeak;
+
+import de.fuzzlemann.ucutils.base.initializor.IInitializor;
+import de.fuzzlemann.ucutils.base.initializor.InitMode;
+import de.fuzzlemann.ucutils.base.initializor.Initializor;
+import de.fuzzlemann.ucutils.config.UCUtilsConfig;
+
+/**
+ * Connects to the TeamSpeak ClientQuery; the API key may only be known after the TeamSpeak-API data module was loaded.
+ *
+ * @author Fuzzlemann
+ */
+@Initializor(value = "TeamSpeak", initMode = InitMode.DEFAULT, mainThread = false, io = true, dependsOn = "data/TeamSpeak-API")
+public class TSClientQueryInitializor implements IInitializor {
+    @Override
+    public void init() {
+        if (!UCUtilsConfig.tsAPIKey.isEmpty()) TSClientQuery.getInstance();
+    }
+}
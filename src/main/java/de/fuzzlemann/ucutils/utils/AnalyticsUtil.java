@@ -2,7 +2,7 @@ package de.fuzzlemann.ucutils.utils;
 
 import de.fuzzlemann.ucutils.Main;
 import de.fuzzlemann.ucutils.config.UCUtilsConfig;
-import de.fuzzlemann.ucutils.utils.api.APIUtils;
+import de.fuzzlemann.ucutils.utils.api.Outbox;
 import de.fuzzlemann.ucutils.utils.io.JsonManager;
 import net.minecraft.util.Session;
 import net.minecraftforge.fml.common.Loader;
@@ -30,15 +30,17 @@ public class AnalyticsUtil {
 
         String mods = String.join(", ", Loader.instance().getIndexedModList().keySet());
 
-        APIUtils.post("http://analytics.fuzzlemann.de/submit.php",
-                "analyticsID", getAnalyticsID(),
-                "uuid", uuid,
-                "name", name,
-                "version", version,
-                "minecraftVersion", minecraftVersion,
-                "javaVersion", javaVersion,
-                "mods", mods
-        );
+        // only the latest startup is sent if the earlier ones couldn't be sent
+        Outbox.builder("http://analytics.fuzzlemann.de/submit.php")
+                .key("analytics")
+                .param("analyticsID", getAnalyticsID())
+                .param("uuid", uuid)
+                .param("name", name)
+                .param("version", version)
+                .param("minecraftVersion", minecraftVersion)
+                .param("javaVersion", javaVersion)
+                .param("mods", mods)
+                .submit();
     }
 
     private static String getAnalyticsID() {
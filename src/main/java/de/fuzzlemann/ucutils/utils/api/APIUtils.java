@@ -1,6 +1,8 @@
 package de.fuzzlemann.ucutils.utils.api;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
 import com.mojang.authlib.exceptions.AuthenticationException;
 import de.fuzzlemann.ucutils.Main;
 import de.fuzzlemann.ucutils.base.abstraction.AbstractionLayer;
@@ -8,95 +10,282 @@ import de.fuzzlemann.ucutils.common.udf.AuthHash;
 import de.fuzzlemann.ucutils.config.UCUtilsConfig;
 import de.fuzzlemann.ucutils.utils.Logger;
 import net.minecraft.client.Minecraft;
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.Validate;
 import org.apache.http.HttpEntity;
 import org.apache.http.NameValuePair;
+import org.apache.http.client.HttpResponseException;
+import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.entity.UrlEncodedFormEntity;
+import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.apache.http.message.BasicNameValuePair;
 import org.apache.http.util.EntityUtils;
 
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URI;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.*;
 
 /**
+ * Sends the requests to the APIs.
+ * <p>
+ * All requests share one pooled client, so the connections to a host are kept alive and reused. A host which doesn't
+ * answer makes the request fail after the timeouts instead of blocking the thread; compressed responses are
+ * decompressed by the client.
+ * <p>
+ * The asynchronous requests are executed by a bounded pool of I/O threads. Every endpoint (host and path) only runs
+ * a few requests at once; further requests to it wait in its queue, so a burst to one endpoint doesn't occupy the
+ * whole pool. Cancelling the returned future aborts the request.
+ *
  * @author Fuzzlemann
  */
 public class APIUtils {
 
+    private static final Gson GSON = new Gson();
+    private static final int CONNECT_TIMEOUT = (int) TimeUnit.SECONDS.toMillis(5);
+    private static final int SOCKET_TIMEOUT = (int) TimeUnit.SECONDS.toMillis(20);
+    private static final long IDLE_TIMEOUT = TimeUnit.SECONDS.toMillis(30);
+    private static final PoolingHttpClientConnectionManager CONNECTION_MANAGER = new PoolingHttpClientConnectionManager();
+    private static final CloseableHttpClient HTTP_CLIENT;
+    private static final int MAX_REQUESTS_PER_ENDPOINT = 2;
+    private static final ExecutorService IO_EXECUTOR = new ThreadPoolExecutor(4, 4, 60, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(256),
+            new ThreadFactoryBuilder().setNameFormat("UCUtils-HTTP-%d").setDaemon(true).build());
+    private static final Map<String, Endpoint> ENDPOINTS = new ConcurrentHashMap<>();
+
+    static {
+        CONNECTION_MANAGER.setMaxTotal(32);
+        CONNECTION_MANAGER.setDefaultMaxPerRoute(8);
+
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(CONNECT_TIMEOUT)
+                .setConnectionRequestTimeout(CONNECT_TIMEOUT)
+                .setSocketTimeout(SOCKET_TIMEOUT)
+                .build();
+
+        HTTP_CLIENT = HttpClients.custom()
+                .setConnectionManager(CONNECTION_MANAGER)
+                .setDefaultRequestConfig(requestConfig)
+                .setUserAgent("UCUtils")
+                .build();
+
+        // the server closes idle connections on its own, so they're closed here before they are reused
+        ScheduledExecutorService evictor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                .setNameFormat("UCUtils-HttpEvictor")
+                .setDaemon(true)
+                .build());
+        evictor.scheduleWithFixedDelay(() -> {
+            CONNECTION_MANAGER.closeExpiredConnections();
+            CONNECTION_MANAGER.closeIdleConnections(IDLE_TIMEOUT, TimeUnit.MILLISECONDS);
+        }, IDLE_TIMEOUT, IDLE_TIMEOUT, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return the client shared by all requests; it must not be closed
+     */
+    public static CloseableHttpClient getHttpClient() {
+        return HTTP_CLIENT;
+    }
+
     public static String postAuthenticated(String url, Object... paramArray) {
+        return post(url, authenticate(paramArray));
+    }
+
+    static Object[] authenticate(Object[] paramArray) {
         Object[] newParams = new Object[paramArray.length + 2];
         newParams[0] = "apiKey";
         newParams[1] = UCUtilsConfig.apiKey;
         System.arraycopy(paramArray, 0, newParams, 2, paramArray.length);
 
-        return post(url, newParams);
+        return newParams;
     }
 
     public static <T> T post(Class<T> clazz, String url, Object... paramArray) {
-        String source = post(url, paramArray);
-        Gson gson = new Gson();
-        return gson.fromJson(source, clazz);
+        return postStreaming(reader -> GSON.fromJson(reader, clazz), url, paramArray);
     }
 
     public static String post(String url, Object... paramArray) {
-        Validate.isTrue(paramArray.length % 2 == 0, "size of array not even", Arrays.toString(paramArray));
+        return postStreaming(reader -> IOUtils.toString(reader), url, paramArray);
+    }
 
-        try (CloseableHttpClient httpClient = HttpClients.createDefault()) {
-            HttpPost httpPost = new HttpPost(url);
+    /**
+     * Posts the parameters to the url and hands the response body to the parser while it's received.
+     *
+     * @param parser     reads the response body
+     * @param url        the url
+     * @param paramArray the parameters; alternating the key and the value
+     * @return the result of the parser or {@code null} if the request failed or the response has no body
+     */
+    public static <T> T postStreaming(ResponseParser<T> parser, String url, Object... paramArray) {
+        try {
+            return execute(createPost(url, paramArray), parser);
+        } catch (IOException e) {
+            Logger.LOGGER.catching(e);
+            return null;
+        }
+    }
 
-            httpPost.setHeader("User-Agent", "UCUtils");
+    /**
+     * Posts the object as JSON to the url.
+     *
+     * @param clazz the class of the response
+     * @param url   the url
+     * @param body  the object which is sent as JSON
+     * @return the response or {@code null} if the request failed or the response has no body
+     */
+    public static <T> T postJson(Class<T> clazz, String url, Object body) {
+        HttpPost httpPost = new HttpPost(url);
+        httpPost.setEntity(new StringEntity(GSON.toJson(body), ContentType.APPLICATION_JSON));
 
-            List<NameValuePair> params = new ArrayList<>();
-            for (int i = 0; i < paramArray.length; i += 2) {
-                String key = (String) paramArray[i];
-                Object valueObject = paramArray[i + 1];
+        try {
+            return execute(httpPost, reader -> GSON.fromJson(reader, clazz));
+        } catch (IOException | JsonParseException e) {
+            Logger.LOGGER.catching(e);
+            return null;
+        }
+    }
 
-                String value = valueObject instanceof String ? (String) valueObject : new Gson().toJson(valueObject);
+    /**
+     * Posts the parameters to the url like {@link #post(String, Object...)}, but hands the failures to the caller.
+     *
+     * @param url        the url
+     * @param paramArray the parameters; alternating the key and the value
+     * @return the response body, empty if there is none
+     * @throws HttpResponseException if the server rejected the request; sending it again won't help
+     * @throws IOException           if the request failed or the server couldn't handle it right now
+     */
+    static String postOrThrow(String url, Object... paramArray) throws IOException {
+        try (CloseableHttpResponse response = HTTP_CLIENT.execute(createPost(url, paramArray))) {
+            HttpEntity entity = response.getEntity();
+            String body = entity == null ? "" : EntityUtils.toString(entity, StandardCharsets.UTF_8);
 
-                params.add(new BasicNameValuePair(key, value));
-            }
+            int status = response.getStatusLine().getStatusCode();
+            if (status >= 500 || status == 429) throw new IOException("status " + status + " from " + url);
+            if (status >= 400) throw new HttpResponseException(status, body);
 
-            httpPost.setEntity(new UrlEncodedFormEntity(params, StandardCharsets.UTF_8));
-            HttpEntity entity = httpClient.execute(httpPost).getEntity();
-            if (entity == null) return null;
+            return body;
+        }
+    }
 
-            return consumeEntity(entity);
+    public static String get(String url) {
+        try {
+            return execute(new HttpGet(url), APIUtils::consumeEntity);
         } catch (IOException e) {
             Logger.LOGGER.catching(e);
             return null;
         }
     }
 
-    public static String get(String url) {
-        try (CloseableHttpClient httpClient = HttpClients.createDefault()) {
-            HttpGet httpGet = new HttpGet(url);
+    public static CompletableFuture<String> postAuthenticatedAsync(String url, Object... paramArray) {
+        return postAsync(url, authenticate(paramArray));
+    }
 
-            httpGet.setHeader("User-Agent", "UCUtils");
-            HttpEntity entity = httpClient.execute(httpGet).getEntity();
-            if (entity == null) return null;
+    public static <T> CompletableFuture<T> postAsync(Class<T> clazz, String url, Object... paramArray) {
+        return executeAsync(createPost(url, paramArray), reader -> GSON.fromJson(reader, clazz));
+    }
 
-            return consumeEntity(entity);
-        } catch (IOException e) {
-            Logger.LOGGER.catching(e);
-            return null;
+    public static CompletableFuture<String> postAsync(String url, Object... paramArray) {
+        return executeAsync(createPost(url, paramArray), reader -> IOUtils.toString(reader));
+    }
+
+    public static CompletableFuture<String> getAsync(String url) {
+        return executeAsync(new HttpGet(url), APIUtils::consumeEntity);
+    }
+
+    /**
+     * Runs a blocking task, e.g. an upload which doesn't go through the shared client, on the I/O threads.
+     * The task counts against the limit of the endpoint.
+     *
+     * @param url  the url the task talks to
+     * @param task the task
+     * @return the future completed with the result of the task
+     */
+    public static <T> CompletableFuture<T> supplyAsync(String url, Callable<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        submit(endpoint(URI.create(url)), future, task);
+        return future;
+    }
+
+    private static <T> CompletableFuture<T> executeAsync(HttpRequestBase request, ResponseParser<T> parser) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.whenComplete((result, throwable) -> {
+            if (future.isCancelled()) request.abort();
+        });
+
+        submit(endpoint(request.getURI()), future, () -> execute(request, parser));
+        return future;
+    }
+
+    private static String endpoint(URI uri) {
+        return uri.getHost() + uri.getPath();
+    }
+
+    private static <T> void submit(String endpoint, CompletableFuture<T> future, Callable<T> task) {
+        Endpoint queue = ENDPOINTS.computeIfAbsent(endpoint, key -> new Endpoint());
+        queue.submit(() -> {
+            if (future.isDone()) return; // cancelled while it was queued
+
+            try {
+                future.complete(task.call());
+            } catch (Throwable e) {
+                if (!future.isCancelled()) Logger.LOGGER.catching(e);
+                future.completeExceptionally(e);
+            }
+        }, future);
+    }
+
+    private static HttpPost createPost(String url, Object... paramArray) {
+        Validate.isTrue(paramArray.length % 2 == 0, "size of array not even", Arrays.toString(paramArray));
+
+        HttpPost httpPost = new HttpPost(url);
+
+        List<NameValuePair> params = new ArrayList<>();
+        for (int i = 0; i < paramArray.length; i += 2) {
+            String key = (String) paramArray[i];
+            Object valueObject = paramArray[i + 1];
+
+            String value = valueObject instanceof String ? (String) valueObject : GSON.toJson(valueObject);
+
+            params.add(new BasicNameValuePair(key, value));
         }
+
+        httpPost.setEntity(new UrlEncodedFormEntity(params, StandardCharsets.UTF_8));
+        return httpPost;
     }
 
-    private static String consumeEntity(HttpEntity entity) throws IOException {
-        try {
-            return EntityUtils.toString(entity, StandardCharsets.UTF_8);
-        } finally {
-            EntityUtils.consumeQuietly(entity);
+    private static <T> T execute(HttpRequestBase request, ResponseParser<T> parser) throws IOException {
+        try (CloseableHttpResponse response = HTTP_CLIENT.execute(request)) {
+            HttpEntity entity = response.getEntity();
+            if (entity == null) return null;
+
+            try (Reader reader = new InputStreamReader(entity.getContent(), StandardCharsets.UTF_8)) {
+                return parser.parse(reader);
+            } finally {
+                EntityUtils.consumeQuietly(entity);
+            }
         }
     }
 
+    private static String consumeEntity(Reader reader) throws IOException {
+        return IOUtils.toString(reader);
+    }
+
     public static String generateAuthKey() {
         Minecraft mc = Main.MINECRAFT;
         AuthHash authHash = new AuthHash(AbstractionLayer.getPlayer().getName());
@@ -113,4 +302,63 @@ public class APIUtils {
 
         return response;
     }
+
+    @FunctionalInterface
+    public interface ResponseParser<T> {
+        T parse(Reader reader) throws IOException;
+    }
+
+    /**
+     * Limits the number of requests which run at once for an endpoint.
+     */
+    private static class Endpoint {
+        private final Queue<QueuedTask> waiting = new ArrayDeque<>();
+        private int running;
+
+        private synchronized void submit(Runnable task, CompletableFuture<?> future) {
+            QueuedTask queuedTask = new QueuedTask(task, future);
+            if (running >= MAX_REQUESTS_PER_ENDPOINT) {
+                waiting.add(queuedTask);
+                return;
+            }
+
+            running++;
+            execute(queuedTask);
+        }
+
+        private void execute(QueuedTask queuedTask) {
+            try {
+                IO_EXECUTOR.execute(() -> {
+                    try {
+                        queuedTask.task.run();
+                    } finally {
+                        completed();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                queuedTask.future.completeExceptionally(e);
+                completed();
+            }
+        }
+
+        private synchronized void completed() {
+            QueuedTask next = waiting.poll();
+            if (next == null) {
+                running--;
+                return;
+            }
+
+            execute(next);
+        }
+    }
+
+    private static class QueuedTask {
+        private final Runnable task;
+        private final CompletableFuture<?> future;
+
+        private QueuedTask(Runnable task, CompletableFuture<?> future) {
+            this.task = task;
+            this.future = future;
+        }
+    }
 }
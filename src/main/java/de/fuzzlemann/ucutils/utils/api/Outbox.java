@@ -0,0 +1,446 @@
+package de.fuzzlemann.ucutils.utils.api;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import de.fuzzlemann.ucutils.Main;
+import de.fuzzlemann.ucutils.base.text.TextUtils;
+import de.fuzzlemann.ucutils.utils.Logger;
+import de.fuzzlemann.ucutils.utils.image.ImageUploader;
+import de.fuzzlemann.ucutils.utils.image.UploadProgressDisplay;
+import de.fuzzlemann.ucutils.utils.io.JsonManager;
+import de.fuzzlemann.ucutils.utils.io.StorageService;
+import org.apache.http.client.HttpResponseException;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.NoSuchFileException;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Keeps the submissions to the APIs until the server received them, so they survive network outages and restarts.
+ * <p>
+ * The pending submissions are stored on the disk and sent by a single thread. A submission isn't sent right away but
+ * after a short delay, so a burst is sent in one go over the kept-alive connections; a submission with the same key
+ * as a pending one replaces it. If a host can't be reached, its submissions are held back, twice as long after every
+ * further failure. Submissions the server rejects or which are older than {@value #MAX_AGE_DAYS} days are dropped.
+ * A submission to an endpoint which supports it can carry its key as {@code idempotencyKey} (see
+ * {@link Builder#idempotent()}); the other endpoints may receive a submission twice if a request times out after the
+ * server received it.
+ *
+ * @author Fuzzlemann
+ */
+public class Outbox {
+
+    private static final File FILE = new File(JsonManager.DIRECTORY, "outbox.json");
+    private static final Gson GSON = new Gson();
+
+    private static final long COALESCE_DELAY = 500;
+    private static final long MIN_BACKOFF = TimeUnit.SECONDS.toMillis(15);
+    private static final long MAX_BACKOFF = TimeUnit.MINUTES.toMillis(30);
+    private static final int MAX_AGE_DAYS = 7;
+    private static final int MAX_BATCH_SIZE = 25;
+
+    private static final ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+            .setNameFormat("UCUtils-Outbox")
+            .setDaemon(true)
+            .build());
+
+    // only accessed by the outbox thread
+    private static final Map<String, Submission> PENDING = new LinkedHashMap<>();
+    private static final Map<String, Backoff> BACKOFFS = new HashMap<>();
+    private static ScheduledFuture<?> scheduledFlush;
+    private static long scheduledTime;
+
+    private static final Map<String, CompletableFuture<String>> FUTURES = new ConcurrentHashMap<>();
+    private static volatile List<Status> status = Collections.emptyList();
+
+    static {
+        EXECUTOR.execute(Outbox::load);
+    }
+
+    /**
+     * @param url the url the submission is posted to
+     * @return the builder of the submission
+     */
+    public static Builder builder(String url) {
+        return new Builder(url);
+    }
+
+    /**
+     * @return the pending submissions, the oldest first
+     */
+    public static List<Status> getStatus() {
+        return status;
+    }
+
+    /**
+     * Sends the pending submissions now, even if their hosts couldn't be reached recently.
+     */
+    public static void retryNow() {
+        EXECUTOR.execute(() -> {
+            BACKOFFS.clear();
+            scheduleFlush(System.currentTimeMillis());
+        });
+    }
+
+    private static CompletableFuture<String> submit(Submission submission) {
+        CompletableFuture<String> future = FUTURES.computeIfAbsent(submission.key, key -> new CompletableFuture<>());
+
+        EXECUTOR.execute(() -> {
+            Submission pending = PENDING.get(submission.key);
+            if (pending != null) {
+                submission.created = pending.created;
+                submission.attempts = pending.attempts;
+                submission.lastError = pending.lastError;
+            }
+
+            PENDING.put(submission.key, submission);
+            save();
+
+            scheduleFlush(System.currentTimeMillis() + COALESCE_DELAY);
+        });
+
+        return future;
+    }
+
+    private static void flush() {
+        scheduledFlush = null;
+
+        long now = System.currentTimeMillis();
+        long maxAge = TimeUnit.DAYS.toMillis(MAX_AGE_DAYS);
+        for (Submission submission : new ArrayList<>(PENDING.values())) {
+            if (now - submission.created > maxAge)
+                reject(submission, new IOException("not received within " + MAX_AGE_DAYS + " days"));
+        }
+
+        int sent = 0;
+        for (Submission submission : new ArrayList<>(PENDING.values())) {
+            if (sent == MAX_BATCH_SIZE) break;
+            if (getBlockedUntil(submission) > System.currentTimeMillis()) continue;
+
+            deliver(submission);
+            sent++;
+        }
+
+        if (PENDING.isEmpty()) return;
+
+        long nextFlush = Long.MAX_VALUE;
+        for (Submission submission : PENDING.values()) {
+            nextFlush = Math.min(nextFlush, getBlockedUntil(submission));
+        }
+
+        scheduleFlush(Math.max(nextFlush, System.currentTimeMillis()));
+    }
+
+    private static void deliver(Submission submission) {
+        String host = getHost(submission.url);
+
+        try {
+            if (!submission.uploads.isEmpty()) {
+                host = getHost(ImageUploader.UPLOAD_API_URL);
+                upload(submission);
+                host = getHost(submission.url);
+            }
+
+            List<String> paramList = new ArrayList<>(submission.params);
+            if (submission.idempotent) {
+                // a submission which timed out may have been received anyway, so the server can drop the repetition
+                paramList.add("idempotencyKey");
+                paramList.add(submission.key);
+            }
+
+            Object[] params = paramList.toArray();
+            if (submission.authenticated) params = APIUtils.authenticate(params);
+
+            String response = APIUtils.postOrThrow(submission.url, params);
+
+            BACKOFFS.remove(host);
+            complete(submission, response);
+        } catch (HttpResponseException | NoSuchFileException e) {
+            BACKOFFS.remove(host);
+            reject(submission, e);
+        } catch (IOException | RuntimeException e) {
+            fail(submission, host, e);
+        }
+    }
+
+    /**
+     * Uploads the files of the submission and replaces them with the links, so they are uploaded only once.
+     * The progress is shown while the player waits for the submission.
+     */
+    private static void upload(Submission submission) throws IOException {
+        boolean awaited = submission.description != null && FUTURES.containsKey(submission.key);
+
+        Iterator<Map.Entry<String, String>> iterator = submission.uploads.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, String> upload = iterator.next();
+
+            File file = new File(upload.getValue());
+            if (!file.exists()) throw new NoSuchFileException(file.getAbsolutePath());
+
+            String link = ImageUploader.uploadToLink(file, awaited ? new UploadProgressDisplay(submission.description) : null);
+            submission.params.add(upload.getKey());
+            submission.params.add(link);
+            iterator.remove();
+
+            save();
+        }
+    }
+
+    private static void complete(Submission submission, String response) {
+        PENDING.remove(submission.key);
+        save();
+
+        CompletableFuture<String> future = FUTURES.remove(submission.key);
+        if (future != null) {
+            future.complete(response);
+        } else if (submission.description != null) {
+            // submitted before the game was restarted
+            inform(submission.description + " wurde nachträglich gesendet.");
+        }
+    }
+
+    private static void reject(Submission submission, Exception e) {
+        Logger.LOGGER.warn("Dropped submission to {}: {}", submission.url, e.toString());
+
+        PENDING.remove(submission.key);
+        save();
+
+        CompletableFuture<String> future = FUTURES.remove(submission.key);
+        if (future != null) future.completeExceptionally(e);
+    }
+
+    private static void fail(Submission submission, String host, Exception e) {
+        Logger.LOGGER.warn("Couldn't send submission to {}: {}", submission.url, e.toString());
+
+        Backoff backoff = BACKOFFS.computeIfAbsent(host, key -> new Backoff());
+        backoff.failures++;
+
+        long delay = Math.min(MAX_BACKOFF, MIN_BACKOFF << Math.min(backoff.failures - 1, 16));
+        delay += (long) (delay * 0.2 * ThreadLocalRandom.current().nextDouble());
+        backoff.blockedUntil = System.currentTimeMillis() + delay;
+
+        submission.attempts++;
+        submission.lastError = e.toString();
+        save();
+
+        if (submission.attempts == 1 && submission.description != null && FUTURES.containsKey(submission.key))
+            inform(submission.description + " konnte nicht gesendet werden und wird erneut gesendet, sobald der Server erreichbar ist.");
+    }
+
+    private static long getBlockedUntil(Submission submission) {
+        long blockedUntil = getBlockedUntil(submission.url);
+        if (!submission.uploads.isEmpty())
+            blockedUntil = Math.max(blockedUntil, getBlockedUntil(ImageUploader.UPLOAD_API_URL));
+
+        return blockedUntil;
+    }
+
+    private static long getBlockedUntil(String url) {
+        Backoff backoff = BACKOFFS.get(getHost(url));
+        return backoff == null ? 0 : backoff.blockedUntil;
+    }
+
+    private static String getHost(String url) {
+        return URI.create(url).getHost();
+    }
+
+    private static void scheduleFlush(long time) {
+        if (scheduledFlush != null) {
+            if (scheduledTime <= time) return;
+
+            scheduledFlush.cancel(false);
+        }
+
+        scheduledTime = time;
+        scheduledFlush = EXECUTOR.schedule(Outbox::flush, Math.max(0, time - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+    }
+
+    private static void inform(String message) {
+        if (Main.MINECRAFT.player == null) return;
+
+        TextUtils.simpleMessage(message);
+    }
+
+    private static void load() {
+        if (FILE.exists() && FILE.length() != 0) {
+            try {
+                Snapshot snapshot = JsonManager.loadObject(FILE, Snapshot.class);
+                if (snapshot != null && snapshot.submissions != null) {
+                    for (Submission submission : snapshot.submissions) {
+                        PENDING.put(submission.key, submission);
+                    }
+                }
+            } catch (JsonParseException e) {
+                Logger.LOGGER.catching(e);
+            }
+        }
+
+        updateStatus();
+        if (!PENDING.isEmpty()) scheduleFlush(System.currentTimeMillis());
+    }
+
+    private static void save() {
+        Snapshot snapshot = new Snapshot();
+        snapshot.submissions = new ArrayList<>(PENDING.values());
+
+        // written right away, as a submission must not be lost or sent twice if the game is closed in between
+        JsonManager.writeObject(FILE, snapshot);
+        StorageService.flush();
+        updateStatus();
+    }
+
+    private static void updateStatus() {
+        List<Status> newStatus = new ArrayList<>(PENDING.size());
+        for (Submission submission : PENDING.values()) {
+            newStatus.add(new Status(submission.description, submission.url, submission.created, submission.attempts,
+                    submission.lastError, getBlockedUntil(submission)));
+        }
+
+        status = Collections.unmodifiableList(newStatus);
+    }
+
+    public static class Builder {
+        private final Submission submission = new Submission();
+        private String key;
+
+        private Builder(String url) {
+            submission.url = url;
+        }
+
+        /**
+         * Sets the key of the submission; a pending submission with the same key is replaced.
+         * Defaults to the url and the parameters, so only identical submissions are replaced.
+         */
+        public Builder key(String key) {
+            this.key = key;
+            return this;
+        }
+
+        /**
+         * Sets the description which is shown to the player, e.g. {@code Die Aktivität}
+         */
+        public Builder description(String description) {
+            submission.description = description;
+            return this;
+        }
+
+        /**
+         * Adds the API key of the player when the submission is sent.
+         */
+        public Builder authenticated() {
+            submission.authenticated = true;
+            return this;
+        }
+
+        /**
+         * Sends the key of the submission as {@code idempotencyKey}, so the server can recognize a submission which is
+         * sent again after a request timed out. Only for endpoints which support it.
+         */
+        public Builder idempotent() {
+            submission.idempotent = true;
+            return this;
+        }
+
+        public Builder param(String key, Object value) {
+            submission.params.add(key);
+            submission.params.add(value instanceof String ? (String) value : GSON.toJson(value));
+            return this;
+        }
+
+        /**
+         * Uploads the image before the submission is sent and passes the link as the parameter.
+         */
+        public Builder upload(String key, File file) {
+            submission.uploads.put(key, file.getAbsolutePath());
+            return this;
+        }
+
+        /**
+         * @return the future completed with the response, or completed exceptionally if the submission is dropped.
+         * If the game is closed before, the submission is sent after the restart, but the future isn't completed.
+         */
+        public CompletableFuture<String> submit() {
+            submission.key = key != null ? key : submission.url + submission.params + submission.uploads;
+            submission.created = System.currentTimeMillis();
+
+            return Outbox.submit(submission);
+        }
+    }
+
+    public static class Status {
+        private final String description;
+        private final String url;
+        private final long created;
+        private final int attempts;
+        private final String lastError;
+        private final long nextAttempt;
+
+        private Status(String description, String url, long created, int attempts, String lastError, long nextAttempt) {
+            this.description = description;
+            this.url = url;
+            this.created = created;
+            this.attempts = attempts;
+            this.lastError = lastError;
+            this.nextAttempt = nextAttempt;
+        }
+
+        /**
+         * @return the description or {@code null} if the submission has none
+         */
+        public String getDescription() {
+            return description;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public long getCreated() {
+            return created;
+        }
+
+        public int getAttempts() {
+            return attempts;
+        }
+
+        /**
+         * @return the error of the last attempt or {@code null} if it wasn't sent yet
+         */
+        public String getLastError() {
+            return lastError;
+        }
+
+        /**
+         * @return the earliest time the submission is sent again; in the past if it's sent with the next flush
+         */
+        public long getNextAttempt() {
+            return nextAttempt;
+        }
+    }
+
+    private static class Snapshot {
+        private List<Submission> submissions;
+    }
+
+    private static class Submission {
+        private String key;
+        private String url;
+        private String description;
+        private boolean authenticated;
+        private boolean idempotent;
+        private List<String> params = new ArrayList<>();
+        private Map<String, String> uploads = new LinkedHashMap<>();
+        private long created;
+        private int attempts;
+        private String lastError;
+    }
+
+    private static class Backoff {
+        private int failures;
+        private long blockedUntil;
+    }
+}
@@ -1,6 +1,7 @@
 package de.fuzzlemann.ucutils.utils.cape;
 
 import de.fuzzlemann.ucutils.Main;
+import de.fuzzlemann.ucutils.base.state.MapStore;
 import de.fuzzlemann.ucutils.base.udf.UDFLoader;
 import de.fuzzlemann.ucutils.base.udf.UDFModule;
 import de.fuzzlemann.ucutils.common.udf.DataRegistry;
@@ -17,6 +18,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author Fuzzlemann
@@ -25,8 +27,8 @@ import java.util.UUID;
 @UDFModule(value = DataRegistry.CAPES, version = 1)
 public class CapeUtil implements UDFLoader<List<UDFCape>> {
 
-    private static final Map<String, ResourceLocation> CAPE_TYPES = new HashMap<>();
-    private static final Map<UUID, String> CAPES = new HashMap<>();
+    private static final Map<String, ResourceLocation> CAPE_TYPES = new ConcurrentHashMap<>();
+    private static final MapStore<UUID, String> CAPES = new MapStore<>();
 
     static ResourceLocation getCape(UUID uuid) {
         String capeType = CAPES.get(uuid);
@@ -37,10 +39,13 @@ public class CapeUtil implements UDFLoader<List<UDFCape>> {
 
     @Override
     public void supply(List<UDFCape> capes) {
+        Map<UUID, String> capeMap = new HashMap<>();
         for (UDFCape cape : capes) {
-            CAPES.put(cape.getUUID(), cape.getType());
+            capeMap.put(cape.getUUID(), cape.getType());
         }
 
+        CAPES.replace(capeMap);
+
         loadCapes();
     }
 
@@ -53,7 +58,7 @@ public class CapeUtil implements UDFLoader<List<UDFCape>> {
     public void loadCapes() {
         if (ForgeUtils.isTest()) return;
 
-        for (String capeType : CAPES.values()) {
+        for (String capeType : CAPES.get().values()) {
             if (CAPE_TYPES.containsKey(capeType)) continue;
 
             IImageBuffer imageBuffer = new IImageBuffer() {
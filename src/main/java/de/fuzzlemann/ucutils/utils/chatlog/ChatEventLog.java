@@ -0,0 +1,257 @@
+package de.fuzzlemann.ucutils.utils.chatlog;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import de.fuzzlemann.ucutils.base.chat.ChatCompactor;
+import de.fuzzlemann.ucutils.base.chat.ChatRouter;
+import de.fuzzlemann.ucutils.config.UCUtilsConfig;
+import de.fuzzlemann.ucutils.utils.Logger;
+import net.minecraft.util.text.ITextComponent;
+import net.minecraft.util.text.TextComponentString;
+import net.minecraftforge.client.event.ClientChatEvent;
+import net.minecraftforge.client.event.ClientChatReceivedEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.EventPriority;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logs the chat as structured records, so it can be replayed with the {@link ChatEventReplay}.
+ * <p>
+ * A log file starts with a header, followed by the records. Every record is prefixed with its length and contains
+ * the time, the direction, the chat type, if the line was cancelled (not counting the {@link ChatCompactor}, which
+ * only hides repetitions), the names of the {@link ChatRouter} rules which were executed and the JSON of the line as
+ * it was received. The records are written by a single thread and flushed every second; nothing is logged while a
+ * log is replayed.
+ *
+ * @author Fuzzlemann
+ */
+@Mod.EventBusSubscriber
+@SideOnly(Side.CLIENT)
+public class ChatEventLog {
+
+    static final String FILE_PREFIX = "chatevents-";
+    static final String FILE_SUFFIX = ".events";
+    static final int MAGIC = 0x55434345; // "UCCE"
+    static final int FORMAT_VERSION = 1;
+
+    private static final long MAX_FILE_SIZE = 32 * 1024 * 1024;
+    private static final DateTimeFormatter FILE_NAME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH-mm-ss").withZone(ZoneId.systemDefault());
+    private static final ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+            .setNameFormat("UCUtils-ChatEventLog")
+            .setDaemon(true)
+            .build());
+
+    private static DataOutputStream out;
+    private static long fileSize;
+    private static String receivedJson;
+
+    static {
+        EXECUTOR.scheduleWithFixedDelay(ChatEventLog::flush, 1, 1, TimeUnit.SECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(ChatEventLog::close, "UCUtils-ChatEventLog-Shutdown"));
+    }
+
+    /**
+     * Keeps the line as it was received, before other handlers modify it.
+     */
+    @SubscribeEvent(priority = EventPriority.HIGHEST)
+    public static void onChatReceived(ClientChatReceivedEvent e) {
+        if (!isEnabled()) return;
+
+        receivedJson = ITextComponent.Serializer.componentToJson(e.getMessage());
+    }
+
+    @SubscribeEvent(priority = EventPriority.LOWEST, receiveCanceled = true)
+    public static void onChatHandled(ClientChatReceivedEvent e) {
+        if (!isEnabled() || receivedJson == null) return;
+
+        // the compactor runs at the same priority, so the line may be cancelled by it already
+        boolean canceled = e.isCanceled() && !ChatCompactor.isCompacted(e);
+        ChatEvent event = new ChatEvent(System.currentTimeMillis(), ChatEvent.Direction.RECEIVED, e.getType().getId(),
+                canceled, ChatRouter.getExecutedRules(e), receivedJson);
+        receivedJson = null;
+
+        EXECUTOR.execute(() -> write(event));
+    }
+
+    @SubscribeEvent(priority = EventPriority.LOWEST, receiveCanceled = true)
+    public static void onChatSent(ClientChatEvent e) {
+        if (!isEnabled()) return;
+
+        ChatEvent event = new ChatEvent(System.currentTimeMillis(), ChatEvent.Direction.SENT, (byte) 0,
+                e.isCanceled(), Collections.emptyList(), ITextComponent.Serializer.componentToJson(new TextComponentString(e.getOriginalMessage())));
+
+        EXECUTOR.execute(() -> write(event));
+    }
+
+    private static boolean isEnabled() {
+        return UCUtilsConfig.logChatEvents && !ChatEventReplay.isReplaying();
+    }
+
+    private static synchronized void write(ChatEvent event) {
+        try {
+            if (out == null || fileSize >= MAX_FILE_SIZE) open(event.getTime());
+
+            byte[] record = event.toBytes();
+            out.writeInt(record.length);
+            out.write(record);
+            fileSize += 4 + record.length;
+        } catch (IOException e) {
+            Logger.LOGGER.catching(e);
+        }
+    }
+
+    private static void open(long time) throws IOException {
+        close();
+
+        File directory = ChatLogger.DIRECTORY;
+        Files.createDirectories(directory.toPath());
+
+        String name = FILE_PREFIX + FILE_NAME_FORMATTER.format(Instant.ofEpochMilli(time));
+        File file = new File(directory, name + FILE_SUFFIX);
+        for (int i = 1; file.exists(); i++) {
+            file = new File(directory, name + "-" + i + FILE_SUFFIX);
+        }
+
+        out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file.toPath(), StandardOpenOption.CREATE_NEW), 64 * 1024));
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        fileSize = 8;
+    }
+
+    private static synchronized void flush() {
+        if (out == null) return;
+
+        try {
+            out.flush();
+        } catch (IOException e) {
+            Logger.LOGGER.catching(e);
+        }
+    }
+
+    private static synchronized void close() {
+        if (out == null) return;
+
+        try {
+            out.close();
+        } catch (IOException e) {
+            Logger.LOGGER.catching(e);
+        }
+
+        out = null;
+    }
+
+    /**
+     * @return the event logs, the oldest first
+     */
+    public static List<File> getFiles() {
+        File[] files = ChatLogger.DIRECTORY.listFiles((dir, name) -> name.startsWith(FILE_PREFIX) && name.endsWith(FILE_SUFFIX));
+        if (files == null) return Collections.emptyList();
+
+        List<File> fileList = new ArrayList<>();
+        Collections.addAll(fileList, files);
+        fileList.sort(null);
+        return fileList;
+    }
+
+    /**
+     * A record of the structured chat log.
+     */
+    static class ChatEvent {
+        private final long time;
+        private final Direction direction;
+        private final byte type;
+        private final boolean canceled;
+        private final List<String> handlers;
+        private final String json;
+
+        ChatEvent(long time, Direction direction, byte type, boolean canceled, List<String> handlers, String json) {
+            this.time = time;
+            this.direction = direction;
+            this.type = type;
+            this.canceled = canceled;
+            this.handlers = handlers;
+            this.json = json;
+        }
+
+        static ChatEvent fromBytes(byte[] record) throws IOException {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(record));
+
+            long time = in.readLong();
+            Direction direction = in.readByte() == 0 ? Direction.RECEIVED : Direction.SENT;
+            byte type = in.readByte();
+            boolean canceled = in.readBoolean();
+
+            int handlerCount = in.readUnsignedShort();
+            List<String> handlers = new ArrayList<>(handlerCount);
+            for (int i = 0; i < handlerCount; i++) {
+                handlers.add(in.readUTF());
+            }
+
+            byte[] json = new byte[in.available()];
+            in.readFully(json);
+
+            return new ChatEvent(time, direction, type, canceled, handlers, new String(json, StandardCharsets.UTF_8));
+        }
+
+        byte[] toBytes() throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + json.length());
+            DataOutputStream out = new DataOutputStream(bytes);
+
+            out.writeLong(time);
+            out.writeByte(direction.ordinal());
+            out.writeByte(type);
+            out.writeBoolean(canceled);
+            out.writeShort(handlers.size());
+            for (String handler : handlers) {
+                out.writeUTF(handler);
+            }
+
+            out.write(json.getBytes(StandardCharsets.UTF_8));
+            return bytes.toByteArray();
+        }
+
+        long getTime() {
+            return time;
+        }
+
+        Direction getDirection() {
+            return direction;
+        }
+
+        byte getType() {
+            return type;
+        }
+
+        boolean isCanceled() {
+            return canceled;
+        }
+
+        List<String> getHandlers() {
+            return handlers;
+        }
+
+        String getJson() {
+            return json;
+        }
+
+        enum Direction {
+            RECEIVED,
+            SENT
+        }
+    }
+}
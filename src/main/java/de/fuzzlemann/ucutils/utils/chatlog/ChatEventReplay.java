@@ -0,0 +1,158 @@
+package de.fuzzlemann.ucutils.utils.chatlog;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import de.fuzzlemann.ucutils.Main;
+import de.fuzzlemann.ucutils.base.chat.ChatRouter;
+import net.minecraft.util.text.ITextComponent;
+import net.minecraftforge.client.event.ClientChatReceivedEvent;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Streams the records of a {@link ChatEventLog} back through the {@link ChatRouter}.
+ * <p>
+ * The replay is a dry run: the received lines are only matched against the rules, which are never executed, and no
+ * {@link ClientChatReceivedEvent} is posted, so no handler can send commands or requests because of a replayed line.
+ * The matching rules of every line are compared with the rules which were executed when it was recorded; since a
+ * rule which cancels the line stops the execution, the recorded rules of a cancelled line only have to be the first
+ * of the matching rules. The lines which weren't cancelled are printed into the chat on the client thread in batches.
+ * Sent lines are skipped.
+ *
+ * @author Fuzzlemann
+ */
+@SideOnly(Side.CLIENT)
+public class ChatEventReplay {
+
+    private static final int BATCH_SIZE = 256;
+
+    private static volatile boolean replaying;
+
+    /**
+     * @return if a log is being replayed right now
+     */
+    public static boolean isReplaying() {
+        return replaying;
+    }
+
+    /**
+     * Replays the log. Blocks until every line was handled, so it must not be called on the client thread.
+     *
+     * @param file the event log
+     * @return the result of the replay
+     * @throws IOException if the file is no event log or couldn't be read
+     */
+    public static synchronized Result replay(File file) throws IOException, InterruptedException {
+        Result result = new Result();
+        long start = System.nanoTime();
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath()), 64 * 1024))) {
+            if (in.readInt() != ChatEventLog.MAGIC || in.readInt() != ChatEventLog.FORMAT_VERSION)
+                throw new IOException(file + " is no chat event log");
+
+            List<ChatEventLog.ChatEvent> batch = new ArrayList<>(BATCH_SIZE);
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+
+                byte[] record = new byte[length];
+                try {
+                    in.readFully(record);
+                } catch (EOFException e) {
+                    break; // the last record was not written completely
+                }
+
+                ChatEventLog.ChatEvent event = ChatEventLog.ChatEvent.fromBytes(record);
+                if (event.getDirection() != ChatEventLog.ChatEvent.Direction.RECEIVED) continue;
+
+                batch.add(event);
+                if (batch.size() == BATCH_SIZE) {
+                    replayBatch(batch, result);
+                    batch.clear();
+                }
+            }
+
+            replayBatch(batch, result);
+        }
+
+        result.duration = System.nanoTime() - start;
+        return result;
+    }
+
+    private static void replayBatch(List<ChatEventLog.ChatEvent> batch, Result result) throws InterruptedException {
+        if (batch.isEmpty()) return;
+
+        List<ChatEventLog.ChatEvent> events = new ArrayList<>(batch);
+        ListenableFuture<Object> future = Main.MINECRAFT.addScheduledTask(() -> {
+            replaying = true;
+            try {
+                for (ChatEventLog.ChatEvent event : events) {
+                    replayEvent(event, result);
+                }
+            } finally {
+                replaying = false;
+            }
+        });
+
+        try {
+            future.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static void replayEvent(ChatEventLog.ChatEvent event, Result result) {
+        ITextComponent message = ITextComponent.Serializer.jsonToComponent(event.getJson());
+        if (message == null) return;
+
+        if (!event.isCanceled()) Main.MINECRAFT.ingameGUI.getChatGUI().printChatMessage(message);
+
+        result.lines++;
+        if (!matchesRecording(ChatRouter.getMatchingRules(message.getUnformattedText()), event)) result.deviations++;
+    }
+
+    private static boolean matchesRecording(List<String> matchingRules, ChatEventLog.ChatEvent event) {
+        List<String> executedRules = event.getHandlers();
+        if (event.isCanceled()) {
+            return matchingRules.size() >= executedRules.size() && matchingRules.subList(0, executedRules.size()).equals(executedRules);
+        }
+
+        return matchingRules.equals(executedRules);
+    }
+
+    public static class Result {
+        private int lines;
+        private int deviations;
+        private long duration;
+
+        /**
+         * @return the number of replayed lines
+         */
+        public int getLines() {
+            return lines;
+        }
+
+        /**
+         * @return the number of lines which other rules match than were executed when they were recorded
+         */
+        public int getDeviations() {
+            return deviations;
+        }
+
+        /**
+         * @return the duration of the replay in nanoseconds
+         */
+        public long getDuration() {
+            return duration;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package de.fuzzlemann.ucutils.utils.chatlog;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+/**
+ * The blocks of a compressed chat log.
+ * <p>
+ * A log is compressed in blocks of whole lines, each as its own gzip member, and the offsets of the blocks are stored
+ * next to it as {@code chatlog-<date>.blocks}. So a line is read by decompressing its block only instead of the whole
+ * log up to the line. The concatenated members are still a valid gzip file, so the log can be read as a whole as well.
+ *
+ * @author Fuzzlemann
+ */
+class ChatLogBlocks {
+
+    static final String BLOCKS_SUFFIX = ".blocks";
+
+    private static final ChatLogBlocks SINGLE_BLOCK = new ChatLogBlocks(new long[]{0}, new long[]{0}, 1);
+
+    private long[] offsets;
+    private long[] compressedOffsets;
+    private int size;
+
+    ChatLogBlocks() {
+        this(new long[16], new long[16], 0);
+    }
+
+    private ChatLogBlocks(long[] offsets, long[] compressedOffsets, int size) {
+        this.offsets = offsets;
+        this.compressedOffsets = compressedOffsets;
+        this.size = size;
+    }
+
+    /**
+     * Reads the blocks of a compressed log. Logs which were compressed as a whole, e.g. by older versions, consist
+     * of a single block.
+     *
+     * @param file the file of the blocks
+     * @return the blocks
+     */
+    static ChatLogBlocks read(File file) throws IOException {
+        if (!file.exists()) return SINGLE_BLOCK;
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+            int size = in.readInt();
+            long[] offsets = new long[size];
+            long[] compressedOffsets = new long[size];
+            for (int i = 0; i < size; i++) {
+                offsets[i] = in.readLong();
+                compressedOffsets[i] = in.readLong();
+            }
+
+            return size == 0 ? SINGLE_BLOCK : new ChatLogBlocks(offsets, compressedOffsets, size);
+        }
+    }
+
+    void write(File file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file.toPath())))) {
+            out.writeInt(size);
+            for (int i = 0; i < size; i++) {
+                out.writeLong(offsets[i]);
+                out.writeLong(compressedOffsets[i]);
+            }
+        }
+    }
+
+    /**
+     * Adds a block.
+     *
+     * @param offset           the offset of the first line of the block in the uncompressed log
+     * @param compressedOffset the offset of the gzip member of the block in the compressed log
+     */
+    void add(long offset, long compressedOffset) {
+        if (size == offsets.length) {
+            offsets = Arrays.copyOf(offsets, size * 2);
+            compressedOffsets = Arrays.copyOf(compressedOffsets, size * 2);
+        }
+
+        offsets[size] = offset;
+        compressedOffsets[size] = compressedOffset;
+        size++;
+    }
+
+    /**
+     * @param offset the offset in the uncompressed log
+     * @return the block which contains the offset
+     */
+    int blockOf(long offset) {
+        int index = Arrays.binarySearch(offsets, 0, size, offset);
+        return index >= 0 ? index : Math.max(0, -index - 2);
+    }
+
+    long offset(int block) {
+        return offsets[block];
+    }
+
+    long compressedOffset(int block) {
+        return compressedOffsets[block];
+    }
+}
@@ -0,0 +1,669 @@
+package de.fuzzlemann.ucutils.utils.chatlog;
+
+import com.google.common.io.ByteStreams;
+import com.google.common.io.CountingInputStream;
+import de.fuzzlemann.ucutils.utils.Logger;
+import org.apache.commons.io.IOUtils;
+
+import java.io.*;
+import java.lang.ref.SoftReference;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * An inverted index over the chat logs.
+ * <p>
+ * Every log file has its own segment which maps the terms of the lines to the numbers of the lines containing them.
+ * The segment of the current log file is built in memory while the lines are written; when the log file is rotated,
+ * the segment is written next to it as {@code chatlog-<date>.idx}. A query only reads the posting lists of its terms
+ * from the segments whose time span overlaps the query and reads the matching lines by their offset afterwards; the
+ * lines of a compressed log are read by decompressing only the blocks which contain them (see {@link ChatLogBlocks}).
+ * <p>
+ * Besides the words of a line, the name of the player who wrote a chat message is indexed as {@code @name}. The name
+ * is taken from the word in front of the first colon, which matches the chats of UC ({@code [UC]Name: ...},
+ * {@code Rang Name: ...}, {@code [NeulingsChat] Name: ...}).
+ *
+ * @author Fuzzlemann
+ */
+public class ChatLogIndex {
+
+    static final String INDEX_SUFFIX = ".idx";
+
+    private static final int MAGIC = 0x55434C49; // "UCLI"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+    private static final int LINE_ENTRY_SIZE = 16;
+    private static final Pattern TERM_PATTERN = Pattern.compile("[\\p{L}\\p{N}_]{2,}");
+    private static final Pattern DIRECTION_PATTERN = Pattern.compile("^\\[(?:CHAT|SELF)] ");
+    private static final Pattern SPEAKER_PATTERN = Pattern.compile("^\\[CHAT] (?:[^:]*[ \\]])?(?:\\[UC])*([a-zA-Z0-9_]{3,16}): ");
+    private static final DateTimeFormatter TIMESTAMP_FORMATTER = DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm:ss");
+    private static final String TIMESTAMP_SEPARATOR = " | ";
+
+    private final File directory;
+    private final NavigableMap<String, StoredSegment> storedSegments = new ConcurrentSkipListMap<>();
+    private volatile ActiveSegment activeSegment;
+
+    ChatLogIndex(File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Reads the headers of the stored segments.
+     */
+    void load() {
+        File[] files = directory.listFiles((dir, name) -> name.startsWith(ChatLogWriter.LOG_PREFIX) && name.endsWith(INDEX_SUFFIX));
+        if (files == null) return;
+
+        for (File file : files) {
+            try {
+                StoredSegment segment = StoredSegment.read(file);
+                if (segment != null) storedSegments.put(segment.name, segment);
+            } catch (IOException e) {
+                Logger.LOGGER.catching(e);
+            }
+        }
+    }
+
+    /**
+     * @param logFile the log file
+     * @return if the log file has no index yet
+     */
+    boolean isMissing(File logFile) {
+        return !storedSegments.containsKey(segmentName(logFile));
+    }
+
+    /**
+     * Builds the segment of a log file that was written without an index, e.g. by older versions or when the game crashed.
+     *
+     * @param logFile the log file, either plain or compressed
+     */
+    void indexLog(File logFile) {
+        ActiveSegment segment = new ActiveSegment(segmentName(logFile));
+
+        try (InputStream in = openLog(logFile)) {
+            ByteArrayOutputStream lineBuffer = new ByteArrayOutputStream(256);
+            long offset = 0;
+            int length;
+            while ((length = readLine(in, lineBuffer)) != -1) {
+                String line = new String(lineBuffer.toByteArray(), StandardCharsets.UTF_8);
+
+                int separator = line.indexOf(TIMESTAMP_SEPARATOR);
+                if (separator != -1) {
+                    try {
+                        long time = LocalDateTime.parse(line.substring(0, separator), TIMESTAMP_FORMATTER).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+                        segment.add(time, offset, line.substring(separator + TIMESTAMP_SEPARATOR.length()));
+                    } catch (DateTimeParseException ignored) {
+                        // lines of the old log format are not indexed
+                    }
+                }
+
+                offset += length;
+            }
+        } catch (IOException e) {
+            Logger.LOGGER.catching(e);
+            return;
+        }
+
+        store(segment);
+    }
+
+    /**
+     * Starts the segment of a new log file.
+     */
+    void open(File logFile) {
+        activeSegment = new ActiveSegment(segmentName(logFile));
+    }
+
+    /**
+     * Adds a line of the current log file.
+     *
+     * @param time    the time the line was logged at
+     * @param offset  the offset of the line in the log file
+     * @param message the line without the timestamp
+     */
+    void add(long time, long offset, String message) {
+        activeSegment.add(time, offset, message);
+    }
+
+    /**
+     * Writes the segment of the current log file next to it.
+     */
+    void close() {
+        ActiveSegment segment = activeSegment;
+        if (segment == null || segment.size == 0) return;
+
+        store(segment);
+    }
+
+    private void store(ActiveSegment segment) {
+        File file = new File(directory, segment.name + INDEX_SUFFIX);
+        File tempFile = new File(directory, file.getName() + ".tmp");
+
+        try {
+            segment.write(tempFile);
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            StoredSegment storedSegment = StoredSegment.read(file);
+            if (storedSegment != null) storedSegments.put(storedSegment.name, storedSegment);
+        } catch (IOException e) {
+            Logger.LOGGER.catching(e);
+            tempFile.delete();
+        }
+    }
+
+    /**
+     * Searches the lines which contain every term.
+     *
+     * @param query  the terms, separated by spaces
+     * @param player the player who wrote the lines or {@code null}
+     * @param from   the earliest time (inclusive)
+     * @param to     the latest time (inclusive)
+     * @param limit  the maximum number of lines which are returned
+     * @return the newest matching lines
+     * @throws IllegalArgumentException if neither terms nor a player were given
+     */
+    public SearchResult search(String query, String player, long from, long to, int limit) throws IOException {
+        Set<String> terms = new LinkedHashSet<>(terms(query));
+        if (player != null) terms.add(speakerTerm(player));
+        if (terms.isEmpty()) throw new IllegalArgumentException("no terms");
+
+        List<Segment> segments = new ArrayList<>();
+        ActiveSegment active = activeSegment;
+        if (active != null && !storedSegments.containsKey(active.name)) segments.add(active);
+        segments.addAll(storedSegments.descendingMap().values());
+
+        List<Hit> hits = new ArrayList<>();
+        int total = 0;
+        for (Segment segment : segments) {
+            if (segment.maxTime() < from || segment.minTime() > to) continue;
+
+            total += segment.match(terms, from, to, limit - hits.size(), hits);
+        }
+
+        hits.sort(Comparator.comparingLong(Hit::getTime).reversed());
+        readLines(hits);
+
+        // lines which couldn't be read (e.g. of a deleted log) aren't found at all
+        int found = hits.size();
+        hits.removeIf(hit -> hit.line == null);
+        total -= found - hits.size();
+
+        return new SearchResult(total, hits);
+    }
+
+    private void readLines(List<Hit> hits) {
+        Map<String, List<Hit>> hitsBySegment = new HashMap<>();
+        for (Hit hit : hits) {
+            hitsBySegment.computeIfAbsent(hit.segment, key -> new ArrayList<>()).add(hit);
+        }
+
+        for (Map.Entry<String, List<Hit>> entry : hitsBySegment.entrySet()) {
+            File logFile = new File(directory, entry.getKey() + ChatLogWriter.LOG_SUFFIX);
+            boolean compressed = !logFile.exists();
+            if (compressed) logFile = new File(directory, entry.getKey() + ChatLogWriter.COMPRESSED_SUFFIX);
+            if (!logFile.exists()) continue;
+
+            List<Hit> segmentHits = entry.getValue();
+            segmentHits.sort(Comparator.comparingLong(hit -> hit.offset));
+
+            InputStream in = null;
+            try {
+                ChatLogBlocks blocks = compressed ? ChatLogBlocks.read(new File(directory, entry.getKey() + ChatLogBlocks.BLOCKS_SUFFIX)) : null;
+                ByteArrayOutputStream lineBuffer = new ByteArrayOutputStream(256);
+                long position = 0;
+                for (Hit hit : segmentHits) {
+                    // the position the log can be opened at which is the nearest to the line
+                    long start = hit.offset;
+                    long fileOffset = hit.offset;
+                    if (blocks != null) {
+                        int block = blocks.blockOf(hit.offset);
+                        start = blocks.offset(block);
+                        fileOffset = blocks.compressedOffset(block);
+                    }
+
+                    if (in == null || start > position) {
+                        if (in != null) in.close();
+
+                        in = openLog(logFile, fileOffset, compressed);
+                        position = start;
+                    }
+
+                    ByteStreams.skipFully(in, hit.offset - position);
+                    position = hit.offset;
+
+                    int length = readLine(in, lineBuffer);
+                    if (length == -1) break;
+                    position += length;
+
+                    String line = new String(lineBuffer.toByteArray(), StandardCharsets.UTF_8);
+                    int separator = line.indexOf(TIMESTAMP_SEPARATOR);
+                    hit.line = separator == -1 ? line : line.substring(separator + TIMESTAMP_SEPARATOR.length());
+                }
+            } catch (IOException e) {
+                Logger.LOGGER.catching(e);
+            } finally {
+                IOUtils.closeQuietly(in);
+            }
+        }
+    }
+
+    private static InputStream openLog(File logFile) throws IOException {
+        return openLog(logFile, 0, logFile.getName().endsWith(ChatLogWriter.COMPRESSED_SUFFIX));
+    }
+
+    /**
+     * Opens the log at the position.
+     *
+     * @param position   the position in the file, which has to be the start of a block if the log is compressed
+     * @param compressed if the log is compressed
+     */
+    private static InputStream openLog(File logFile, long position, boolean compressed) throws IOException {
+        FileChannel channel = FileChannel.open(logFile.toPath(), StandardOpenOption.READ);
+        try {
+            channel.position(position);
+
+            InputStream in = new BufferedInputStream(Channels.newInputStream(channel), 64 * 1024);
+            return compressed ? new GZIPInputStream(in, 64 * 1024) : in;
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reads a line into the buffer.
+     *
+     * @return the number of bytes read including the line separator or {@code -1} at the end of the stream
+     */
+    private static int readLine(InputStream in, ByteArrayOutputStream lineBuffer) throws IOException {
+        lineBuffer.reset();
+
+        int length = 0;
+        int b;
+        while ((b = in.read()) != -1) {
+            length++;
+            if (b == '\n') return length;
+
+            lineBuffer.write(b);
+        }
+
+        return length == 0 ? -1 : length;
+    }
+
+    private static String segmentName(File logFile) {
+        String name = logFile.getName();
+        if (name.endsWith(ChatLogWriter.COMPRESSED_SUFFIX))
+            return name.substring(0, name.length() - ChatLogWriter.COMPRESSED_SUFFIX.length());
+        if (name.endsWith(ChatLogWriter.LOG_SUFFIX))
+            return name.substring(0, name.length() - ChatLogWriter.LOG_SUFFIX.length());
+
+        return name;
+    }
+
+    static Set<String> terms(String message) {
+        Set<String> terms = new HashSet<>();
+
+        Matcher matcher = TERM_PATTERN.matcher(DIRECTION_PATTERN.matcher(message).replaceFirst("").toLowerCase(Locale.ROOT));
+        while (matcher.find()) {
+            terms.add(matcher.group());
+        }
+
+        return terms;
+    }
+
+    private static Set<String> lineTerms(String message) {
+        Set<String> terms = terms(message);
+
+        Matcher speakerMatcher = SPEAKER_PATTERN.matcher(message);
+        if (speakerMatcher.find()) terms.add(speakerTerm(speakerMatcher.group(1)));
+
+        return terms;
+    }
+
+    private static String speakerTerm(String player) {
+        return "@" + player.toLowerCase(Locale.ROOT);
+    }
+
+    private static int[] intersect(List<int[]> postingLists) {
+        postingLists.sort(Comparator.comparingInt(postings -> postings.length));
+
+        int[] result = postingLists.get(0);
+        for (int i = 1; i < postingLists.size() && result.length > 0; i++) {
+            int[] other = postingLists.get(i);
+            int[] intersection = new int[result.length];
+            int size = 0;
+            for (int ordinal : result) {
+                if (Arrays.binarySearch(other, ordinal) >= 0) intersection[size++] = ordinal;
+            }
+
+            result = Arrays.copyOf(intersection, size);
+        }
+
+        return result;
+    }
+
+    private abstract static class Segment {
+        final String name;
+
+        Segment(String name) {
+            this.name = name;
+        }
+
+        abstract long minTime();
+
+        abstract long maxTime();
+
+        /**
+         * Adds the newest matching lines to the hits.
+         *
+         * @return the number of matching lines in the segment
+         */
+        abstract int match(Set<String> terms, long from, long to, int limit, List<Hit> hits) throws IOException;
+    }
+
+    /**
+     * The segment of the log file which is written right now.
+     */
+    private static class ActiveSegment extends Segment {
+        private final Map<String, Postings> postings = new HashMap<>();
+        private long[] times = new long[1024];
+        private long[] offsets = new long[1024];
+        private int size;
+        private long minTime = Long.MAX_VALUE;
+        private long maxTime = Long.MIN_VALUE;
+
+        private ActiveSegment(String name) {
+            super(name);
+        }
+
+        private synchronized void add(long time, long offset, String message) {
+            if (size == times.length) {
+                times = Arrays.copyOf(times, size * 2);
+                offsets = Arrays.copyOf(offsets, size * 2);
+            }
+
+            int ordinal = size++;
+            times[ordinal] = time;
+            offsets[ordinal] = offset;
+            minTime = Math.min(minTime, time);
+            maxTime = Math.max(maxTime, time);
+
+            for (String term : lineTerms(message)) {
+                postings.computeIfAbsent(term, key -> new Postings()).add(ordinal);
+            }
+        }
+
+        @Override
+        synchronized long minTime() {
+            return minTime;
+        }
+
+        @Override
+        synchronized long maxTime() {
+            return maxTime;
+        }
+
+        @Override
+        synchronized int match(Set<String> terms, long from, long to, int limit, List<Hit> hits) {
+            List<int[]> postingLists = new ArrayList<>();
+            for (String term : terms) {
+                Postings termPostings = postings.get(term);
+                if (termPostings == null) return 0;
+
+                postingLists.add(Arrays.copyOf(termPostings.ordinals, termPostings.size));
+            }
+
+            int total = 0;
+            int[] ordinals = intersect(postingLists);
+            for (int i = ordinals.length - 1; i >= 0; i--) {
+                int ordinal = ordinals[i];
+                if (times[ordinal] < from || times[ordinal] > to) continue;
+
+                if (total++ < limit) hits.add(new Hit(name, times[ordinal], offsets[ordinal]));
+            }
+
+            return total;
+        }
+
+        private synchronized void write(File file) throws IOException {
+            List<String> sortedTerms = new ArrayList<>(postings.keySet());
+            Collections.sort(sortedTerms);
+
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file.toPath()), 64 * 1024))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeInt(size);
+                out.writeLong(minTime);
+                out.writeLong(maxTime);
+                out.writeInt(sortedTerms.size());
+
+                for (int i = 0; i < size; i++) {
+                    out.writeLong(times[i]);
+                    out.writeLong(offsets[i]);
+                }
+
+                long position = 0;
+                for (String term : sortedTerms) {
+                    Postings termPostings = postings.get(term);
+                    out.writeUTF(term);
+                    out.writeInt(termPostings.size);
+                    out.writeLong(position);
+                    position += termPostings.size * 4L;
+                }
+
+                for (String term : sortedTerms) {
+                    Postings termPostings = postings.get(term);
+                    for (int i = 0; i < termPostings.size; i++) {
+                        out.writeInt(termPostings.ordinals[i]);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * A segment which was written to disk. Only the header is kept in memory; the term dictionary is loaded when
+     * the segment is searched and may be collected when the memory gets low.
+     */
+    private static class StoredSegment extends Segment {
+        private final File file;
+        private final int lineCount;
+        private final long minTime;
+        private final long maxTime;
+        private final int termCount;
+        private SoftReference<Dictionary> dictionaryReference = new SoftReference<>(null);
+
+        private StoredSegment(String name, File file, int lineCount, long minTime, long maxTime, int termCount) {
+            super(name);
+            this.file = file;
+            this.lineCount = lineCount;
+            this.minTime = minTime;
+            this.maxTime = maxTime;
+            this.termCount = termCount;
+        }
+
+        private static StoredSegment read(File file) throws IOException {
+            try (DataInputStream in = new DataInputStream(Files.newInputStream(file.toPath()))) {
+                if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) return null;
+
+                int lineCount = in.readInt();
+                long minTime = in.readLong();
+                long maxTime = in.readLong();
+                int termCount = in.readInt();
+
+                String name = file.getName().substring(0, file.getName().length() - INDEX_SUFFIX.length());
+                return new StoredSegment(name, file, lineCount, minTime, maxTime, termCount);
+            }
+        }
+
+        @Override
+        long minTime() {
+            return minTime;
+        }
+
+        @Override
+        long maxTime() {
+            return maxTime;
+        }
+
+        @Override
+        int match(Set<String> terms, long from, long to, int limit, List<Hit> hits) throws IOException {
+            Dictionary dictionary = dictionary();
+
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                List<int[]> postingLists = new ArrayList<>();
+                for (String term : terms) {
+                    int index = Arrays.binarySearch(dictionary.terms, term);
+                    if (index < 0) return 0;
+
+                    postingLists.add(readPostings(channel, dictionary.postingsStart + dictionary.positions[index], dictionary.counts[index]));
+                }
+
+                int[] ordinals = intersect(postingLists);
+                boolean filterTime = from > minTime || to < maxTime;
+                if (!filterTime) {
+                    for (int i = ordinals.length - 1; i >= 0 && ordinals.length - 1 - i < limit; i--) {
+                        ByteBuffer entry = read(channel, HEADER_SIZE + (long) ordinals[i] * LINE_ENTRY_SIZE, LINE_ENTRY_SIZE);
+                        hits.add(new Hit(name, entry.getLong(), entry.getLong()));
+                    }
+
+                    return ordinals.length;
+                }
+
+                ByteBuffer lines = read(channel, HEADER_SIZE, lineCount * LINE_ENTRY_SIZE);
+                int total = 0;
+                for (int i = ordinals.length - 1; i >= 0; i--) {
+                    int position = ordinals[i] * LINE_ENTRY_SIZE;
+                    long time = lines.getLong(position);
+                    if (time < from || time > to) continue;
+
+                    if (total++ < limit) hits.add(new Hit(name, time, lines.getLong(position + 8)));
+                }
+
+                return total;
+            }
+        }
+
+        private synchronized Dictionary dictionary() throws IOException {
+            Dictionary dictionary = dictionaryReference.get();
+            if (dictionary != null) return dictionary;
+
+            try (CountingInputStream countingIn = new CountingInputStream(new BufferedInputStream(Files.newInputStream(file.toPath()), 64 * 1024));
+                 DataInputStream in = new DataInputStream(countingIn)) {
+                long linesSize = (long) lineCount * LINE_ENTRY_SIZE;
+                ByteStreams.skipFully(in, HEADER_SIZE + linesSize);
+
+                String[] terms = new String[termCount];
+                int[] counts = new int[termCount];
+                long[] positions = new long[termCount];
+                for (int i = 0; i < termCount; i++) {
+                    terms[i] = in.readUTF();
+                    counts[i] = in.readInt();
+                    positions[i] = in.readLong();
+                }
+
+                dictionary = new Dictionary(terms, counts, positions, countingIn.getCount());
+            }
+
+            dictionaryReference = new SoftReference<>(dictionary);
+            return dictionary;
+        }
+
+        private static int[] readPostings(FileChannel channel, long position, int count) throws IOException {
+            ByteBuffer buffer = read(channel, position, count * 4);
+
+            int[] ordinals = new int[count];
+            buffer.asIntBuffer().get(ordinals);
+            return ordinals;
+        }
+
+        private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+            ByteBuffer buffer = ByteBuffer.allocate(length);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, position + buffer.position()) == -1)
+                    throw new EOFException("index is truncated");
+            }
+
+            buffer.flip();
+            return buffer;
+        }
+    }
+
+    private static class Dictionary {
+        private final String[] terms;
+        private final int[] counts;
+        private final long[] positions;
+        private final long postingsStart;
+
+        private Dictionary(String[] terms, int[] counts, long[] positions, long postingsStart) {
+            this.terms = terms;
+            this.counts = counts;
+            this.positions = positions;
+            this.postingsStart = postingsStart;
+        }
+    }
+
+    private static class Postings {
+        private int[] ordinals = new int[4];
+        private int size;
+
+        private void add(int ordinal) {
+            if (size == ordinals.length) ordinals = Arrays.copyOf(ordinals, size * 2);
+
+            ordinals[size++] = ordinal;
+        }
+    }
+
+    public static class Hit {
+        private final String segment;
+        private final long time;
+        private final long offset;
+        private String line;
+
+        private Hit(String segment, long time, long offset) {
+            this.segment = segment;
+            this.time = time;
+            this.offset = offset;
+        }
+
+        public long getTime() {
+            return time;
+        }
+
+        public String getLine() {
+            return line;
+        }
+    }
+
+    public static class SearchResult {
+        private final int total;
+        private final List<Hit> hits;
+
+        private SearchResult(int total, List<Hit> hits) {
+            this.total = total;
+            this.hits = hits;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+
+        public List<Hit> getHits() {
+            return hits;
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package de.fuzzlemann.ucutils.utils.chatlog;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.io.CountingOutputStream;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import de.fuzzlemann.ucutils.utils.Logger;
+import org.apache.commons.io.output.CloseShieldOutputStream;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes the chat log in its own thread.
+ * <p>
+ * The lines are queued by the client thread and written in batches: the writer thread blocks until a line arrives,
+ * takes every queued line and writes them through a buffer into the log file. A new log file is started on a new day
+ * or when the file gets too big; the closed files are compressed with gzip in blocks (see {@link ChatLogBlocks}), so
+ * single lines can still be read quickly. Compressing and indexing the closed files is done one after another by a
+ * thread of its own. Every written line is added to the {@link ChatLogIndex} together with its offset in the log file.
+ *
+ * @author Fuzzlemann
+ */
+class ChatLogWriter {
+
+    static final String LOG_PREFIX = "chatlog-";
+    static final String LOG_SUFFIX = ".txt";
+    static final String COMPRESSED_SUFFIX = ".txt.gz";
+
+    private static final long MAX_FILE_SIZE = 8 * 1024 * 1024;
+    private static final int BLOCK_SIZE = 64 * 1024;
+    private static final int QUEUE_CAPACITY = 16384;
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+    private static final DateTimeFormatter TIMESTAMP_FORMATTER = DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm:ss").withZone(ZONE);
+    private static final DateTimeFormatter FILE_NAME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH-mm-ss").withZone(ZONE);
+
+    private final File directory;
+    private final ChatLogIndex index;
+    private final BlockingQueue<Line> queue = new LinkedBlockingQueue<>(QUEUE_CAPACITY);
+    private final ExecutorService compressor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+            .setNameFormat("UCUtils-ChatLogCompressor")
+            .setDaemon(true)
+            .build());
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+    private final List<Line> batch = new ArrayList<>();
+
+    private File file;
+    private FileChannel channel;
+    private LocalDate fileDate;
+    private long fileSize;
+
+    private long cachedSecond = -1;
+    private byte[] cachedTimestamp;
+
+    ChatLogWriter(File directory, ChatLogIndex index) throws IOException {
+        this.directory = directory;
+        this.index = index;
+
+        Files.createDirectories(directory.toPath());
+        index.load();
+        prepareClosedLogs();
+        open(System.currentTimeMillis());
+
+        Thread thread = new Thread(this::run, "UCUtils-ChatLogWriter");
+        thread.setDaemon(true);
+        thread.start();
+
+        Runtime.getRuntime().addShutdownHook(new Thread(this::drain, "UCUtils-ChatLogWriter-Shutdown"));
+    }
+
+    /**
+     * Queues the line; if the writer can't keep up, the line is dropped.
+     *
+     * @param message the line without a line separator
+     */
+    void log(String message) {
+        queue.offer(new Line(System.currentTimeMillis(), message));
+    }
+
+    private void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                Line line = queue.take();
+
+                synchronized (this) {
+                    batch.add(line);
+                    writeBatch();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Writes the remaining lines when the game is closed.
+     */
+    private synchronized void drain() {
+        writeBatch();
+        index.close();
+
+        try {
+            channel.close();
+        } catch (IOException e) {
+            Logger.LOGGER.catching(e);
+        }
+    }
+
+    private void writeBatch() {
+        queue.drainTo(batch);
+
+        try {
+            for (Line line : batch) {
+                write(line);
+            }
+
+            flush();
+        } catch (IOException e) {
+            Logger.LOGGER.catching(e);
+        } finally {
+            batch.clear();
+        }
+    }
+
+    private void write(Line line) throws IOException {
+        if (!fileDate.equals(toDate(line.time)) || fileSize >= MAX_FILE_SIZE) rotate(line.time);
+
+        byte[] timestamp = timestamp(line.time);
+        byte[] message = (" | " + line.message + "\n").getBytes(StandardCharsets.UTF_8);
+
+        index.add(line.time, fileSize, line.message);
+        put(timestamp);
+        put(message);
+        fileSize += timestamp.length + message.length;
+    }
+
+    private void put(byte[] bytes) throws IOException {
+        if (bytes.length > buffer.remaining()) flush();
+
+        if (bytes.length > buffer.capacity()) {
+            writeFully(ByteBuffer.wrap(bytes));
+            return;
+        }
+
+        buffer.put(bytes);
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        writeFully(buffer);
+        buffer.clear();
+    }
+
+    private void writeFully(ByteBuffer byteBuffer) throws IOException {
+        while (byteBuffer.hasRemaining()) {
+            channel.write(byteBuffer);
+        }
+    }
+
+    /**
+     * The timestamps only change every second, so they are only formatted once per second.
+     */
+    private byte[] timestamp(long time) {
+        long second = time / 1000;
+        if (second != cachedSecond) {
+            cachedSecond = second;
+            cachedTimestamp = TIMESTAMP_FORMATTER.format(Instant.ofEpochMilli(time)).getBytes(StandardCharsets.UTF_8);
+        }
+
+        return cachedTimestamp;
+    }
+
+    private void rotate(long time) throws IOException {
+        flush();
+        channel.close();
+        index.close();
+
+        File closedFile = file;
+        compressor.execute(() -> compress(closedFile));
+
+        open(time);
+    }
+
+    private void open(long time) throws IOException {
+        String name = LOG_PREFIX + FILE_NAME_FORMATTER.format(Instant.ofEpochMilli(time));
+
+        File newFile = new File(directory, name + LOG_SUFFIX);
+        for (int i = 1; newFile.exists(); i++) {
+            newFile = new File(directory, name + "-" + i + LOG_SUFFIX);
+        }
+
+        file = newFile;
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        fileDate = toDate(time);
+        fileSize = 0;
+        index.open(file);
+    }
+
+    /**
+     * Indexes the logs of earlier sessions which have no index yet and compresses the ones which weren't compressed yet.
+     */
+    private void prepareClosedLogs() {
+        File[] files = directory.listFiles((dir, name) -> name.startsWith(LOG_PREFIX) && (name.endsWith(LOG_SUFFIX) || name.endsWith(COMPRESSED_SUFFIX)));
+        if (files == null) return;
+
+        compressor.execute(() -> {
+            for (File closedFile : files) {
+                if (index.isMissing(closedFile)) index.indexLog(closedFile);
+                if (closedFile.getName().endsWith(LOG_SUFFIX)) compress(closedFile);
+            }
+        });
+    }
+
+    /**
+     * Compresses the log in blocks of whole lines of at least {@value #BLOCK_SIZE} bytes, each as its own gzip member.
+     * The offsets of the blocks are written before the compressed log replaces the plain one.
+     */
+    @VisibleForTesting
+    static void compress(File file) {
+        String name = file.getName().substring(0, file.getName().length() - LOG_SUFFIX.length());
+        File compressedFile = new File(file.getParentFile(), name + COMPRESSED_SUFFIX);
+        File tempFile = new File(file.getParentFile(), compressedFile.getName() + ".tmp");
+        File blocksFile = new File(file.getParentFile(), name + ChatLogBlocks.BLOCKS_SUFFIX);
+        File tempBlocksFile = new File(file.getParentFile(), blocksFile.getName() + ".tmp");
+
+        ChatLogBlocks blocks = new ChatLogBlocks();
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file.toPath()), 64 * 1024);
+             CountingOutputStream out = new CountingOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile.toPath()), 64 * 1024))) {
+            ByteArrayOutputStream block = new ByteArrayOutputStream(BLOCK_SIZE + 1024);
+            long offset = 0;
+
+            int b;
+            while ((b = in.read()) != -1) {
+                block.write(b);
+                if (b != '\n' || block.size() < BLOCK_SIZE) continue;
+
+                blocks.add(offset, out.getCount());
+                writeBlock(block, out);
+                offset += block.size();
+                block.reset();
+            }
+
+            if (block.size() > 0) {
+                blocks.add(offset, out.getCount());
+                writeBlock(block, out);
+            }
+
+            blocks.write(tempBlocksFile);
+            Files.move(tempBlocksFile.toPath(), blocksFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Logger.LOGGER.catching(e);
+            tempFile.delete();
+            tempBlocksFile.delete();
+            return;
+        }
+
+        if (!tempFile.renameTo(compressedFile) || !file.delete()) {
+            Logger.LOGGER.info("Chat log " + file + " couldn't be replaced by its compressed version");
+        }
+    }
+
+    private static void writeBlock(ByteArrayOutputStream block, OutputStream out) throws IOException {
+        try (OutputStream gzipOut = new GZIPOutputStream(new CloseShieldOutputStream(out), 64 * 1024)) {
+            block.writeTo(gzipOut);
+        }
+    }
+
+    private static LocalDate toDate(long time) {
+        return Instant.ofEpochMilli(time).atZone(ZONE).toLocalDate();
+    }
+
+    private static class Line {
+        private final long time;
+        private final String message;
+
+        private Line(long time, String message) {
+            this.time = time;
+            this.message = message;
+        }
+    }
+}
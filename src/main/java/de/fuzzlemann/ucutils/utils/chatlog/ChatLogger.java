@@ -1,6 +1,7 @@
 package de.fuzzlemann.ucutils.utils.chatlog;
 
 import de.fuzzlemann.ucutils.config.UCUtilsConfig;
+import de.fuzzlemann.ucutils.utils.Logger;
 import de.fuzzlemann.ucutils.utils.io.FileManager;
 import net.minecraft.network.NetworkManager;
 import net.minecraftforge.client.event.ClientChatEvent;
@@ -14,12 +15,6 @@ import net.minecraftforge.fml.relauncher.SideOnly;
 import java.io.File;
 import java.io.FilenameFilter;
 import java.io.IOException;
-import java.text.SimpleDateFormat;
-import java.util.Date;
-import java.util.logging.FileHandler;
-import java.util.logging.Formatter;
-import java.util.logging.LogRecord;
-import java.util.logging.Logger;
 
 /**
  * @author Fuzzlemann
@@ -28,26 +23,26 @@ import java.util.logging.Logger;
 @SideOnly(Side.CLIENT)
 public class ChatLogger {
 
-    public static ChatLogger instance;
-    private final SimpleDateFormat dateFormat = new SimpleDateFormat("dd-MM-yyyy HH:mm:ss");
-    private final ChatLogConsumer consumer;
-    private final Logger logger;
+    public static final File DIRECTORY = new File(FileManager.MC_DIRECTORY, "chatlogs");
+
+    public static volatile ChatLogger instance;
+    private final ChatLogIndex index = new ChatLogIndex(DIRECTORY);
+    private final ChatLogWriter writer;
 
     public ChatLogger() {
-        File directory = new File(FileManager.MC_DIRECTORY, "chatlogs");
+        deleteTempFiles(DIRECTORY);
 
-        deleteTempFiles(directory);
-        FileHandler fileHandler = createChatLog(directory);
-        if (fileHandler == null) {
-            logger = null;
-            consumer = null;
+        ChatLogWriter chatLogWriter;
+        try {
+            chatLogWriter = new ChatLogWriter(DIRECTORY, index);
+        } catch (IOException e) {
+            UCUtilsConfig.logChat = false;
+            Logger.LOGGER.catching(e);
+            writer = null;
             return;
         }
 
-        logger = Logger.getLogger("ChatLogger");
-        logger.addHandler(fileHandler);
-
-        consumer = new ChatLogConsumer(this);
+        writer = chatLogWriter;
         instance = this;
 
         log("------------ Chat Log ------------");
@@ -62,7 +57,7 @@ public class ChatLogger {
 
     @SubscribeEvent
     public static void onReceiveChat(ClientChatReceivedEvent e) {
-        if (instance == null) return;
+        if (instance == null || ChatEventReplay.isReplaying()) return;
 
         instance.log("[CHAT] " + e.getMessage().getUnformattedText());
     }
@@ -87,10 +82,13 @@ public class ChatLogger {
         instance.log("---- Disconnected from " + address + " ----");
     }
 
-    public Logger getLogger() {
-        return logger;
+    public ChatLogIndex getIndex() {
+        return index;
     }
 
+    /**
+     * Deletes the lock files of the logs which were written through java.util.logging by older versions.
+     */
     private void deleteTempFiles(File directory) {
         FilenameFilter filenameFilter = (dir, name) -> name.endsWith(".txt.lck");
         File[] files = directory.listFiles(filenameFilter);
@@ -98,44 +96,13 @@ public class ChatLogger {
 
         for (File file : files) {
             if (!file.delete())
-                de.fuzzlemann.ucutils.utils.Logger.LOGGER.info("Temporary file " + file.getPath() + " couldn't be deleted!");
-        }
-    }
-
-    private FileHandler createChatLog(File directory) {
-        String timeStamp = new SimpleDateFormat("yyyy-MM-dd'T'HH-mm-ss").format(new Date());
-
-        FileHandler fileHandler;
-        try {
-            File logFile = new File(directory, "chatlog-" + timeStamp + ".txt");
-            if (directory.mkdirs())
-                de.fuzzlemann.ucutils.utils.Logger.LOGGER.info("ChatLog Directory created");
-
-            String path = logFile.getPath();
-            if (logFile.createNewFile())
-                de.fuzzlemann.ucutils.utils.Logger.LOGGER.info("ChatLog " + path + " created");
-            fileHandler = new FileHandler(path);
-        } catch (IOException e) {
-            UCUtilsConfig.logChat = false;
-            de.fuzzlemann.ucutils.utils.Logger.LOGGER.catching(e);
-            return null;
+                Logger.LOGGER.info("Temporary file " + file.getPath() + " couldn't be deleted!");
         }
-
-        fileHandler.setFormatter(new ChatLogFormatter());
-
-        return fileHandler;
     }
 
     private void log(String message) {
-        if (!UCUtilsConfig.logChat || consumer == null) return;
-
-        consumer.log(message + "\n");
-    }
+        if (!UCUtilsConfig.logChat || writer == null) return;
 
-    private class ChatLogFormatter extends Formatter {
-        @Override
-        public String format(LogRecord record) {
-            return dateFormat.format(new Date()) + " | " + record.getMessage();
-        }
+        writer.log(message);
     }
 }
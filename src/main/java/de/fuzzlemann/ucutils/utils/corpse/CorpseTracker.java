@@ -0,0 +1,184 @@
+package de.fuzzlemann.ucutils.utils.corpse;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.item.EntityItem;
+import net.minecraft.item.ItemSkull;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraftforge.event.entity.EntityJoinWorldEvent;
+import net.minecraftforge.event.world.ChunkEvent;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+import java.util.*;
+
+/**
+ * Keeps track of the corpses (named skulls) of the client world, bucketed by their chunk, so they can be found
+ * without scanning all entities of the world.
+ * <p>
+ * The items are registered when they join the world. Their item and name are sent by the server after they joined,
+ * so they are pending until their item is known; then skulls are put into the bucket of their chunk and all other
+ * items are dropped. The pending items are classified when the corpses are queried, dead items are removed and
+ * moved items are put into their new bucket. Items of unloaded chunks are removed with their chunk.
+ *
+ * @author Fuzzlemann
+ */
+@Mod.EventBusSubscriber
+@SideOnly(Side.CLIENT)
+public class CorpseTracker {
+
+    private static final Set<EntityItem> PENDING_ITEMS = Collections.newSetFromMap(new IdentityHashMap<>());
+    private static final Map<Long, Set<EntityItem>> BUCKETS = new HashMap<>();
+    private static final Map<EntityItem, Long> ITEM_BUCKETS = new IdentityHashMap<>();
+
+    @SubscribeEvent
+    public static void onEntityJoin(EntityJoinWorldEvent e) {
+        if (!e.getWorld().isRemote) return;
+
+        Entity entity = e.getEntity();
+        if (!(entity instanceof EntityItem)) return;
+
+        PENDING_ITEMS.add((EntityItem) entity);
+    }
+
+    @SubscribeEvent
+    public static void onChunkUnload(ChunkEvent.Unload e) {
+        if (!e.getWorld().isRemote) return;
+
+        ChunkPos chunkPos = e.getChunk().getPos();
+        long bucket = ChunkPos.asLong(chunkPos.x, chunkPos.z);
+
+        PENDING_ITEMS.removeIf(item -> bucketOf(item) == bucket);
+
+        Set<EntityItem> items = BUCKETS.remove(bucket);
+        if (items == null) return;
+
+        for (EntityItem item : items) {
+            ITEM_BUCKETS.remove(item);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onWorldUnload(WorldEvent.Unload e) {
+        if (!e.getWorld().isRemote) return;
+
+        PENDING_ITEMS.clear();
+        BUCKETS.clear();
+        ITEM_BUCKETS.clear();
+    }
+
+    /**
+     * Returns all tracked corpses
+     *
+     * @return the corpses of the client world
+     */
+    public static List<EntityItem> getCorpses() {
+        classifyPendingItems();
+
+        List<EntityItem> corpses = new ArrayList<>();
+        for (EntityItem item : new ArrayList<>(ITEM_BUCKETS.keySet())) {
+            if (update(item) && isCorpse(item)) corpses.add(item);
+        }
+
+        return corpses;
+    }
+
+    /**
+     * Returns the tracked corpses in the chunk of the given position and the chunks around it
+     *
+     * @param pos the position
+     * @return the corpses near the position
+     */
+    public static List<EntityItem> getCorpsesNear(BlockPos pos) {
+        classifyPendingItems();
+
+        int chunkX = pos.getX() >> 4;
+        int chunkZ = pos.getZ() >> 4;
+
+        List<EntityItem> candidates = new ArrayList<>();
+        for (int x = chunkX - 1; x <= chunkX + 1; x++) {
+            for (int z = chunkZ - 1; z <= chunkZ + 1; z++) {
+                Set<EntityItem> bucket = BUCKETS.get(ChunkPos.asLong(x, z));
+                if (bucket != null) candidates.addAll(bucket);
+            }
+        }
+
+        List<EntityItem> corpses = new ArrayList<>();
+        for (EntityItem item : candidates) {
+            if (update(item) && isCorpse(item)) corpses.add(item);
+        }
+
+        return corpses;
+    }
+
+    /**
+     * Tracks the pending items whose item is known by now if they're skulls and forgets about all others.
+     */
+    private static void classifyPendingItems() {
+        if (PENDING_ITEMS.isEmpty()) return;
+
+        for (Iterator<EntityItem> iterator = PENDING_ITEMS.iterator(); iterator.hasNext(); ) {
+            EntityItem item = iterator.next();
+            if (item.isDead) {
+                iterator.remove();
+                continue;
+            }
+
+            ItemStack itemStack = item.getItem();
+            if (itemStack.isEmpty()) continue; // not sent yet
+
+            iterator.remove();
+            if (itemStack.getItem() instanceof ItemSkull) track(item, bucketOf(item));
+        }
+    }
+
+    private static boolean isCorpse(EntityItem item) {
+        return item.hasCustomName() && item.getItem().getItem() instanceof ItemSkull;
+    }
+
+    /**
+     * Removes the item when it's dead and moves it into its current bucket.
+     *
+     * @return {@code true} if the item is still tracked
+     */
+    private static boolean update(EntityItem item) {
+        Long bucket = ITEM_BUCKETS.get(item);
+        if (bucket == null) return false;
+
+        if (item.isDead) {
+            untrack(item, bucket);
+            return false;
+        }
+
+        long currentBucket = bucketOf(item);
+        if (bucket != currentBucket) {
+            untrack(item, bucket);
+            track(item, currentBucket);
+        }
+
+        return true;
+    }
+
+    private static void track(EntityItem item, long bucket) {
+        BUCKETS.computeIfAbsent(bucket, key -> Collections.newSetFromMap(new IdentityHashMap<>())).add(item);
+        ITEM_BUCKETS.put(item, bucket);
+    }
+
+    private static void untrack(EntityItem item, long bucket) {
+        ITEM_BUCKETS.remove(item);
+
+        Set<EntityItem> items = BUCKETS.get(bucket);
+        if (items == null) return;
+
+        items.remove(item);
+        if (items.isEmpty()) BUCKETS.remove(bucket);
+    }
+
+    private static long bucketOf(EntityItem item) {
+        return ChunkPos.asLong((int) Math.floor(item.posX) >> 4, (int) Math.floor(item.posZ) >> 4);
+    }
+}
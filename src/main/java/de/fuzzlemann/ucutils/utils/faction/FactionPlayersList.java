@@ -1,5 +1,6 @@
 package de.fuzzlemann.ucutils.utils.faction;
 
+import de.fuzzlemann.ucutils.base.state.MapStore;
 import de.fuzzlemann.ucutils.base.udf.UDFLoader;
 import de.fuzzlemann.ucutils.base.udf.UDFModule;
 import de.fuzzlemann.ucutils.common.udf.DataRegistry;
@@ -15,18 +16,24 @@ import java.util.Map;
 @UDFModule(value = DataRegistry.FACTION_PLAYERS, version = 1)
 public class FactionPlayersList implements UDFLoader<List<FactionPlayers>> {
 
-    public static final Map<String, Faction> PLAYER_TO_FACTION_MAP = new HashMap<>();
+    public static final MapStore<String, Faction> PLAYER_TO_FACTION_MAP = new MapStore<>();
 
     @Override
     public void supply(List<FactionPlayers> factionPlayersList) {
+        Map<String, Faction> playerToFactionMap = new HashMap<>();
+
         for (FactionPlayers factionPlayers : factionPlayersList) {
             Faction faction = Faction.byAPIName(factionPlayers.getFactionName());
+            if (faction == null) continue;
+
             List<String> players = factionPlayers.getPlayers();
 
             for (String player : players) {
-                PLAYER_TO_FACTION_MAP.put(player, faction);
+                playerToFactionMap.put(player, faction);
             }
         }
+
+        PLAYER_TO_FACTION_MAP.replace(playerToFactionMap);
     }
 
     @Override
@@ -1,11 +1,14 @@
 package de.fuzzlemann.ucutils.utils.faction;
 
+import de.fuzzlemann.ucutils.base.state.SetStore;
 import de.fuzzlemann.ucutils.base.udf.UDFLoader;
 import de.fuzzlemann.ucutils.base.udf.UDFModule;
 import de.fuzzlemann.ucutils.common.udf.DataRegistry;
+import de.fuzzlemann.ucutils.utils.Logger;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
 
 /**
  * @author Fuzzlemann
@@ -13,11 +16,20 @@ import java.util.List;
 @UDFModule(value = DataRegistry.HOUSE_BANS, version = 1)
 public class HouseBanHandler implements UDFLoader<List<String>> {
 
-    public static final List<String> HOUSE_BANS = new ArrayList<>();
+    public static final SetStore<UUID> HOUSE_BANS = new SetStore<>();
 
     @Override
     public void supply(List<String> uuids) {
-        HOUSE_BANS.addAll(uuids);
+        List<UUID> houseBans = new ArrayList<>();
+        for (String uuid : uuids) {
+            try {
+                houseBans.add(UUID.fromString(uuid));
+            } catch (IllegalArgumentException e) {
+                Logger.LOGGER.warn("Invalid house ban UUID: " + uuid);
+            }
+        }
+
+        HOUSE_BANS.replace(houseBans);
     }
 
     @Override
@@ -1,5 +1,6 @@
 package de.fuzzlemann.ucutils.utils.faction.badfaction.blacklist;
 
+import de.fuzzlemann.ucutils.base.state.ListStore;
 import de.fuzzlemann.ucutils.base.udf.UDFLoader;
 import de.fuzzlemann.ucutils.base.udf.UDFModule;
 import de.fuzzlemann.ucutils.common.udf.DataRegistry;
@@ -7,26 +8,23 @@ import de.fuzzlemann.ucutils.common.udf.data.faction.blacklist.BlacklistReason;
 import de.fuzzlemann.ucutils.common.udf.data.faction.blacklist.BlacklistReasons;
 import de.fuzzlemann.ucutils.utils.ForgeUtils;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * @author Fuzzlemann
  */
 @UDFModule(value = DataRegistry.BLACKLIST_REASONS, version = 1)
 public class BlacklistUtil implements UDFLoader<BlacklistReasons> {
 
-    public static final List<BlacklistReason> BLACKLIST_REASONS = new ArrayList<>();
+    public static final ListStore<BlacklistReason> BLACKLIST_REASONS = new ListStore<>();
 
     public static BlacklistReason getBlacklistReason(String reason) {
         reason = reason.replace('-', ' ');
 
-        return ForgeUtils.getMostMatching(BLACKLIST_REASONS, reason, BlacklistReason::getReason);
+        return ForgeUtils.getMostMatching(BLACKLIST_REASONS.get(), reason, BlacklistReason::getReason);
     }
 
     @Override
     public void supply(BlacklistReasons blacklistReasons) {
-        BLACKLIST_REASONS.addAll(blacklistReasons.getReasons());
+        BLACKLIST_REASONS.replace(blacklistReasons.getReasons());
     }
 
     @Override
@@ -16,7 +16,7 @@ import java.util.Arrays;
 @UDFModule(value = DataRegistry.DRUG_PRICE, version = 1)
 public class DrugUtil implements UDFLoader<DrugPrice> {
 
-    public static DrugPrice drugPrice;
+    public static volatile DrugPrice drugPrice;
 
     public static int getPiecePrice(DrugType drugType, DrugQuality drugQuality) {
         for (DrugPriceEntry drugPriceEntry : drugPrice.getPrices()) {
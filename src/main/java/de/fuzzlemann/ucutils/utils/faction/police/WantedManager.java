@@ -1,5 +1,6 @@
 package de.fuzzlemann.ucutils.utils.faction.police;
 
+import de.fuzzlemann.ucutils.base.state.ListStore;
 import de.fuzzlemann.ucutils.base.udf.UDFLoader;
 import de.fuzzlemann.ucutils.base.udf.UDFModule;
 import de.fuzzlemann.ucutils.common.udf.DataRegistry;
@@ -8,7 +9,6 @@ import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -20,21 +20,21 @@ import java.util.stream.Collectors;
 @UDFModule(value = DataRegistry.WANTED_CATALOG, version = 1)
 public class WantedManager implements UDFLoader<List<WantedReason>> {
 
-    private static final List<WantedReason> WANTED_LIST = new ArrayList<>();
+    private static final ListStore<WantedReason> WANTED_LIST = new ListStore<>();
 
     public static List<String> getWantedReasons() {
-        return WANTED_LIST.stream()
+        return WANTED_LIST.get().stream()
                 .map(WantedReason::getReason)
                 .collect(Collectors.toList());
     }
 
     public static WantedReason getWantedReason(String reason) {
-        return ForgeUtils.getMostMatching(WANTED_LIST, reason, WantedReason::getReason);
+        return ForgeUtils.getMostMatching(WANTED_LIST.get(), reason, WantedReason::getReason);
     }
 
     @Override
     public void supply(List<WantedReason> wantedReasons) {
-        WANTED_LIST.addAll(wantedReasons);
+        WANTED_LIST.replace(wantedReasons);
     }
 
     @Override
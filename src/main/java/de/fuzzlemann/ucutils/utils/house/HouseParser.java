@@ -9,7 +9,7 @@ import de.fuzzlemann.ucutils.common.udf.data.misc.house.House;
 public class HouseParser implements ParameterParser<Integer, House> {
     @Override
     public House parse(Integer input) {
-        for (House house : HouseUtil.HOUSES) {
+        for (House house : HouseUtil.HOUSES.get()) {
             if (house.getHouseNumber() == input) return house;
         }
 
@@ -1,11 +1,11 @@
 package de.fuzzlemann.ucutils.utils.house;
 
+import de.fuzzlemann.ucutils.base.state.ListStore;
 import de.fuzzlemann.ucutils.base.udf.UDFLoader;
 import de.fuzzlemann.ucutils.base.udf.UDFModule;
 import de.fuzzlemann.ucutils.common.udf.DataRegistry;
 import de.fuzzlemann.ucutils.common.udf.data.misc.house.House;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -14,11 +14,11 @@ import java.util.List;
 @UDFModule(value = DataRegistry.HOUSES, version = 1)
 public class HouseUtil implements UDFLoader<List<House>> {
 
-    public static final List<House> HOUSES = new ArrayList<>();
+    public static final ListStore<House> HOUSES = new ListStore<>();
 
     @Override
     public void supply(List<House> houses) {
-        HOUSES.addAll(houses);
+        HOUSES.replace(houses);
     }
 
     @Override
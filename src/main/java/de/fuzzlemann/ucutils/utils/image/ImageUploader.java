@@ -18,26 +18,39 @@ package de.fuzzlemann.ucutils.utils.image;
 
 import com.google.gson.JsonElement;
 import com.google.gson.JsonParser;
-import org.apache.commons.codec.binary.Base64;
-import org.apache.commons.io.FileUtils;
 
 import java.io.*;
 import java.net.HttpURLConnection;
 import java.net.URL;
-import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Derived from https://github.com/DV8FromTheWorld/Imgur-Uploader-Java/blob/master/src/net/dv8tion/Uploader.java
+ * <p>
+ * The image is sent as {@code multipart/form-data} with a fixed length, so it's streamed from the file to the
+ * connection through one fixed-size buffer instead of being loaded, encoded and copied in memory.
  *
  * @author DV8FromTheWorld (Austin Keener)
  */
 public class ImageUploader {
 
-    private static final String UPLOAD_API_URL = "https://api.imgur.com/3/image";
+    public static final String UPLOAD_API_URL = "https://api.imgur.com/3/image";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int CONNECT_TIMEOUT = (int) TimeUnit.SECONDS.toMillis(10);
+    private static final int READ_TIMEOUT = (int) TimeUnit.SECONDS.toMillis(60);
 
     public static String uploadToLink(File file) {
-        String json = upload(file);
+        return uploadToLink(file, null);
+    }
+
+    public static String uploadToLink(File file, ProgressListener progressListener) {
+        String json = upload(UPLOAD_API_URL, file, progressListener);
 
         JsonParser jsonParser = new JsonParser();
         JsonElement jsonElement = jsonParser.parse(json);
@@ -53,10 +66,34 @@ public class ImageUploader {
      * @return The JSON response from Imgur.
      */
     public static String upload(File file) {
+        return upload(UPLOAD_API_URL, file, null);
+    }
+
+    /**
+     * Takes a file and uploads it to the given url.
+     *
+     * @param url              The URL the image is uploaded to.
+     * @param file             The image to be uploaded.
+     * @param progressListener The listener which is informed about the progress, may be {@code null}.
+     * @return The response.
+     */
+    public static String upload(String url, File file, ProgressListener progressListener) {
+        String boundary = "UCUtils" + UUID.randomUUID().toString().replace("-", "");
+        byte[] head = ("--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"image\"; filename=\"" + file.getName() + "\"\r\n"
+                + "Content-Type: application/octet-stream\r\n\r\n").getBytes(StandardCharsets.UTF_8);
+        byte[] tail = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8);
+
         HttpURLConnection conn = null;
-        try {
-            conn = getHttpConnection(UPLOAD_API_URL);
-            writeToConnection(conn, "image=" + toBase64(file));
+        try (FileChannel fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long fileSize = fileChannel.size();
+
+            conn = getHttpConnection(url, boundary, head.length + fileSize + tail.length);
+            try (OutputStream outputStream = conn.getOutputStream()) {
+                outputStream.write(head);
+                writeFile(fileChannel, outputStream, fileSize, progressListener);
+                outputStream.write(tail);
+            }
 
             return getResponse(conn);
         } catch (IOException e) {
@@ -66,56 +103,66 @@ public class ImageUploader {
         }
     }
 
-    /**
-     * Converts a file to a Base64 String.
-     *
-     * @param file The file to be converted.
-     * @return The file as a Base64 String.
-     */
-    private static String toBase64(File file) throws IOException {
-        byte[] encoded = Base64.encodeBase64(FileUtils.readFileToByteArray(file));
-        return URLEncoder.encode(new String(encoded, StandardCharsets.US_ASCII), StandardCharsets.UTF_8.toString());
+    private static void writeFile(FileChannel fileChannel, OutputStream outputStream, long fileSize, ProgressListener progressListener) throws IOException {
+        byte[] bytes = new byte[BUFFER_SIZE];
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+
+        long sent = 0;
+        int read;
+        while ((read = fileChannel.read(buffer)) != -1) {
+            outputStream.write(bytes, 0, read);
+            buffer.clear();
+
+            sent += read;
+            if (progressListener != null) progressListener.onProgress(sent, fileSize);
+        }
     }
 
     /**
      * Creates and sets up an HttpURLConnection for use with the Imgur API.
      *
-     * @param url The URL to connect to. (check Imgur API for correct URL).
+     * @param url           The URL to connect to. (check Imgur API for correct URL).
+     * @param boundary      The boundary of the multipart body.
+     * @param contentLength The length of the multipart body.
      * @return The newly created HttpURLConnection.
      */
-    private static HttpURLConnection getHttpConnection(String url) throws IOException {
+    private static HttpURLConnection getHttpConnection(String url, String boundary, long contentLength) throws IOException {
         HttpURLConnection conn = (HttpURLConnection) new URL(url).openConnection();
         conn.setDoInput(true);
         conn.setDoOutput(true);
         conn.setRequestMethod("POST");
         conn.setRequestProperty("Authorization", "Client-ID 578628302728265");
-        conn.setReadTimeout(100000);
+        conn.setRequestProperty("Content-Type", "multipart/form-data; boundary=" + boundary);
+        conn.setFixedLengthStreamingMode(contentLength);
+        conn.setConnectTimeout(CONNECT_TIMEOUT);
+        conn.setReadTimeout(READ_TIMEOUT);
         conn.connect();
 
         return conn;
     }
 
-    private static void writeToConnection(HttpURLConnection conn, String message) throws IOException {
-        try (OutputStream outputStream = conn.getOutputStream();
-             OutputStreamWriter writer = new OutputStreamWriter(outputStream)) {
-            writer.write(message);
-            writer.flush();
-        }
-    }
-
     private static String getResponse(HttpURLConnection conn) throws IOException {
-        InputStream inputStream = conn.getInputStream();
         StringBuilder sb = new StringBuilder();
 
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(conn.getInputStream()))) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(conn.getInputStream(), StandardCharsets.UTF_8))) {
             String line;
             while ((line = reader.readLine()) != null) {
                 sb.append(line);
             }
-        } finally {
-            inputStream.close();
         }
 
         return sb.toString();
     }
+
+    @FunctionalInterface
+    public interface ProgressListener {
+
+        /**
+         * Called after every chunk of the image was sent.
+         *
+         * @param sent  the number of bytes of the image which were sent
+         * @param total the size of the image
+         */
+        void onProgress(long sent, long total);
+    }
 }
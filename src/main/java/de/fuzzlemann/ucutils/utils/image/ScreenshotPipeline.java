@@ -0,0 +1,159 @@
+package de.fuzzlemann.ucutils.utils.image;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import de.fuzzlemann.ucutils.Main;
+import de.fuzzlemann.ucutils.utils.ReflectionUtil;
+import net.minecraft.client.renderer.GlStateManager;
+import net.minecraft.client.renderer.OpenGlHelper;
+import net.minecraft.client.shader.Framebuffer;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+import org.lwjgl.BufferUtils;
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL12;
+
+import javax.imageio.ImageIO;
+import java.awt.image.*;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.IntBuffer;
+import java.util.concurrent.*;
+
+/**
+ * Takes screenshots without stalling the client thread.
+ * <p>
+ * The client thread only reads the pixels of the framebuffer into a pooled array. Flipping the image and encoding
+ * it as JPEG is done by a worker thread, which hands the array back to the pool afterwards.
+ *
+ * @author Fuzzlemann
+ */
+@SideOnly(Side.CLIENT)
+public class ScreenshotPipeline {
+
+    private static final int POOL_SIZE = 2;
+    private static final BlockingQueue<int[]> PIXEL_ARRAYS = new ArrayBlockingQueue<>(POOL_SIZE);
+    private static final ExecutorService ENCODER = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+            .setNameFormat("UCUtils-Screenshot")
+            .setDaemon(true)
+            .build());
+
+    private static IntBuffer pixelBuffer;
+
+    /**
+     * Takes a screenshot and writes it as JPEG to the file.
+     * The pixels are read on the client thread; if called from another thread, the screenshot is taken with the next tick.
+     *
+     * @param target the file the screenshot is written to
+     * @return the future completed with the file once it's written
+     */
+    public static CompletableFuture<File> capture(File target) {
+        if (!Main.MINECRAFT.isCallingFromMinecraftThread()) {
+            CompletableFuture<File> future = new CompletableFuture<>();
+            Main.MINECRAFT.addScheduledTask(() -> capture(target).whenComplete((file, throwable) -> {
+                if (throwable != null) {
+                    future.completeExceptionally(throwable);
+                } else {
+                    future.complete(file);
+                }
+            }));
+
+            return future;
+        }
+
+        Framebuffer framebuffer = ReflectionUtil.getValue(Main.MINECRAFT, Framebuffer.class);
+        if (framebuffer == null) {
+            CompletableFuture<File> future = new CompletableFuture<>();
+            future.completeExceptionally(new IllegalStateException("framebuffer not found"));
+            return future;
+        }
+
+        int width = Main.MINECRAFT.displayWidth;
+        int height = Main.MINECRAFT.displayHeight;
+        int imageWidth = width;
+        int imageHeight = height;
+        if (OpenGlHelper.isFramebufferEnabled()) {
+            // the texture may be bigger than the framebuffer; like the vanilla screenshots, only the framebuffer is kept
+            width = framebuffer.framebufferTextureWidth;
+            height = framebuffer.framebufferTextureHeight;
+            imageWidth = framebuffer.framebufferWidth;
+            imageHeight = framebuffer.framebufferHeight;
+        }
+
+        int[] pixels = readPixels(framebuffer, width, height);
+
+        int rowLength = width;
+        int croppedWidth = imageWidth;
+        int croppedHeight = imageHeight;
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                encode(pixels, rowLength, croppedWidth, croppedHeight, target);
+                return target;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                PIXEL_ARRAYS.offer(pixels);
+            }
+        }, ENCODER);
+    }
+
+    private static int[] readPixels(Framebuffer framebuffer, int width, int height) {
+        int size = width * height;
+        if (pixelBuffer == null || pixelBuffer.capacity() < size) pixelBuffer = BufferUtils.createIntBuffer(size);
+
+        GlStateManager.glPixelStorei(GL11.GL_PACK_ALIGNMENT, 1);
+        GlStateManager.glPixelStorei(GL11.GL_UNPACK_ALIGNMENT, 1);
+        pixelBuffer.clear();
+
+        if (OpenGlHelper.isFramebufferEnabled()) {
+            GlStateManager.bindTexture(framebuffer.framebufferTexture);
+            GlStateManager.glGetTexImage(GL11.GL_TEXTURE_2D, 0, GL12.GL_BGRA, GL12.GL_UNSIGNED_INT_8_8_8_8_REV, pixelBuffer);
+        } else {
+            GlStateManager.glReadPixels(0, 0, width, height, GL12.GL_BGRA, GL12.GL_UNSIGNED_INT_8_8_8_8_REV, pixelBuffer);
+        }
+
+        int[] pixels = pooledArray(size);
+        pixelBuffer.get(pixels, 0, size);
+        return pixels;
+    }
+
+    private static int[] pooledArray(int size) {
+        int[] pixels = PIXEL_ARRAYS.poll();
+        if (pixels == null || pixels.length != size) pixels = new int[size];
+
+        return pixels;
+    }
+
+    /**
+     * Flips the pixels, which are read from the bottom to the top, crops them to the bottom left corner of the given
+     * size and writes them as JPEG.
+     *
+     * @param rowLength the number of pixels per row which were read
+     */
+    private static void encode(int[] pixels, int rowLength, int width, int height, File target) throws IOException {
+        int[] row = new int[width];
+        for (int y = 0; y < height / 2; y++) {
+            int top = y * rowLength;
+            int bottom = (height - 1 - y) * rowLength;
+
+            System.arraycopy(pixels, top, row, 0, width);
+            System.arraycopy(pixels, bottom, pixels, top, width);
+            System.arraycopy(row, 0, pixels, bottom, width);
+        }
+
+        // moves the rows together; a row never moves behind its old position, so it's done in place
+        if (rowLength != width) {
+            for (int y = 1; y < height; y++) {
+                System.arraycopy(pixels, y * rowLength, pixels, y * width, width);
+            }
+        }
+
+        // the image uses the array directly instead of copying it
+        DirectColorModel colorModel = new DirectColorModel(24, 0xFF0000, 0xFF00, 0xFF);
+        DataBufferInt dataBuffer = new DataBufferInt(pixels, width * height);
+        WritableRaster raster = Raster.createPackedRaster(dataBuffer, width, height, width, colorModel.getMasks(), null);
+        BufferedImage image = new BufferedImage(colorModel, raster, false, null);
+
+        if (!ImageIO.write(image, "jpg", target)) throw new IOException("no JPEG writer found");
+    }
+}
@@ -0,0 +1,40 @@
+package de.fuzzlemann.ucutils.utils.image;
+
+import de.fuzzlemann.ucutils.Main;
+import net.minecraft.util.text.TextFormatting;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Shows the progress of an upload above the hotbar. The display is only updated when the percentage changed.
+ *
+ * @author Fuzzlemann
+ */
+@SideOnly(Side.CLIENT)
+public class UploadProgressDisplay implements ImageUploader.ProgressListener {
+
+    private final String description;
+    private int lastPercentage = -1;
+
+    /**
+     * @param description the description of what is uploaded, e.g. "Das Bild"
+     */
+    public UploadProgressDisplay(String description) {
+        this.description = description;
+    }
+
+    @Override
+    public void onProgress(long sent, long total) {
+        int percentage = total == 0 ? 100 : (int) (sent * 100 / total);
+        if (percentage == lastPercentage) return;
+
+        lastPercentage = percentage;
+
+        String text = TextFormatting.GRAY + description + " wird hochgeladen... " + TextFormatting.BLUE + percentage + "%";
+        Main.MINECRAFT.addScheduledTask(() -> {
+            if (Main.MINECRAFT.player == null) return;
+
+            Main.MINECRAFT.ingameGUI.setOverlayMessage(text, false);
+        });
+    }
+}
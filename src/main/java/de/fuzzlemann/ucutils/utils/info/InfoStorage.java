@@ -8,7 +8,8 @@ import de.fuzzlemann.ucutils.common.udf.data.misc.info.UDFFactionInfo;
 import de.fuzzlemann.ucutils.common.udf.data.misc.info.UDFInfo;
 import de.fuzzlemann.ucutils.utils.faction.Faction;
 
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashSet;
 import java.util.Map;
 
@@ -18,19 +19,19 @@ import java.util.Map;
 @UDFModule(value = DataRegistry.INFO, version = 1)
 public class InfoStorage implements UDFLoader<UDFInfo> {
 
-    public static CommandInfo commandInfo = new CommandInfo(new HashSet<>());
-    public static Map<Faction, FactionInfo> factionInfoMap = new HashMap<>();
+    public static volatile CommandInfo commandInfo = new CommandInfo(new HashSet<>());
+    public static volatile Map<Faction, FactionInfo> factionInfoMap = Collections.emptyMap();
 
     @Override
     public void supply(UDFInfo udfInfo) {
         UDFCommandInfo udfCommandInfo = udfInfo.getUdfCommandInfo();
         Map<String, UDFFactionInfo> udfFactionInfos = udfInfo.getUdfFactionInfos();
 
-        commandInfo = byUDF(udfCommandInfo);
-
+        Map<Faction, FactionInfo> factionInfos = new EnumMap<>(Faction.class);
         for (Map.Entry<String, UDFFactionInfo> entry : udfFactionInfos.entrySet()) {
             String factionAPIName = entry.getKey();
             Faction faction = Faction.byAPIName(factionAPIName);
+            if (faction == null) continue;
 
             UDFFactionInfo udfFactionInfo = entry.getValue();
             FactionInfo factionInfo = new FactionInfo(
@@ -44,8 +45,11 @@ public class InfoStorage implements UDFLoader<UDFInfo> {
                     byUDF(udfFactionInfo.getCommandInfo())
             );
 
-            factionInfoMap.put(faction, factionInfo);
+            factionInfos.put(faction, factionInfo);
         }
+
+        commandInfo = byUDF(udfCommandInfo);
+        factionInfoMap = Collections.unmodifiableMap(factionInfos);
     }
 
     private CommandInfo byUDF(UDFCommandInfo udfCommandInfo) {
@@ -0,0 +1,165 @@
+package de.fuzzlemann.ucutils.utils.io;
+
+import com.google.common.collect.ImmutableList;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import de.fuzzlemann.ucutils.utils.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * A list which is persisted in a storage file. The file starts with one JSON element per line; every change appends a
+ * journal line instead of rewriting the file:
+ * <pre>
+ * +{element}        the element was added
+ * -index            the element at the index was removed
+ * =index {element}  the element at the index was changed
+ * </pre>
+ * When enough journal lines were appended, the file is rewritten with the elements only.
+ * Only lines terminated by a line separator are loaded, so a line which was only written partially is dropped (a torn
+ * {@code -12} would otherwise remove the element at index 1); the file is rewritten without it afterwards.
+ *
+ * @author Fuzzlemann
+ */
+public class JournaledList<T> {
+
+    private static final int COMPACTION_THRESHOLD = 100;
+    private static final Gson GSON = new Gson();
+
+    private final File file;
+    private final Class<T> clazz;
+    private final List<T> elements = new ArrayList<>();
+    private int journalLines;
+
+    public JournaledList(File file, Class<T> clazz) {
+        this.file = file;
+        this.clazz = clazz;
+
+        load();
+    }
+
+    public synchronized List<T> get() {
+        return ImmutableList.copyOf(elements);
+    }
+
+    public synchronized T find(Predicate<T> predicate) {
+        for (T element : elements) {
+            if (predicate.test(element)) return element;
+        }
+
+        return null;
+    }
+
+    public synchronized boolean contains(T element) {
+        return elements.contains(element);
+    }
+
+    public synchronized boolean isEmpty() {
+        return elements.isEmpty();
+    }
+
+    public synchronized void add(T element) {
+        elements.add(element);
+        journal("+" + GSON.toJson(element, clazz));
+    }
+
+    public synchronized void remove(T element) {
+        int index = elements.indexOf(element);
+        if (index == -1) return;
+
+        elements.remove(index);
+        journal("-" + index);
+    }
+
+    /**
+     * Persists the changes of a mutable element.
+     *
+     * @param element the changed element
+     */
+    public synchronized void update(T element) {
+        int index = elements.indexOf(element);
+        if (index == -1) return;
+
+        journal("=" + index + " " + GSON.toJson(element, clazz));
+    }
+
+    private void journal(String line) {
+        if (++journalLines >= COMPACTION_THRESHOLD) {
+            compact();
+            return;
+        }
+
+        StorageService.append(file, line);
+    }
+
+    private void compact() {
+        List<String> lines = new ArrayList<>(elements.size());
+        for (T element : elements) {
+            lines.add(GSON.toJson(element, clazz));
+        }
+
+        StorageService.replace(file, lines);
+        journalLines = 0;
+    }
+
+    private synchronized void load() {
+        if (!file.exists()) return;
+
+        String content;
+        try {
+            content = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            Logger.LOGGER.catching(e);
+            return;
+        }
+
+        int end = content.lastIndexOf('\n') + 1;
+        boolean torn = end < content.length();
+        if (torn) Logger.LOGGER.warn("Skipping partially written line of " + file + ": " + content.substring(end));
+
+        for (String line : content.substring(0, end).split("\r?\n")) {
+            if (line.isEmpty()) continue;
+
+            try {
+                replay(line);
+            } catch (JsonParseException | IndexOutOfBoundsException | NumberFormatException e) {
+                Logger.LOGGER.warn("Skipping invalid line of " + file + ": " + line);
+            }
+        }
+
+        if (journalLines > 0 || torn) compact();
+    }
+
+    private void replay(String line) {
+        switch (line.charAt(0)) {
+            case '+':
+                elements.add(parse(line.substring(1)));
+                journalLines++;
+                break;
+            case '-':
+                elements.remove(Integer.parseInt(line.substring(1)));
+                journalLines++;
+                break;
+            case '=':
+                int separator = line.indexOf(' ');
+                elements.set(Integer.parseInt(line.substring(1, separator)), parse(line.substring(separator + 1)));
+                journalLines++;
+                break;
+            default:
+                elements.add(parse(line));
+        }
+    }
+
+    private T parse(String json) {
+        T element = GSON.fromJson(json, clazz);
+        if (element == null) throw new JsonParseException("null element");
+
+        return element;
+    }
+}
@@ -9,6 +9,7 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -17,46 +18,32 @@ import java.util.List;
 public class JsonManager {
 
     public static final File DIRECTORY = new File(FileManager.MC_DIRECTORY, "storage");
+    private static final Gson GSON = new Gson();
 
     /**
-     * Writes a Collection to the file
+     * Writes a Collection to the file; the file is written asynchronously by the {@link StorageService}
      *
      * @param file       The Collection that the list should be written to
      * @param objectList The Collection that should be written to the file
      */
     public static <T> void writeList(File file, Collection<T> objectList) {
-        createFile(file);
-
-        Gson gson = new Gson();
         List<String> jsonList = new ArrayList<>();
 
         for (T object : objectList) {
-            jsonList.add(gson.toJson(object));
+            jsonList.add(GSON.toJson(object));
         }
 
-        try {
-            FileUtils.writeLines(file, StandardCharsets.UTF_8.toString(), jsonList);
-        } catch (IOException e) {
-            Logger.LOGGER.catching(e);
-        }
+        StorageService.replace(file, jsonList);
     }
 
     /**
-     * Writes the Object to the file
+     * Writes the Object to the file; the file is written asynchronously by the {@link StorageService}
      *
      * @param file   The file that the Object should be written to
      * @param object The Object that should be written to the file
      */
     public static <T> void writeObject(File file, T object) {
-        createFile(file);
-
-        Gson gson = new Gson();
-
-        try {
-            FileUtils.write(file, gson.toJson(object), StandardCharsets.UTF_8);
-        } catch (IOException e) {
-            Logger.LOGGER.catching(e);
-        }
+        StorageService.replace(file, Collections.singletonList(GSON.toJson(object)));
     }
 
     /**
@@ -71,11 +58,10 @@ public class JsonManager {
         createFile(file);
 
         List<T> objectList = new ArrayList<>();
-        Gson gson = new Gson();
 
         try {
             for (String line : FileUtils.readLines(file, StandardCharsets.UTF_8)) {
-                T object = gson.fromJson(line, clazz);
+                T object = GSON.fromJson(line, clazz);
                 objectList.add(object);
             }
         } catch (IOException e) {
@@ -95,8 +81,6 @@ public class JsonManager {
     public static <T> T loadObject(File file, Class<T> clazz) {
         createFile(file);
 
-        Gson gson = new Gson();
-
         String line = null;
         try {
             line = FileUtils.lineIterator(file, StandardCharsets.UTF_8.toString()).nextLine();
@@ -104,7 +88,7 @@ public class JsonManager {
             Logger.LOGGER.catching(e);
         }
 
-        return gson.fromJson(line, clazz);
+        return GSON.fromJson(line, clazz);
     }
 
     private static void createFile(File file) {
@@ -0,0 +1,125 @@
+package de.fuzzlemann.ucutils.utils.io;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import de.fuzzlemann.ucutils.utils.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes the storage files in a single writer thread.
+ * <p>
+ * Changes aren't written immediately but collected for a short time, so a burst of changes results in one write per
+ * file: appended lines are written in one batch, and a replacement supersedes all earlier changes of the file.
+ * Replacements are written to a temporary file which is moved over the original afterwards, so a crash never leaves
+ * a partially written file behind. Pending changes are written when the game is closed.
+ *
+ * @author Fuzzlemann
+ */
+public class StorageService {
+
+    private static final long FLUSH_DELAY = 500;
+
+    private static final ScheduledExecutorService WRITER = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+            .setNameFormat("UCUtils-Storage")
+            .setDaemon(true)
+            .build());
+    private static final Map<File, PendingWrite> PENDING_WRITES = new LinkedHashMap<>();
+    private static final Object WRITE_LOCK = new Object();
+    private static ScheduledFuture<?> scheduledFlush;
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(StorageService::flush, "UCUtils-Storage-Shutdown"));
+    }
+
+    /**
+     * Appends the lines to the file.
+     *
+     * @param file  the file
+     * @param lines the lines without line separators
+     */
+    public static void append(File file, String... lines) {
+        synchronized (PENDING_WRITES) {
+            PENDING_WRITES.computeIfAbsent(file, f -> new PendingWrite()).appends.addAll(Arrays.asList(lines));
+            scheduleFlush();
+        }
+    }
+
+    /**
+     * Replaces the content of the file with the lines. Changes of the file which weren't written yet are discarded.
+     *
+     * @param file  the file
+     * @param lines the lines without line separators
+     */
+    public static void replace(File file, Collection<String> lines) {
+        synchronized (PENDING_WRITES) {
+            PendingWrite pendingWrite = PENDING_WRITES.computeIfAbsent(file, f -> new PendingWrite());
+            pendingWrite.replacement = new ArrayList<>(lines);
+            pendingWrite.appends.clear();
+
+            scheduleFlush();
+        }
+    }
+
+    /**
+     * Writes all pending changes in the calling thread.
+     */
+    public static void flush() {
+        synchronized (WRITE_LOCK) {
+            Map<File, PendingWrite> pendingWrites;
+            synchronized (PENDING_WRITES) {
+                pendingWrites = new LinkedHashMap<>(PENDING_WRITES);
+                PENDING_WRITES.clear();
+
+                if (scheduledFlush != null) {
+                    scheduledFlush.cancel(false);
+                    scheduledFlush = null;
+                }
+            }
+
+            for (Map.Entry<File, PendingWrite> entry : pendingWrites.entrySet()) {
+                try {
+                    write(entry.getKey(), entry.getValue());
+                } catch (IOException e) {
+                    Logger.LOGGER.catching(e);
+                }
+            }
+        }
+    }
+
+    private static void scheduleFlush() {
+        if (scheduledFlush != null) return;
+
+        scheduledFlush = WRITER.schedule(StorageService::flush, FLUSH_DELAY, TimeUnit.MILLISECONDS);
+    }
+
+    private static void write(File file, PendingWrite pendingWrite) throws IOException {
+        Files.createDirectories(file.getAbsoluteFile().getParentFile().toPath());
+
+        if (pendingWrite.replacement == null) {
+            Files.write(file.toPath(), pendingWrite.appends, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            return;
+        }
+
+        List<String> lines = new ArrayList<>(pendingWrite.replacement);
+        lines.addAll(pendingWrite.appends);
+
+        File tempFile = new File(file.getAbsoluteFile().getParentFile(), file.getName() + ".tmp");
+        Files.write(tempFile.toPath(), lines, StandardCharsets.UTF_8);
+        Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static class PendingWrite {
+        private final List<String> appends = new ArrayList<>();
+        private List<String> replacement;
+    }
+}
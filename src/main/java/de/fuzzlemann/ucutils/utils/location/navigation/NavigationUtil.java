@@ -3,6 +3,7 @@ package de.fuzzlemann.ucutils.utils.location.navigation;
 import de.fuzzlemann.ucutils.base.abstraction.AbstractionLayer;
 import de.fuzzlemann.ucutils.base.text.Message;
 import de.fuzzlemann.ucutils.base.text.MessagePart;
+import de.fuzzlemann.ucutils.base.state.ListStore;
 import de.fuzzlemann.ucutils.base.udf.UDFLoader;
 import de.fuzzlemann.ucutils.base.udf.UDFModule;
 import de.fuzzlemann.ucutils.common.udf.DataRegistry;
@@ -17,7 +18,7 @@ import net.minecraftforge.client.event.ClientChatReceivedEvent;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -34,12 +35,20 @@ public class NavigationUtil implements UDFLoader<List<CustomNaviPoint>> {
     private static final Pattern ROUTE_PATTERNS = Pattern.compile("^Du hast keine Route\\.$" +
             "|^Du hast deine Route gelöscht\\.$");
 
-    public static final List<CustomNaviPoint> NAVI_POINTS = new ArrayList<>();
+    public static final ListStore<CustomNaviPoint> NAVI_POINTS = new ListStore<>();
 
     public static CustomNaviPoint getNaviPoint(String input) {
         input = input.replace('-', ' ');
 
-        return ForgeUtils.getMostMatchingL(NAVI_POINTS, input, CustomNaviPoint::getNames);
+        return ForgeUtils.getMostMatchingL(NAVI_POINTS.get(), input, CustomNaviPoint::getNames);
+    }
+
+    public static CustomNaviPoint getNearestNaviPoint(int x, int y, int z) {
+        CustomNaviPoint nearestNaviPoint = ForgeUtils.getNearestObject(new BlockPos(x, y, z), NAVI_POINTS.get(), CustomNaviPoint::getX, CustomNaviPoint::getY, CustomNaviPoint::getZ).getValue();
+        if (nearestNaviPoint == null)
+            nearestNaviPoint = new CustomNaviPoint(Collections.singletonList("n/a"), 0, 0, 0); // fix for instances where the webserver is not available
+
+        return nearestNaviPoint;
     }
 
     public static ITextComponent getNavigationText(String naviPoint) {
@@ -120,7 +129,7 @@ public class NavigationUtil implements UDFLoader<List<CustomNaviPoint>> {
 
     @Override
     public void supply(List<CustomNaviPoint> customNaviPoints) {
-        NAVI_POINTS.addAll(customNaviPoints);
+        NAVI_POINTS.replace(customNaviPoints);
     }
 
     @Override
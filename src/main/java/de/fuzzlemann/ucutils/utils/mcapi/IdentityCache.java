@@ -0,0 +1,254 @@
+package de.fuzzlemann.ucutils.utils.mcapi;
+
+import com.google.common.collect.Iterables;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import de.fuzzlemann.ucutils.utils.Logger;
+import de.fuzzlemann.ucutils.utils.api.APIUtils;
+import de.fuzzlemann.ucutils.utils.io.JsonManager;
+
+import java.io.File;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Caches the UUIDs and the name histories of the players and stores them on the disk.
+ * <p>
+ * The UUIDs of unknown names are resolved through the profile endpoint, which resolves up to {@value #BATCH_SIZE}
+ * names per request. Concurrent lookups of the same name share one request. Names which don't exist are cached as
+ * well, but for a shorter time. The requests are sent by a small pool of threads of its own.
+ *
+ * @author Fuzzlemann
+ */
+class IdentityCache {
+
+    static final int BATCH_SIZE = 10;
+
+    private static final long UUID_TTL = TimeUnit.DAYS.toMillis(1);
+    private static final long UNKNOWN_NAME_TTL = TimeUnit.HOURS.toMillis(1);
+    private static final long NAME_HISTORY_TTL = TimeUnit.DAYS.toMillis(1);
+
+    private final String baseURL;
+    private final File file;
+    private final ExecutorService executor = new ThreadPoolExecutor(2, 2, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+            new ThreadFactoryBuilder().setNameFormat("UCUtils-Mojang-%d").setDaemon(true).build());
+
+    private final Map<String, UUIDEntry> uuids = new ConcurrentHashMap<>();
+    private final Map<String, HistoryEntry> histories = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<String>> pendingUUIDs = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<List<String>>> pendingHistories = new ConcurrentHashMap<>();
+
+    /**
+     * @param baseURL the url of the Mojang API, without a trailing slash
+     * @param file    the file the cache is stored in
+     */
+    IdentityCache(String baseURL, File file) {
+        this.baseURL = baseURL;
+        this.file = file;
+
+        load();
+    }
+
+    /**
+     * Resolves the UUIDs of the names.
+     *
+     * @param names the current names of the players
+     * @return the future completed with the UUIDs by the lower case names; unknown names are missing
+     */
+    CompletableFuture<Map<String, String>> getUUIDs(Collection<String> names) {
+        Map<String, CompletableFuture<String>> futures = new LinkedHashMap<>();
+        List<String> misses = new ArrayList<>();
+
+        long now = System.currentTimeMillis();
+        for (String name : names) {
+            String key = name.toLowerCase(Locale.ROOT);
+            if (futures.containsKey(key)) continue;
+
+            UUIDEntry entry = uuids.get(key);
+            if (entry != null && !entry.isExpired(now)) {
+                futures.put(key, CompletableFuture.completedFuture(entry.uuid));
+                continue;
+            }
+
+            CompletableFuture<String> newFuture = new CompletableFuture<>();
+            CompletableFuture<String> future = pendingUUIDs.putIfAbsent(key, newFuture);
+            if (future == null) {
+                future = newFuture;
+                misses.add(key);
+            }
+
+            futures.put(key, future);
+        }
+
+        for (List<String> batch : Iterables.partition(misses, BATCH_SIZE)) {
+            executor.execute(() -> resolveUUIDs(batch));
+        }
+
+        return CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[0])).thenApply(ignored -> {
+            Map<String, String> result = new LinkedHashMap<>();
+            futures.forEach((name, future) -> {
+                String uuid = future.join();
+                if (uuid != null) result.put(name, uuid);
+            });
+
+            return result;
+        });
+    }
+
+    /**
+     * Resolves the names the player had, including the current one.
+     *
+     * @param name the current name of the player
+     * @return the future completed with the names, the earliest first; empty if the player doesn't exist
+     */
+    CompletableFuture<List<String>> getNameHistory(String name) {
+        return getUUIDs(Collections.singleton(name)).thenCompose(resolvedUUIDs -> {
+            String uuid = Iterables.getFirst(resolvedUUIDs.values(), null);
+            if (uuid == null) return CompletableFuture.completedFuture(Collections.emptyList());
+
+            return getNameHistoryByUUID(uuid);
+        });
+    }
+
+    private CompletableFuture<List<String>> getNameHistoryByUUID(String uuid) {
+        HistoryEntry entry = histories.get(uuid);
+        if (entry != null && entry.names != null && !entry.isExpired(System.currentTimeMillis()))
+            return CompletableFuture.completedFuture(entry.names);
+
+        CompletableFuture<List<String>> newFuture = new CompletableFuture<>();
+        CompletableFuture<List<String>> future = pendingHistories.putIfAbsent(uuid, newFuture);
+        if (future != null) return future;
+
+        executor.execute(() -> resolveNameHistory(uuid, newFuture));
+        return newFuture;
+    }
+
+    private void resolveUUIDs(List<String> names) {
+        Map<String, String> resolved = new HashMap<>();
+        boolean failed = false;
+
+        try {
+            Profile[] profiles = APIUtils.postJson(Profile[].class, baseURL + "/profiles/minecraft", names);
+            if (profiles == null) {
+                failed = true;
+            } else {
+                for (Profile profile : profiles) {
+                    if (profile.id != null && profile.name != null)
+                        resolved.put(profile.name.toLowerCase(Locale.ROOT), profile.id);
+                }
+            }
+        } catch (RuntimeException e) {
+            Logger.LOGGER.catching(e);
+            failed = true;
+        }
+
+        long now = System.currentTimeMillis();
+        for (String name : names) {
+            String uuid = resolved.get(name);
+
+            // a failed request says nothing about the name, so it isn't cached
+            if (!failed) uuids.put(name, new UUIDEntry(uuid, now));
+
+            pendingUUIDs.remove(name).complete(uuid);
+        }
+
+        if (!failed) save();
+    }
+
+    private void resolveNameHistory(String uuid, CompletableFuture<List<String>> future) {
+        List<String> names = null;
+
+        try {
+            String content = APIUtils.get(baseURL + "/user/profiles/" + uuid + "/names");
+            if (content != null) {
+                JsonElement jsonElement = new JsonParser().parse(content);
+
+                names = new ArrayList<>();
+                if (jsonElement.isJsonArray()) {
+                    JsonArray jsonArray = jsonElement.getAsJsonArray();
+                    for (JsonElement element : jsonArray) {
+                        names.add(element.getAsJsonObject().get("name").getAsString());
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            Logger.LOGGER.catching(e);
+            names = null;
+        }
+
+        if (names != null) {
+            histories.put(uuid, new HistoryEntry(Collections.unmodifiableList(names), System.currentTimeMillis()));
+            save();
+        }
+
+        pendingHistories.remove(uuid);
+        future.complete(names == null ? Collections.emptyList() : names);
+    }
+
+    private void load() {
+        if (!file.exists() || file.length() == 0) return;
+
+        try {
+            Snapshot snapshot = JsonManager.loadObject(file, Snapshot.class);
+            if (snapshot == null) return;
+
+            if (snapshot.uuids != null) uuids.putAll(snapshot.uuids);
+            if (snapshot.histories != null) histories.putAll(snapshot.histories);
+        } catch (JsonParseException e) {
+            Logger.LOGGER.catching(e);
+        }
+    }
+
+    private void save() {
+        long now = System.currentTimeMillis();
+        uuids.values().removeIf(entry -> entry.isExpired(now));
+        histories.values().removeIf(entry -> entry.isExpired(now));
+
+        Snapshot snapshot = new Snapshot();
+        snapshot.uuids = new HashMap<>(uuids);
+        snapshot.histories = new HashMap<>(histories);
+
+        JsonManager.writeObject(file, snapshot);
+    }
+
+    private static class Snapshot {
+        private Map<String, UUIDEntry> uuids;
+        private Map<String, HistoryEntry> histories;
+    }
+
+    private static class UUIDEntry {
+        private final String uuid;
+        private final long time;
+
+        private UUIDEntry(String uuid, long time) {
+            this.uuid = uuid;
+            this.time = time;
+        }
+
+        private boolean isExpired(long now) {
+            return now - time > (uuid == null ? UNKNOWN_NAME_TTL : UUID_TTL);
+        }
+    }
+
+    private static class HistoryEntry {
+        private final List<String> names;
+        private final long time;
+
+        private HistoryEntry(List<String> names, long time) {
+            this.names = names;
+            this.time = time;
+        }
+
+        private boolean isExpired(long now) {
+            return now - time > NAME_HISTORY_TTL;
+        }
+    }
+
+    private static class Profile {
+        private String id;
+        private String name;
+    }
+}
@@ -1,94 +1,60 @@
 package de.fuzzlemann.ucutils.utils.mcapi;
 
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.SetMultimap;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonParser;
-import de.fuzzlemann.ucutils.utils.Logger;
-import de.fuzzlemann.ucutils.utils.api.APIUtils;
+import de.fuzzlemann.ucutils.utils.io.JsonManager;
 
-import javax.annotation.Nonnull;
+import java.io.File;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * @author Fuzzlemann
  */
 public class MojangAPI {
 
-    private static final LoadingCache<String, String> UUID_CACHE = CacheBuilder.newBuilder()
-            .build(new CacheLoader<String, String>() {
-                @Override
-                public String load(@Nonnull String name) {
-                    String uuid = getUncachedUUID(name);
-                    if (uuid == null) throw new NullPointerException("uuid is null");
-
-                    return uuid;
-                }
-            });
-
-    private static final LoadingCache<String, List<String>> EARLIER_NAMES_CACHE = CacheBuilder.newBuilder()
-            .expireAfterWrite(1, TimeUnit.HOURS)
-            .build(new CacheLoader<String, List<String>>() {
-                @Override
-                public List<String> load(@Nonnull String name) {
-                    return getUncachedEarlierNames(name);
-                }
-            });
-
+    private static final IdentityCache IDENTITY_CACHE = new IdentityCache(
+            System.getProperty("ucutils.mojangAPI", "https://api.mojang.com"),
+            new File(JsonManager.DIRECTORY, "mojang_identities.json"));
 
+    /**
+     * Resolves the earlier names of all players at once; the UUIDs are resolved in batches.
+     *
+     * @param names the current names of the players
+     * @return the names of the players by their current names
+     */
     public static SetMultimap<String, String> getEarlierNames(List<String> names) {
-        SetMultimap<String, String> earlierNames = HashMultimap.create();
+        Map<String, String> uuids = IDENTITY_CACHE.getUUIDs(names).join();
+
+        List<CompletableFuture<List<String>>> futures = new ArrayList<>(names.size());
+        for (String name : names) {
+            // the UUIDs are already cached, so only the name histories are requested
+            futures.add(uuids.containsKey(name.toLowerCase(Locale.ROOT))
+                    ? IDENTITY_CACHE.getNameHistory(name)
+                    : CompletableFuture.completedFuture(Collections.emptyList()));
+        }
 
-        names.parallelStream().forEach(name -> earlierNames.putAll(name, getEarlierNames(name)));
+        SetMultimap<String, String> earlierNames = HashMultimap.create();
+        for (int i = 0; i < names.size(); i++) {
+            earlierNames.putAll(names.get(i), futures.get(i).join());
+        }
 
         return earlierNames;
     }
 
     public static List<String> getEarlierNames(String name) {
-        return EARLIER_NAMES_CACHE.getUnchecked(name);
-    }
-
-    private static List<String> getUncachedEarlierNames(String name) {
-        List<String> earlierNames = new ArrayList<>();
-
-        String uuid = getUUID(name);
-        if (uuid == null) return earlierNames;
-
-        JsonElement jsonElement = getJsonElement("https://api.mojang.com/user/profiles/" + uuid + "/names");
-        if (jsonElement == null) return earlierNames;
-        if (jsonElement.isJsonNull()) return earlierNames;
-
-        for (JsonElement element : jsonElement.getAsJsonArray()) {
-            earlierNames.add(element.getAsJsonObject().get("name").getAsString());
-        }
-
-        return earlierNames;
+        return IDENTITY_CACHE.getNameHistory(name).join();
     }
 
+    /**
+     * @param currentName the current name of the player
+     * @return the UUID of the player without dashes or {@code null} if the player doesn't exist
+     */
     public static String getUUID(String currentName) {
-        return UUID_CACHE.getUnchecked(currentName);
-    }
-
-    private static String getUncachedUUID(String currentName) {
-        JsonElement jsonElement = getJsonElement("https://api.mojang.com/users/profiles/minecraft/" + currentName);
-        if (jsonElement == null) return null;
-        if (jsonElement.isJsonNull()) return null;
-
-        return jsonElement.getAsJsonObject().get("id").getAsString();
-    }
-
-    private static JsonElement getJsonElement(String urlString) {
-        try {
-            String content = APIUtils.get(urlString);
-            return new JsonParser().parse(content);
-        } catch (Exception e) {
-            Logger.LOGGER.catching(e);
-            return null;
-        }
+        return IDENTITY_CACHE.getUUIDs(Collections.singleton(currentName)).join().get(currentName.toLowerCase(Locale.ROOT));
     }
 }
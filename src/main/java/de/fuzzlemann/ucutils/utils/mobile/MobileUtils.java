@@ -2,6 +2,7 @@ package de.fuzzlemann.ucutils.utils.mobile;
 
 import com.google.common.util.concurrent.Uninterruptibles;
 import de.fuzzlemann.ucutils.base.abstraction.AbstractionLayer;
+import de.fuzzlemann.ucutils.utils.io.JournaledList;
 import de.fuzzlemann.ucutils.utils.io.JsonManager;
 import net.minecraftforge.client.event.ClientChatReceivedEvent;
 import net.minecraftforge.fml.common.Mod;
@@ -10,7 +11,6 @@ import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
 import java.io.File;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
@@ -25,7 +25,7 @@ import java.util.regex.Pattern;
 public class MobileUtils {
 
     private static final File BLOCKED_FILE = new File(JsonManager.DIRECTORY, "blocked.storage");
-    private static final List<String> BLOCKED_PLAYERS = new ArrayList<>(JsonManager.loadObjects(BLOCKED_FILE, String.class));
+    private static final JournaledList<String> BLOCKED_PLAYERS = new JournaledList<>(BLOCKED_FILE, String.class);
     private static final Pattern SMS_PATTERN = Pattern.compile("^Dein Handy klingelt! Eine Nachricht von (?:\\[UC])*([a-zA-Z0-9_]+) \\((\\d+)\\)\\.$");
     private static final Pattern NUMBER_PATTERN = Pattern.compile("^Nummer von (?:\\[UC])*[a-zA-Z0-9_]+: (\\d+)$");
 
@@ -35,12 +35,10 @@ public class MobileUtils {
 
     public static void block(String playerName) {
         BLOCKED_PLAYERS.add(playerName);
-        save();
     }
 
     public static void unblock(String playerName) {
         BLOCKED_PLAYERS.remove(playerName);
-        save();
     }
 
     public static boolean isBlocked(String playerName) {
@@ -48,11 +46,7 @@ public class MobileUtils {
     }
 
     public static List<String> getBlockedPlayers() {
-        return BLOCKED_PLAYERS;
-    }
-
-    private static void save() {
-        new Thread(() -> JsonManager.writeList(BLOCKED_FILE, BLOCKED_PLAYERS)).start();
+        return BLOCKED_PLAYERS.get();
     }
 
     public static int getNumber(String numberPlayer) {
@@ -2,6 +2,7 @@ package de.fuzzlemann.ucutils.utils.punishment;
 
 import com.google.common.collect.LinkedListMultimap;
 import com.google.common.collect.ListMultimap;
+import de.fuzzlemann.ucutils.base.state.ListStore;
 import de.fuzzlemann.ucutils.base.udf.UDFLoader;
 import de.fuzzlemann.ucutils.base.udf.UDFModule;
 import de.fuzzlemann.ucutils.common.udf.DataRegistry;
@@ -23,16 +24,16 @@ import java.util.stream.Collectors;
 @UDFModule(value = DataRegistry.VIOLATIONS, version = 1)
 public class PunishManager implements UDFLoader<List<Violation>> {
 
-    private static final List<Violation> VIOLATIONS = new ArrayList<>();
+    private static final ListStore<Violation> VIOLATIONS = new ListStore<>();
 
     public static List<String> getViolations() {
-        return VIOLATIONS.stream()
+        return VIOLATIONS.get().stream()
                 .map(Violation::getReason)
                 .collect(Collectors.toList());
     }
 
     public static Violation getViolation(String reason) {
-        return VIOLATIONS.stream()
+        return VIOLATIONS.get().stream()
                 .filter(violation -> violation.getReason().equalsIgnoreCase(reason))
                 .findFirst()
                 .orElse(null);
@@ -87,7 +88,7 @@ public class PunishManager implements UDFLoader<List<Violation>> {
 
     @Override
     public void supply(List<Violation> violations) {
-        VIOLATIONS.addAll(violations);
+        VIOLATIONS.replace(violations);
     }
 
     @Override
@@ -46,16 +46,14 @@ public class ToDo {
     }
 
     public void delete() {
-        ToDoManager.getToDoList().remove(this);
-        save();
+        ToDoManager.remove(this);
     }
 
     public void add() {
-        ToDoManager.getToDoList().add(this);
-        save();
+        ToDoManager.add(this);
     }
 
     public void save() {
-        ToDoManager.save();
+        ToDoManager.update(this);
     }
 }
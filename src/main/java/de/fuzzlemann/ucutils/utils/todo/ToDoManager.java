@@ -1,9 +1,9 @@
 package de.fuzzlemann.ucutils.utils.todo;
 
+import de.fuzzlemann.ucutils.utils.io.JournaledList;
 import de.fuzzlemann.ucutils.utils.io.JsonManager;
 
 import java.io.File;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -11,20 +11,25 @@ import java.util.List;
  */
 public class ToDoManager {
     private static final File TO_DO_FILE = new File(JsonManager.DIRECTORY, "toDo.storage");
-    private static final List<ToDo> TO_DO_LIST = new ArrayList<>(JsonManager.loadObjects(TO_DO_FILE, ToDo.class));
+    private static final JournaledList<ToDo> TO_DO_LIST = new JournaledList<>(TO_DO_FILE, ToDo.class);
 
     public static ToDo getToDo(int id) {
-        return TO_DO_LIST.stream()
-                .filter(toDo -> toDo.getID() == id)
-                .findFirst()
-                .orElse(null);
+        return TO_DO_LIST.find(toDo -> toDo.getID() == id);
     }
 
     public static List<ToDo> getToDoList() {
-        return TO_DO_LIST;
+        return TO_DO_LIST.get();
     }
 
-    public static void save() {
-        new Thread(() -> JsonManager.writeList(TO_DO_FILE, TO_DO_LIST)).start();
+    static void add(ToDo toDo) {
+        TO_DO_LIST.add(toDo);
+    }
+
+    static void remove(ToDo toDo) {
+        TO_DO_LIST.remove(toDo);
+    }
+
+    static void update(ToDo toDo) {
+        TO_DO_LIST.update(toDo);
     }
 }
@@ -0,0 +1,64 @@
+package de.fuzzlemann.ucutils.utils.trigger;
+
+/**
+ * A user-defined chat trigger as stored in {@code chatTriggers.storage}, e.g.
+ * <pre>{"pattern":"^\\[Kasse] (.+) hat (\\d+)\\$ eingezahlt\\.$","sound":"ucutils:timer","highlight":"GOLD","timer":"Kasse","timerSeconds":300}</pre>
+ * Every action is optional.
+ *
+ * @author Fuzzlemann
+ */
+public class ChatTrigger {
+
+    private String pattern;
+    private String sound;
+    private float volume = 1;
+    private String highlight;
+    private boolean cancel;
+    private String command;
+    private String timer;
+    private int timerSeconds;
+
+    public String getPattern() {
+        return pattern;
+    }
+
+    /**
+     * @return the name of the sound which is played, e.g. {@code ucutils:timer}
+     */
+    public String getSound() {
+        return sound;
+    }
+
+    public float getVolume() {
+        return volume;
+    }
+
+    /**
+     * @return the name of the {@link net.minecraft.util.text.TextFormatting} the line is highlighted with
+     */
+    public String getHighlight() {
+        return highlight;
+    }
+
+    public boolean isCancel() {
+        return cancel;
+    }
+
+    /**
+     * @return the command or message which is sent; {@code $1}, {@code $2}, ... are replaced with the groups of the pattern
+     */
+    public String getCommand() {
+        return command;
+    }
+
+    /**
+     * @return the title of the HUD timer which is started
+     */
+    public String getTimer() {
+        return timer;
+    }
+
+    public int getTimerSeconds() {
+        return timerSeconds;
+    }
+}
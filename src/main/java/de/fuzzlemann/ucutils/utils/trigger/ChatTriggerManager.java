@@ -0,0 +1,140 @@
+package de.fuzzlemann.ucutils.utils.trigger;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import de.fuzzlemann.ucutils.base.abstraction.AbstractionLayer;
+import de.fuzzlemann.ucutils.base.chat.ChatRouter;
+import de.fuzzlemann.ucutils.base.chat.ChatRule;
+import de.fuzzlemann.ucutils.base.initializor.IInitializor;
+import de.fuzzlemann.ucutils.base.initializor.InitMode;
+import de.fuzzlemann.ucutils.base.initializor.Initializor;
+import de.fuzzlemann.ucutils.utils.Logger;
+import de.fuzzlemann.ucutils.utils.io.JsonManager;
+import de.fuzzlemann.ucutils.utils.sound.SoundUtil;
+import net.minecraft.util.SoundEvent;
+import net.minecraft.util.text.ITextComponent;
+import net.minecraft.util.text.TextFormatting;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+import org.apache.commons.io.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Loads the user-defined {@link ChatTrigger}s, compiles them into {@link ChatRule}s and registers them at the
+ * {@link ChatRouter}. The file is checked for changes every two seconds and reloaded when it was modified.
+ *
+ * @author Fuzzlemann
+ */
+@SideOnly(Side.CLIENT)
+@Initializor(value = "ChatTriggers", initMode = InitMode.DEFAULT, mainThread = false)
+public class ChatTriggerManager implements IInitializor {
+
+    private static final File TRIGGER_FILE = new File(JsonManager.DIRECTORY, "chatTriggers.storage");
+    private static final Pattern GROUP_REFERENCE_PATTERN = Pattern.compile("\\$(\\d)");
+    private static final Timer TIMER = new Timer("UCUtils-ChatTriggerWatcher", true);
+    private static long lastModified = -1;
+
+    @Override
+    public void init() {
+        reload();
+
+        TIMER.schedule(new TimerTask() {
+            @Override
+            public void run() {
+                if (TRIGGER_FILE.lastModified() != lastModified) reload();
+            }
+        }, 2000L, 2000L);
+    }
+
+    public static synchronized void reload() {
+        lastModified = TRIGGER_FILE.lastModified();
+
+        List<ChatRule> rules = new ArrayList<>();
+        Gson gson = new Gson();
+
+        List<String> lines;
+        try {
+            lines = TRIGGER_FILE.exists() ? FileUtils.readLines(TRIGGER_FILE, StandardCharsets.UTF_8) : new ArrayList<>();
+        } catch (IOException e) {
+            Logger.LOGGER.catching(e);
+            return;
+        }
+
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i).trim();
+            if (line.isEmpty()) continue;
+
+            try {
+                ChatTrigger trigger = gson.fromJson(line, ChatTrigger.class);
+                ChatRule rule = compile("ChatTrigger#" + (i + 1), trigger);
+                if (rule != null) rules.add(rule);
+            } catch (JsonParseException | PatternSyntaxException e) {
+                Logger.LOGGER.warn("Invalid chat trigger in line " + (i + 1) + " of " + TRIGGER_FILE + ": " + e.getMessage());
+            }
+        }
+
+        ChatRouter.replace("ChatTrigger", rules);
+        Logger.LOGGER.info("Loaded " + rules.size() + " chat triggers");
+    }
+
+    private static ChatRule compile(String name, ChatTrigger trigger) {
+        if (trigger == null || trigger.getPattern() == null) return null;
+
+        Pattern pattern = Pattern.compile(trigger.getPattern());
+
+        SoundEvent sound = trigger.getSound() == null ? null : SoundUtil.getSoundEvent(trigger.getSound());
+        if (trigger.getSound() != null && sound == null)
+            Logger.LOGGER.warn(name + ": unknown sound " + trigger.getSound());
+
+        TextFormatting highlight = trigger.getHighlight() == null ? null : TextFormatting.getValueByName(trigger.getHighlight());
+        if (trigger.getHighlight() != null && highlight == null)
+            Logger.LOGGER.warn(name + ": unknown formatting " + trigger.getHighlight());
+
+        String command = trigger.getCommand();
+        String timer = trigger.getTimer();
+        long timerDuration = trigger.getTimerSeconds() * 1000L;
+        boolean cancel = trigger.isCancel();
+        float volume = trigger.getVolume();
+
+        return new ChatRule(name, null, pattern, (e, matcher) -> {
+            if (sound != null) AbstractionLayer.getPlayer().playSound(sound, volume, 1);
+            if (highlight != null) highlight(e.getMessage(), highlight);
+            if (timer != null && timerDuration > 0) TriggerTimerEventHandler.start(timer, timerDuration);
+            if (command != null) AbstractionLayer.getPlayer().sendChatMessage(substituteGroups(command, matcher));
+            if (cancel) e.setCanceled(true);
+        });
+    }
+
+    private static void highlight(ITextComponent component, TextFormatting formatting) {
+        component.getStyle().setColor(formatting);
+
+        for (ITextComponent sibling : component.getSiblings()) {
+            highlight(sibling, formatting);
+        }
+    }
+
+    private static String substituteGroups(String command, Matcher matcher) {
+        Matcher referenceMatcher = GROUP_REFERENCE_PATTERN.matcher(command);
+        StringBuffer sb = new StringBuffer();
+
+        while (referenceMatcher.find()) {
+            int group = Integer.parseInt(referenceMatcher.group(1));
+            String value = group <= matcher.groupCount() ? matcher.group(group) : null;
+
+            referenceMatcher.appendReplacement(sb, Matcher.quoteReplacement(value == null ? "" : value));
+        }
+
+        referenceMatcher.appendTail(sb);
+        return sb.toString();
+    }
+}
@@ -0,0 +1,67 @@
+package de.fuzzlemann.ucutils.utils.trigger;
+
+import de.fuzzlemann.ucutils.Main;
+import net.minecraft.client.gui.FontRenderer;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Displays the timers started by {@link ChatTrigger}s in the upper left corner.
+ *
+ * @author Fuzzlemann
+ */
+@Mod.EventBusSubscriber
+@SideOnly(Side.CLIENT)
+public class TriggerTimerEventHandler {
+
+    private static final Map<String, Long> TIMERS = new ConcurrentSkipListMap<>();
+
+    /**
+     * Starts the timer with the given title; an already running timer with the same title is restarted.
+     *
+     * @param title    the title of the timer
+     * @param duration the duration of the timer in milliseconds
+     */
+    public static void start(String title, long duration) {
+        TIMERS.put(title, System.currentTimeMillis() + duration);
+    }
+
+    @SubscribeEvent
+    public static void onTick(TickEvent.RenderTickEvent e) {
+        if (e.phase != TickEvent.Phase.END) return;
+        if (TIMERS.isEmpty()) return;
+
+        FontRenderer fontRenderer = Main.MINECRAFT.fontRenderer;
+        Main.MINECRAFT.entityRenderer.setupOverlayRendering();
+
+        long now = System.currentTimeMillis();
+        int y = 5;
+
+        Iterator<Map.Entry<String, Long>> iterator = TIMERS.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Long> entry = iterator.next();
+            long remaining = entry.getValue() - now;
+
+            if (remaining <= 0) {
+                iterator.remove();
+                continue;
+            }
+
+            fontRenderer.drawStringWithShadow(entry.getKey() + ": " + formatTime(remaining), 5, y, 0x009999);
+            y += 10;
+        }
+    }
+
+    private static String formatTime(long time) {
+        long seconds = TimeUnit.MILLISECONDS.toSeconds(time + 999);
+        return String.format("%02d:%02d", seconds / 60, seconds % 60);
+    }
+}
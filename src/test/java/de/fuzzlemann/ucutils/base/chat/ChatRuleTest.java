@@ -0,0 +1,87 @@
+package de.fuzzlemann.ucutils.base.chat;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author Fuzzlemann
+ */
+class ChatRuleTest {
+
+    private static final ChatRule.ChatAction NO_ACTION = (e, matcher) -> {
+    };
+
+    @Test
+    void testLiteralPrefix() {
+        assertEquals(Collections.singletonList(" » Freundesliste: "), ChatRule.literalPrefixes("^ » Freundesliste: (?:\\[UC])*([a-zA-Z0-9_]+) ist nun online.$"));
+        assertEquals(Collections.singletonList("[Report] Du hast den Report von "), ChatRule.literalPrefixes("^\\[Report] Du hast den Report von [a-zA-Z0-9_]+ angenommen!$"));
+        assertEquals(Collections.singletonList("HQ: Achtung! Ein Notruf von "), ChatRule.literalPrefixes("^HQ: Achtung! Ein Notruf von .+$"));
+    }
+
+    @Test
+    void testQuantifiedLiteral() {
+        assertEquals(Collections.singletonList("New"), ChatRule.literalPrefixes("^News?: Test"));
+        assertEquals(Collections.singletonList("Aaa"), ChatRule.literalPrefixes("^Aaa+b"));
+        assertEquals(Collections.singletonList("A"), ChatRule.literalPrefixes("^Ab{2}"));
+    }
+
+    @Test
+    void testAlternatives() {
+        assertEquals(Arrays.asList("Wir empfehlen", "Unter https://unicacity.de/dl/UnicaCity"),
+                ChatRule.literalPrefixes("^Wir empfehlen|^Unter https://unicacity\\.de/dl/UnicaCity[_a-z]+.zip"));
+        assertEquals(Arrays.asList("Ein ", "Zwei"), ChatRule.literalPrefixes("(?:^Ein (?:a|b))|(?:^Zwei)"));
+        assertEquals(Arrays.asList("Ein", "Zwei", "Drei"), ChatRule.literalPrefixes("(?:^Ein|^Zwei)|^Drei"));
+    }
+
+    @Test
+    void testNoPrefix() {
+        assertEquals(Collections.emptyList(), ChatRule.literalPrefixes("News: Die Bombe"));
+        assertEquals(Collections.emptyList(), ChatRule.literalPrefixes("^(?:\\[UC])*[a-zA-Z0-9_]+ ist der Fraktion beigetreten.$"));
+        assertEquals(Collections.emptyList(), ChatRule.literalPrefixes("^Test|Ohne Anker"));
+        assertEquals(Collections.emptyList(), ChatRule.literalPrefixes("^\\d+ Test"));
+    }
+
+    @Test
+    void testRequiredLiterals() {
+        assertEquals(Collections.singletonList("News: Die Bombe"), ChatRule.requiredLiterals("News: Die Bombe"));
+        assertEquals(Collections.singletonList(" ist der Fraktion beigetreten"), ChatRule.requiredLiterals("^(?:\\[UC])*[a-zA-Z0-9_]+ ist der Fraktion beigetreten.$"));
+        assertEquals(Collections.singletonList(" hat "), ChatRule.requiredLiterals("(Bombe|Sprengsatz)[0-9]* hat (?:\\w+)?"));
+        assertEquals(Arrays.asList("Test", "Ohne Anker"), ChatRule.requiredLiterals("^Test|Ohne Anker"));
+        assertEquals(Collections.singletonList("Gelde"), ChatRule.requiredLiterals("Geldes? [a-z]{3}"));
+        assertEquals(Collections.singletonList("Aaa"), ChatRule.requiredLiterals("Aaa+b?"));
+    }
+
+    @Test
+    void testNoRequiredLiteral() {
+        assertEquals(Collections.emptyList(), ChatRule.requiredLiterals("Bombe|\\d+"));
+        assertEquals(Collections.emptyList(), ChatRule.requiredLiterals("(?:Bombe)?.*"));
+        assertEquals(Collections.emptyList(), new ChatRule("Trigger", null, Pattern.compile("(?i)Bombe"), NO_ACTION).getRequiredLiterals());
+        assertEquals(Collections.emptyList(), new ChatRule("Trigger", null, Pattern.compile("Bombe", Pattern.CASE_INSENSITIVE), NO_ACTION).getRequiredLiterals());
+    }
+
+    @Test
+    void testCandidates() {
+        Map<String, List<ChatRule>> rules = new HashMap<>();
+        rules.put("Notification", Arrays.asList(
+                rule("Report", "^\\[Report] .+ angenommen!$"),
+                rule("Notruf", "^HQ: Achtung! Ein Notruf von .+$")));
+        rules.put("ChatTrigger", Arrays.asList(
+                rule("Bombe", "Bombe"),
+                rule("Geld", "(?:Geld|Bargeld)[0-9]*\\$"),
+                rule("Alles", "\\d+"),
+                rule("Anders", "(?i)bombe")));
+
+        assertEquals(Arrays.asList("Bombe", "Alles", "Anders"), ChatRouter.getCandidates(rules, "News: Die Bombe wurde gelegt!"));
+        assertEquals(Arrays.asList("Alles", "Anders"), ChatRouter.getCandidates(rules, "Hallo"));
+        assertEquals(Arrays.asList("Geld", "Alles", "Anders", "Notruf"), ChatRouter.getCandidates(rules, "HQ: Achtung! Ein Notruf von Bargeld5$"));
+        assertEquals(Arrays.asList("Alles", "Anders", "Report"), ChatRouter.getCandidates(rules, "[Report] Du hast den Report angenommen!"));
+    }
+
+    private static ChatRule rule(String name, String regex) {
+        return new ChatRule(name, null, Pattern.compile(regex), NO_ACTION);
+    }
+}
@@ -0,0 +1,99 @@
+package de.fuzzlemann.ucutils.base.state;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Fuzzlemann
+ */
+class StateStoreTest {
+
+    @Test
+    void testSnapshotIsolation() {
+        MapStore<String, Integer> store = new MapStore<>();
+        store.put("a", 1);
+
+        ImmutableMap<String, Integer> snapshot = store.get();
+        store.put("b", 2);
+        store.remove("a");
+
+        assertEquals(ImmutableMap.of("a", 1), snapshot);
+        assertEquals(ImmutableMap.of("b", 2), store.get());
+    }
+
+    @Test
+    void testListeners() {
+        StateStore<String> store = new StateStore<>("a");
+        List<String> changes = new ArrayList<>();
+        store.addListener((oldState, newState) -> changes.add(oldState + "->" + newState));
+
+        store.set("b");
+        store.update(state -> state);
+        store.set("c");
+
+        assertEquals(2, changes.size());
+        assertEquals("a->b", changes.get(0));
+        assertEquals("b->c", changes.get(1));
+    }
+
+    @Test
+    void testKeyListeners() {
+        SetStore<String> store = new SetStore<>();
+        List<String> changes = new ArrayList<>();
+        store.addKeyListener(new KeyListener<String>() {
+            @Override
+            public void onChange(String key) {
+                changes.add(key);
+            }
+
+            @Override
+            public void onReset() {
+                changes.add("reset");
+            }
+        });
+
+        store.add("a");
+        store.add("a");
+        store.remove("b");
+        store.remove("a");
+        store.addAll(Collections.singleton("c"));
+        store.clear();
+
+        assertEquals(4, changes.size());
+        assertEquals("a", changes.get(0));
+        assertEquals("a", changes.get(1));
+        assertEquals("reset", changes.get(2));
+        assertEquals("reset", changes.get(3));
+        assertFalse(store.contains("c"));
+    }
+
+    @Test
+    void testConcurrentWrites() throws InterruptedException {
+        ListStore<Integer> store = new ListStore<>();
+
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Thread thread = new Thread(() -> {
+                for (int j = 0; j < 250; j++) {
+                    store.add(j);
+                }
+            });
+
+            threads.add(thread);
+            thread.start();
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(1000, store.size());
+        assertTrue(store.get().contains(249));
+    }
+}
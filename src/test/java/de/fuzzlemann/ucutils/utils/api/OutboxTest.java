@@ -0,0 +1,135 @@
+package de.fuzzlemann.ucutils.utils.api;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.commons.io.IOUtils;
+import org.apache.http.client.HttpResponseException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the {@link Outbox} against a local stand-in of an API.
+ *
+ * @author Fuzzlemann
+ */
+class OutboxTest {
+
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private final AtomicInteger status = new AtomicInteger(200);
+    private HttpServer server;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/submit", exchange -> {
+            String body = IOUtils.toString(exchange.getRequestBody(), StandardCharsets.UTF_8);
+            requests.add(body);
+
+            respond(exchange, status.get(), "received " + body);
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void testCoalescing() throws Exception {
+        CompletableFuture<String> first = Outbox.builder(url()).key("coalescing").param("value", "1").submit();
+        CompletableFuture<String> second = Outbox.builder(url()).key("coalescing").param("value", "2").submit();
+        assertSame(first, second);
+
+        assertEquals("received value=2", second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, requests.size());
+        assertFalse(isPending());
+    }
+
+    @Test
+    void testRetry() throws Exception {
+        status.set(503);
+        CompletableFuture<String> future = Outbox.builder(url()).key("retry").param("value", "1").submit();
+
+        await(() -> attempts() == 1);
+        assertFalse(future.isDone());
+        assertEquals(1, requests.size());
+
+        status.set(200);
+        Outbox.retryNow();
+
+        assertEquals("received value=1", future.get(5, TimeUnit.SECONDS));
+        assertEquals(2, requests.size());
+        assertFalse(isPending());
+    }
+
+    @Test
+    void testReject() throws Exception {
+        status.set(400);
+        CompletableFuture<String> future = Outbox.builder(url()).key("reject").param("value", "1").submit();
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof HttpResponseException);
+        assertEquals(400, ((HttpResponseException) e.getCause()).getStatusCode());
+        assertEquals(1, requests.size());
+        assertFalse(isPending());
+    }
+
+    @Test
+    void testIdempotencyKey() throws Exception {
+        Outbox.builder(url()).key("plain").param("value", "1").submit().get(5, TimeUnit.SECONDS);
+        Outbox.builder(url()).key("idempotent").idempotent().param("value", "2").submit().get(5, TimeUnit.SECONDS);
+
+        assertEquals("value=1", requests.get(0));
+        assertEquals("value=2&idempotencyKey=idempotent", requests.get(1));
+    }
+
+    private String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/submit";
+    }
+
+    private boolean isPending() {
+        for (Outbox.Status submission : Outbox.getStatus()) {
+            if (submission.getUrl().equals(url())) return true;
+        }
+
+        return false;
+    }
+
+    private int attempts() {
+        for (Outbox.Status submission : Outbox.getStatus()) {
+            if (submission.getUrl().equals(url())) return submission.getAttempts();
+        }
+
+        return 0;
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "timed out");
+            Thread.sleep(20);
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length);
+
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package de.fuzzlemann.ucutils.utils.chatlog;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the {@link ChatLogIndex} against logs written like by the {@link ChatLogWriter}.
+ *
+ * @author Fuzzlemann
+ */
+class ChatLogIndexTest {
+
+    private static final long START = 1_600_000_000_000L;
+    private static final DateTimeFormatter TIMESTAMP_FORMATTER = DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm:ss").withZone(ZoneId.systemDefault());
+
+    private File directory;
+    private File logFile;
+    private long logSize;
+
+    @BeforeEach
+    void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("chatlog").toFile();
+        logFile = new File(directory, ChatLogWriter.LOG_PREFIX + "2020-09-13T14-26-40" + ChatLogWriter.LOG_SUFFIX);
+        logSize = 0;
+    }
+
+    @AfterEach
+    void deleteDirectory() throws IOException {
+        FileUtils.deleteDirectory(directory);
+    }
+
+    @Test
+    void testStoredSegment() throws IOException {
+        ChatLogIndex index = new ChatLogIndex(directory);
+        index.open(logFile);
+        log(index, START, "[CHAT] [UC]Fuzzlemann: Die Bombe liegt am Hafen");
+        log(index, START + 1000, "[CHAT] Max: Wo ist der Hafen?");
+        index.close();
+
+        assertTrue(new File(directory, "chatlog-2020-09-13T14-26-40" + ChatLogIndex.INDEX_SUFFIX).exists());
+
+        ChatLogIndex loadedIndex = new ChatLogIndex(directory);
+        loadedIndex.load();
+        assertFalse(loadedIndex.isMissing(logFile));
+
+        ChatLogIndex.SearchResult result = loadedIndex.search("hafen", null, Long.MIN_VALUE, Long.MAX_VALUE, 10);
+        assertEquals(2, result.getTotal());
+        assertEquals(Arrays.asList("[CHAT] Max: Wo ist der Hafen?", "[CHAT] [UC]Fuzzlemann: Die Bombe liegt am Hafen"), lines(result));
+        assertEquals(START + 1000, result.getHits().get(0).getTime());
+
+        assertEquals(0, loadedIndex.search("flughafen", null, Long.MIN_VALUE, Long.MAX_VALUE, 10).getTotal());
+    }
+
+    @Test
+    void testTermsAndPlayer() throws IOException {
+        ChatLogIndex index = new ChatLogIndex(directory);
+        index.open(logFile);
+        log(index, START, "[CHAT] [UC]Fuzzlemann: Die Bombe liegt am Hafen");
+        log(index, START + 1000, "[CHAT] Max: Die Bombe liegt am Hafen");
+        log(index, START + 2000, "[CHAT] [UC]Fuzzlemann: Die Bombe ist entschärft");
+        log(index, START + 3000, "[SELF] Fuzzlemann hat die Bombe am Hafen gefunden");
+
+        ChatLogIndex.SearchResult activeResult = index.search("bombe hafen", "Fuzzlemann", Long.MIN_VALUE, Long.MAX_VALUE, 10);
+        assertEquals(Arrays.asList("[CHAT] [UC]Fuzzlemann: Die Bombe liegt am Hafen"), lines(activeResult));
+
+        index.close();
+        ChatLogIndex loadedIndex = new ChatLogIndex(directory);
+        loadedIndex.load();
+
+        ChatLogIndex.SearchResult storedResult = loadedIndex.search("bombe hafen", "fuzzlemann", Long.MIN_VALUE, Long.MAX_VALUE, 10);
+        assertEquals(1, storedResult.getTotal());
+        assertEquals(Arrays.asList("[CHAT] [UC]Fuzzlemann: Die Bombe liegt am Hafen"), lines(storedResult));
+
+        assertEquals(3, loadedIndex.search("bombe hafen", null, Long.MIN_VALUE, Long.MAX_VALUE, 10).getTotal());
+        assertEquals(2, loadedIndex.search("", "Fuzzlemann", Long.MIN_VALUE, Long.MAX_VALUE, 10).getTotal());
+    }
+
+    @Test
+    void testTimeFilter() throws IOException {
+        ChatLogIndex index = new ChatLogIndex(directory);
+        index.open(logFile);
+        for (int i = 0; i < 10; i++) {
+            log(index, START + i * 60_000L, "[CHAT] Max: Nachricht " + i);
+        }
+
+        long from = START + 3 * 60_000L;
+        long to = START + 6 * 60_000L;
+
+        ChatLogIndex.SearchResult activeResult = index.search("nachricht", null, from, to, 2);
+        assertEquals(4, activeResult.getTotal());
+        assertEquals(Arrays.asList("[CHAT] Max: Nachricht 6", "[CHAT] Max: Nachricht 5"), lines(activeResult));
+
+        index.close();
+        ChatLogIndex loadedIndex = new ChatLogIndex(directory);
+        loadedIndex.load();
+
+        ChatLogIndex.SearchResult storedResult = loadedIndex.search("nachricht", null, from, to, 2);
+        assertEquals(4, storedResult.getTotal());
+        assertEquals(Arrays.asList("[CHAT] Max: Nachricht 6", "[CHAT] Max: Nachricht 5"), lines(storedResult));
+
+        assertEquals(0, loadedIndex.search("nachricht", null, START + 10 * 60_000L, Long.MAX_VALUE, 10).getTotal());
+    }
+
+    @Test
+    void testCompressedLog() throws IOException {
+        ChatLogIndex index = new ChatLogIndex(directory);
+        index.open(logFile);
+
+        // several blocks of at least 64 KiB
+        int lineCount = 10_000;
+        for (int i = 0; i < lineCount; i++) {
+            log(index, START + i * 1000L, "[CHAT] Max: Zeile " + i + " mit etwas Text, damit sie lang genug ist");
+        }
+        index.close();
+
+        ChatLogWriter.compress(logFile);
+
+        String name = "chatlog-2020-09-13T14-26-40";
+        assertFalse(logFile.exists());
+        assertTrue(new File(directory, name + ChatLogWriter.COMPRESSED_SUFFIX).exists());
+
+        ChatLogBlocks blocks = ChatLogBlocks.read(new File(directory, name + ChatLogBlocks.BLOCKS_SUFFIX));
+        assertTrue(blocks.blockOf(logSize - 1) > 2);
+
+        ChatLogIndex loadedIndex = new ChatLogIndex(directory);
+        loadedIndex.load();
+
+        for (int i : new int[]{10, 4321, lineCount - 1}) {
+            ChatLogIndex.SearchResult result = loadedIndex.search(String.valueOf(i), null, Long.MIN_VALUE, Long.MAX_VALUE, 10);
+            assertEquals(1, result.getTotal());
+            assertEquals(Arrays.asList("[CHAT] Max: Zeile " + i + " mit etwas Text, damit sie lang genug ist"), lines(result));
+        }
+
+        ChatLogIndex.SearchResult result = loadedIndex.search("zeile", null, START + 5000 * 1000L, START + 5002 * 1000L, 10);
+        assertEquals(Arrays.asList(
+                "[CHAT] Max: Zeile 5002 mit etwas Text, damit sie lang genug ist",
+                "[CHAT] Max: Zeile 5001 mit etwas Text, damit sie lang genug ist",
+                "[CHAT] Max: Zeile 5000 mit etwas Text, damit sie lang genug ist"), lines(result));
+    }
+
+    /**
+     * Appends the line to the log file and adds it to the index like the {@link ChatLogWriter} does.
+     */
+    private void log(ChatLogIndex index, long time, String message) throws IOException {
+        byte[] line = (TIMESTAMP_FORMATTER.format(Instant.ofEpochMilli(time)) + " | " + message + "\n").getBytes(StandardCharsets.UTF_8);
+
+        index.add(time, logSize, message);
+        Files.write(logFile.toPath(), line, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        logSize += line.length;
+    }
+
+    private static List<String> lines(ChatLogIndex.SearchResult result) {
+        List<String> lines = new ArrayList<>();
+        for (ChatLogIndex.Hit hit : result.getHits()) {
+            lines.add(hit.getLine());
+        }
+
+        return lines;
+    }
+}
@@ -0,0 +1,88 @@
+package de.fuzzlemann.ucutils.utils.image;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the {@link ImageUploader} against a local stand-in.
+ *
+ * @author Fuzzlemann
+ */
+class ImageUploaderTest {
+
+    @Test
+    void testStreamingUpload() throws Exception {
+        byte[] image = new byte[300 * 1024];
+        new Random(42).nextBytes(image);
+
+        File file = File.createTempFile("image", ".jpg");
+        file.deleteOnExit();
+        Files.write(file.toPath(), image);
+
+        AtomicReference<byte[]> receivedBody = new AtomicReference<>();
+        AtomicReference<String> contentType = new AtomicReference<>();
+
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/upload", exchange -> {
+            contentType.set(exchange.getRequestHeaders().getFirst("Content-Type"));
+
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            try (InputStream in = exchange.getRequestBody()) {
+                byte[] buffer = new byte[8192];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    body.write(buffer, 0, read);
+                }
+            }
+            receivedBody.set(body.toByteArray());
+
+            byte[] response = "{\"data\":{\"link\":\"https://example.org/image.jpg\"}}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, response.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response);
+            }
+        });
+        server.start();
+
+        try {
+            AtomicLong progress = new AtomicLong();
+            String response = ImageUploader.upload("http://127.0.0.1:" + server.getAddress().getPort() + "/upload", file,
+                    (sent, total) -> {
+                        assertEquals(image.length, total);
+                        assertTrue(sent > progress.get());
+                        progress.set(sent);
+                    });
+
+            assertTrue(response.contains("https://example.org/image.jpg"));
+            assertEquals(image.length, progress.get());
+
+            String boundary = contentType.get().substring(contentType.get().indexOf("boundary=") + "boundary=".length());
+            byte[] body = receivedBody.get();
+            String head = new String(body, 0, body.length - image.length, StandardCharsets.ISO_8859_1);
+            assertTrue(head.startsWith("--" + boundary + "\r\n"));
+            assertTrue(head.contains("name=\"image\""));
+
+            int imageStart = head.indexOf("\r\n\r\n") + 4;
+            for (int i = 0; i < image.length; i += 4096) {
+                assertEquals(image[i], body[imageStart + i]);
+            }
+            assertEquals("\r\n--" + boundary + "--\r\n",
+                    new String(body, imageStart + image.length, body.length - imageStart - image.length, StandardCharsets.ISO_8859_1));
+        } finally {
+            server.stop(0);
+        }
+    }
+}
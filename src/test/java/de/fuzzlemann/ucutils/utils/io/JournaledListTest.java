@@ -0,0 +1,116 @@
+package de.fuzzlemann.ucutils.utils.io;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Fuzzlemann
+ */
+class JournaledListTest {
+
+    private File file;
+
+    @BeforeEach
+    void createFile() throws IOException {
+        file = File.createTempFile("journaledList", ".storage");
+        file.deleteOnExit();
+    }
+
+    @Test
+    void testLegacyFile() throws IOException {
+        write("\"a\"\n\"b\"\n");
+
+        JournaledList<String> list = new JournaledList<>(file, String.class);
+        StorageService.flush();
+
+        assertEquals(Arrays.asList("a", "b"), list.get());
+        assertEquals(Arrays.asList("\"a\"", "\"b\""), lines());
+    }
+
+    @Test
+    void testReplay() throws IOException {
+        write("\"a\"\n\"b\"\n+\"c\"\n-0\n=0 \"x\"\n");
+
+        JournaledList<String> list = new JournaledList<>(file, String.class);
+        StorageService.flush();
+
+        assertEquals(Arrays.asList("x", "c"), list.get());
+        assertEquals(Arrays.asList("\"x\"", "\"c\""), lines());
+    }
+
+    @Test
+    void testJournal() throws IOException {
+        JournaledList<Item> list = new JournaledList<>(file, Item.class);
+        Item first = new Item("first");
+        Item second = new Item("second");
+
+        list.add(first);
+        list.add(second);
+        first.name = "changed";
+        list.update(first);
+        list.remove(second);
+        StorageService.flush();
+
+        assertEquals(Arrays.asList("+{\"name\":\"first\"}", "+{\"name\":\"second\"}", "=0 {\"name\":\"changed\"}", "-1"), lines());
+
+        List<Item> loaded = new JournaledList<>(file, Item.class).get();
+        assertEquals(1, loaded.size());
+        assertEquals("changed", loaded.get(0).name);
+    }
+
+    @Test
+    void testCompaction() throws IOException {
+        JournaledList<String> list = new JournaledList<>(file, String.class);
+        for (int i = 0; i < 100; i++) {
+            list.add(String.valueOf(i));
+        }
+        StorageService.flush();
+
+        List<String> lines = lines();
+        assertEquals(100, lines.size());
+        assertEquals("\"0\"", lines.get(0));
+        assertEquals("\"99\"", lines.get(99));
+    }
+
+    @Test
+    void testTornLastLine() throws IOException {
+        write("\"a\"\n\"b\"\n+\"c\"\n-1");
+
+        JournaledList<String> list = new JournaledList<>(file, String.class);
+        StorageService.flush();
+
+        assertEquals(Arrays.asList("a", "b", "c"), list.get());
+        assertEquals(Arrays.asList("\"a\"", "\"b\"", "\"c\""), lines());
+
+        // appended lines must not be joined with the dropped line
+        list.add("d");
+        StorageService.flush();
+
+        assertEquals(Arrays.asList("a", "b", "c", "d"), new JournaledList<>(file, String.class).get());
+    }
+
+    private void write(String content) throws IOException {
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private List<String> lines() throws IOException {
+        return Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+    }
+
+    private static class Item {
+        private String name;
+
+        private Item(String name) {
+            this.name = name;
+        }
+    }
+}
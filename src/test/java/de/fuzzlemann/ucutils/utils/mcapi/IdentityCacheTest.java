@@ -0,0 +1,117 @@
+package de.fuzzlemann.ucutils.utils.mcapi;
+
+import com.google.gson.Gson;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the {@link IdentityCache} against a local stand-in of the Mojang API.
+ *
+ * @author Fuzzlemann
+ */
+class IdentityCacheTest {
+
+    private final Gson gson = new Gson();
+    private final AtomicInteger profileRequests = new AtomicInteger();
+    private final AtomicInteger historyRequests = new AtomicInteger();
+    private HttpServer server;
+    private File file;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/profiles/minecraft", exchange -> {
+            profileRequests.incrementAndGet();
+
+            String[] names = gson.fromJson(new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8), String[].class);
+            assertTrue(names.length <= IdentityCache.BATCH_SIZE);
+
+            List<Map<String, String>> profiles = new ArrayList<>();
+            for (String name : names) {
+                if (!name.startsWith("player")) continue;
+
+                Map<String, String> profile = new HashMap<>();
+                profile.put("id", "uuid-" + name);
+                profile.put("name", name);
+                profiles.add(profile);
+            }
+
+            respond(exchange, gson.toJson(profiles));
+        });
+        server.createContext("/user/profiles/", exchange -> {
+            historyRequests.incrementAndGet();
+
+            String uuid = exchange.getRequestURI().getPath().split("/")[3];
+            respond(exchange, "[{\"name\":\"old\"},{\"name\":\"" + uuid.substring("uuid-".length()) + "\"}]");
+        });
+        server.start();
+
+        file = File.createTempFile("identities", ".json");
+        file.deleteOnExit();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void testBulkResolution() throws Exception {
+        IdentityCache cache = new IdentityCache(baseURL(), file);
+
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            names.add("player" + i);
+        }
+        names.add("unknown");
+
+        Map<String, String> uuids = cache.getUUIDs(names).get(5, TimeUnit.SECONDS);
+        assertEquals(25, uuids.size());
+        assertEquals("uuid-player3", uuids.get("player3"));
+        assertFalse(uuids.containsKey("unknown"));
+        assertEquals(3, profileRequests.get());
+
+        cache.getUUIDs(names).get(5, TimeUnit.SECONDS);
+        assertEquals(3, profileRequests.get());
+    }
+
+    @Test
+    void testNameHistory() throws Exception {
+        IdentityCache cache = new IdentityCache(baseURL(), file);
+
+        assertEquals(Arrays.asList("old", "player1"), cache.getNameHistory("Player1").get(5, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList("old", "player1"), cache.getNameHistory("player1").get(5, TimeUnit.SECONDS));
+        assertEquals(Collections.emptyList(), cache.getNameHistory("unknown").get(5, TimeUnit.SECONDS));
+
+        assertEquals(1, historyRequests.get());
+        assertEquals(2, profileRequests.get());
+    }
+
+    private String baseURL() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(200, bytes.length);
+
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}